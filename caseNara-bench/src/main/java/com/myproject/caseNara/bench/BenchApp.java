@@ -0,0 +1,87 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.CaseNaraApplication;
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.service.CatalogCache;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 포크 JVM마다 한 번 띄우는 애플리케이션 컨텍스트입니다 (웹 서버 없이 서비스/매퍼만).
+ * 접속 정보는 BenchMain이 넘긴 bench.jdbc.* 시스템 속성을 사용합니다.
+ * 벤치마크는 @Setup 메서드 인자로 받아 bean()으로 서비스를 꺼냅니다.
+ */
+@State(Scope.Benchmark)
+public class BenchApp {
+
+    private ConfigurableApplicationContext context;
+    private List<String> customerNames;
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void start() {
+        String url = System.getProperty(BenchDatabase.URL);
+        if (url == null) {
+            throw new IllegalStateException("BenchMain으로 실행해야 합니다 (" + BenchDatabase.URL + " 없음)");
+        }
+        context = new SpringApplicationBuilder(CaseNaraApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + System.getProperty(BenchDatabase.USERNAME),
+                        "--spring.datasource.password=" + System.getProperty(BenchDatabase.PASSWORD),
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+        CatalogCache catalogCache = bean(CatalogCache.class);
+        customerNames = catalogCache.customerNames().stream()
+                .filter(name -> name.startsWith(BenchSeeder.CUSTOMER_PREFIX))
+                .toList();
+        products = catalogCache.products().stream()
+                .filter(p -> p.getProductName() != null && p.getProductName().startsWith(BenchSeeder.PRODUCT_PREFIX))
+                .toList();
+        if (customerNames.isEmpty() || products.isEmpty()) {
+            throw new IllegalStateException("벤치마크 데이터가 없습니다 (-Dbench.seed=true로 채우기)");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * BenchSeeder가 만든 고객 상호명 (순번 순, 앞쪽일수록 주문이 많음)
+     */
+    public List<String> customerNames() {
+        return customerNames;
+    }
+
+    /**
+     * BenchSeeder가 만든 상품 (앞쪽일수록 주문이 많음)
+     */
+    public List<Product> products() {
+        return products;
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(ZoneId.of("Asia/Seoul"));
+    }
+}
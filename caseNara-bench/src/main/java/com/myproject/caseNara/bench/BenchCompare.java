@@ -0,0 +1,81 @@
+package com.myproject.caseNara.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JMH JSON 결과 두 개를 비교해 벤치마크(+파라미터)별 점수와 변화율을 출력합니다.
+ * 오차 범위(99.9% 신뢰구간)가 겹치면 변화율 앞에 ~ 를 붙여 의미 있는 차이가 아님을 표시합니다.
+ *
+ * 사용: compare results/기준.json results/변경.json
+ */
+final class BenchCompare {
+
+    private record Score(double score, double error, String unit) {}
+
+    private BenchCompare() {
+    }
+
+    static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("사용법: compare <기준.json> <변경.json>");
+            System.exit(2);
+        }
+        Map<String, Score> base = read(Paths.get(args[0]));
+        Map<String, Score> next = read(Paths.get(args[1]));
+
+        int width = 20;
+        for (String key : base.keySet()) {
+            width = Math.max(width, key.length());
+        }
+        String row = "%-" + width + "s  %16s  %16s  %-8s  %9s%n";
+        System.out.printf(row, "벤치마크", "기준", "변경", "단위", "변화");
+        for (Map.Entry<String, Score> entry : base.entrySet()) {
+            Score a = entry.getValue();
+            Score b = next.get(entry.getKey());
+            if (b == null) {
+                System.out.printf(row, entry.getKey(), format(a), "-", a.unit(), "삭제됨");
+                continue;
+            }
+            double change = a.score() == 0 ? 0 : (b.score() - a.score()) / a.score() * 100;
+            boolean overlaps = Math.abs(b.score() - a.score()) <= a.error() + b.error();
+            System.out.printf(row, entry.getKey(), format(a), format(b), a.unit(),
+                    (overlaps ? "~" : "") + String.format("%+.1f%%", change));
+        }
+        for (Map.Entry<String, Score> entry : next.entrySet()) {
+            if (!base.containsKey(entry.getKey())) {
+                System.out.printf(row, entry.getKey(), "-", format(entry.getValue()), entry.getValue().unit(), "추가됨");
+            }
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String name = run.path("benchmark").asText();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            StringBuilder key = new StringBuilder(name);
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private static String format(Score score) {
+        return String.format("%.3f ± %.3f", score.score(), score.error());
+    }
+}
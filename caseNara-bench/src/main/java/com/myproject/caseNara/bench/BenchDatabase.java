@@ -0,0 +1,124 @@
+package com.myproject.caseNara.bench;
+
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 MySQL 8 데이터베이스입니다.
+ * 기본은 Testcontainers로 새 컨테이너를 띄워 sql/ 덤프와 마이그레이션으로 스키마를 만들고, BenchSeeder로 데이터를 채웁니다.
+ * 매퍼가 MySQL 8 전용 구문(INSERT ... AS 별칭 ON DUPLICATE KEY UPDATE, IF 등)을 쓰므로 H2 같은 내장 DB 대신 실제 MySQL을 사용합니다.
+ *
+ * -Dbench.jdbc.url=... 을 주면 기존 DB를 그대로 사용하며, -Dbench.seed=true 일 때만 데이터를 추가합니다.
+ * JMH 포크 JVM에는 jvmArgs()로 접속 정보를 넘깁니다.
+ */
+final class BenchDatabase implements AutoCloseable {
+
+    static final String URL = "bench.jdbc.url";
+    static final String USERNAME = "bench.jdbc.username";
+    static final String PASSWORD = "bench.jdbc.password";
+
+    private static final String IMAGE = "mysql:8.0";
+    private static final String INIT_DIR = "/docker-entrypoint-initdb.d/";
+
+    private final MySQLContainer<?> container;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private BenchDatabase(MySQLContainer<?> container, String url, String username, String password) {
+        this.container = container;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * 접속 정보가 주어지면 기존 DB를, 아니면 새 컨테이너를 사용합니다.
+     */
+    static BenchDatabase start() throws IOException {
+        String external = System.getProperty(URL);
+        if (external != null) {
+            return new BenchDatabase(null, external,
+                    System.getProperty(USERNAME, "admin"), System.getProperty(PASSWORD, ""));
+        }
+        Path sqlDir = Paths.get(System.getProperty("bench.sql.dir", "../sql"));
+        if (!Files.isDirectory(sqlDir)) {
+            throw new IOException("sql 폴더를 찾을 수 없습니다: " + sqlDir.toAbsolutePath() + " (-Dbench.sql.dir로 지정)");
+        }
+        MySQLContainer<?> container = new MySQLContainer<>(DockerImageName.parse(IMAGE))
+                .withDatabaseName("case_nara")
+                .withUsername("bench")
+                .withPassword("bench")
+                // 매퍼는 대문자, 덤프는 소문자 테이블명 (운영 Windows MySQL과 같이 대소문자 구분 없음)
+                .withCommand("--lower-case-table-names=1", "--character-set-server=utf8mb4",
+                        "--collation-server=utf8mb4_0900_ai_ci")
+                .withUrlParam("serverTimezone", "Asia/Seoul")
+                .withUrlParam("rewriteBatchedStatements", "true")
+                .withUrlParam("allowPublicKeyRetrieval", "true")
+                .withUrlParam("useSSL", "false");
+        // 초기화 스크립트는 이름 순서로 실행: 덤프 → 매핑 테이블 → 초기값(seed/, 다른 테이블을 읽으므로 모든 테이블 생성 후)
+        // (sql/ 덤프는 마이그레이션이 모두 반영된 현재 스키마이므로 migration/ 은 적용하지 않음)
+        for (Path dump : sqlFiles(sqlDir)) {
+            container.withCopyFileToContainer(MountableFile.forHostPath(dump), INIT_DIR + "10_" + dump.getFileName());
+        }
+        container.withCopyFileToContainer(MountableFile.forClasspathResource("bench/bills_sales.sql"),
+                INIT_DIR + "20_bills_sales.sql");
+        for (Path seed : sqlFiles(sqlDir.resolve("seed"))) {
+            container.withCopyFileToContainer(MountableFile.forHostPath(seed), INIT_DIR + "30_" + seed.getFileName());
+        }
+        container.start();
+        return new BenchDatabase(container, container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+
+    private static List<Path> sqlFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".sql")).sorted().toList();
+        }
+    }
+
+    /**
+     * 새 컨테이너이거나 -Dbench.seed=true 이면 데이터를 채워야 함
+     */
+    boolean needsSeed() {
+        return container != null || Boolean.getBoolean("bench.seed");
+    }
+
+    String url() {
+        return url;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    /**
+     * JMH 포크 JVM에 넘길 접속 정보
+     */
+    List<String> jvmArgs() {
+        List<String> args = new ArrayList<>();
+        args.add("-D" + URL + "=" + url);
+        args.add("-D" + USERNAME + "=" + username);
+        args.add("-D" + PASSWORD + "=" + password);
+        return args;
+    }
+
+    @Override
+    public void close() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
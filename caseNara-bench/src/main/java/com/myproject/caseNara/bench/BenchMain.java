@@ -0,0 +1,66 @@
+package com.myproject.caseNara.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * 벤치마크 실행 진입점입니다.
+ * 벤치마크 DB를 준비(컨테이너 기동 + 데이터 채우기)한 뒤 JMH를 실행하고, 결과를 results/{시각}.json 으로 저장합니다.
+ * 인자는 JMH 명령행 옵션 그대로입니다 (예: "SalesServiceBenchmark -p customers=10").
+ * 첫 인자가 compare 이면 두 결과 파일을 비교하고 (BenchCompare), loadtest 이면 HTTP 부하 테스트를 실행합니다 (LoadTest).
+ * DB가 필요 없는 벤치마크(SalesJsonBenchmark, OrderDiffBenchmark, AutocompleteBenchmark)만 돌릴 때는 -Dbench.db=false 로 컨테이너를 띄우지 않습니다.
+ */
+public final class BenchMain {
+
+    private static final DateTimeFormatter RESULT_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "compare".equals(args[0])) {
+            BenchCompare.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && "loadtest".equals(args[0])) {
+            LoadTest.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (!Boolean.parseBoolean(System.getProperty("bench.db", "true"))) {
+            run(cli, null);
+            return;
+        }
+        try (BenchDatabase database = BenchDatabase.start()) {
+            if (database.needsSeed()) {
+                new BenchSeeder(database).seed();
+            }
+            run(cli, database);
+        }
+    }
+
+    private static void run(CommandLineOptions cli, BenchDatabase database) throws Exception {
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (database != null) {
+            options.jvmArgsAppend(database.jvmArgs().toArray(new String[0]));
+        }
+        // -rf/-rff 를 직접 준 경우에는 그대로 사용
+        if (!cli.getResult().hasValue() && !cli.getResultFormat().hasValue()) {
+            Path results = Paths.get("results");
+            Files.createDirectories(results);
+            options.resultFormat(ResultFormatType.JSON)
+                    .result(results.resolve(LocalDateTime.now().format(RESULT_NAME) + ".json").toString());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,251 @@
+package com.myproject.caseNara.bench;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 벤치마크 DB에 운영과 비슷한 분포의 데이터를 채웁니다.
+ * 고객/상품은 일부가 주문 대부분을 차지하도록(제곱 분포) 고르고, 하루에 고객당 열린 주문은 하나만 만듭니다.
+ * 30일보다 오래된 주문은 고객/주 단위 청구서로 묶고(60일보다 오래된 청구서는 완납), 최근 주문은 열린 주문으로 남깁니다.
+ * 일별 집계, 추천 상품 주문 횟수, 미수 잔액, ID 시퀀스는 채운 데이터 기준으로 다시 만듭니다.
+ *
+ * 크기는 시스템 속성으로 조정합니다: bench.customers(300), bench.products(800), bench.days(120),
+ * bench.ordersPerDay(150, 고객 수 이하), bench.linesPerOrder(6), bench.randomSeed(42).
+ * 로그인 벤치마크용 계정 bench / bench 를 함께 만듭니다.
+ */
+final class BenchSeeder {
+
+    static final String CUSTOMER_PREFIX = "벤치거래처";
+    static final String PRODUCT_PREFIX = "벤치상품";
+    static final String ACCOUNT_ID = "bench";
+    static final String ACCOUNT_PASSWORD = "bench";
+
+    // 열린 주문으로 남길 최근 일수, 완납 처리할 청구서 기준 일수
+    private static final int OPEN_DAYS = 30;
+    private static final int PAID_DAYS = 60;
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final BenchDatabase database;
+    private final int customers = Integer.getInteger("bench.customers", 300);
+    private final int products = Integer.getInteger("bench.products", 800);
+    private final int days = Integer.getInteger("bench.days", 120);
+    private final int ordersPerDay = Integer.getInteger("bench.ordersPerDay", 150);
+    private final int linesPerOrder = Integer.getInteger("bench.linesPerOrder", 6);
+    private final Random random = new Random(Long.getLong("bench.randomSeed", 42L));
+
+    BenchSeeder(BenchDatabase database) {
+        this.database = database;
+    }
+
+    void seed() throws SQLException {
+        if (ordersPerDay > customers) {
+            throw new IllegalArgumentException("bench.ordersPerDay는 bench.customers 이하여야 합니다.");
+        }
+        long started = System.nanoTime();
+        try (Connection conn = DriverManager.getConnection(database.url(), database.username(), database.password())) {
+            conn.setAutoCommit(false);
+            long firstCustomerId = maxId(conn, "CUSTOMERS", "CUSTOMER_ID") + 1;
+            long firstProductId = maxId(conn, "PRODUCTS", "PRODUCT_ID") + 1;
+            long firstSaleId = maxId(conn, "SALES", "SALE_ID") + 1;
+            long firstBillId = maxId(conn, "BILLS", "BILL_ID") + 1;
+
+            insertCustomers(conn, firstCustomerId);
+            int[] prices = insertProducts(conn, firstProductId);
+            int lines = insertSalesAndBills(conn, firstCustomerId, firstProductId, firstSaleId, firstBillId, prices);
+            insertAccount(conn);
+            conn.commit();
+
+            rebuildDerived(conn);
+            conn.commit();
+            System.out.printf("# 벤치마크 데이터: 고객 %d, 상품 %d, %d일 x 하루 주문 %d건, 판매 항목 %d건 (%dms)%n",
+                    customers, products, days, ordersPerDay, lines, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private static long maxId(Connection conn, String table, String column) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void insertCustomers(Connection conn, long firstId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO CUSTOMERS (CUSTOMER_ID, COMPANY_NAME, PHONE, ADDRESS, DELETED) VALUES (?, ?, ?, ?, 0)")) {
+            for (int i = 0; i < customers; i++) {
+                ps.setLong(1, firstId + i);
+                ps.setString(2, CUSTOMER_PREFIX + String.format("%04d", i + 1));
+                ps.setString(3, String.format("010-%04d-%04d", random.nextInt(10000), random.nextInt(10000)));
+                ps.setString(4, "서울시 벤치구 " + (i + 1) + "번지");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // 상품 단가(원) 배열을 반환 (인덱스 = 상품 순번)
+    private int[] insertProducts(Connection conn, long firstId) throws SQLException {
+        int[] prices = new int[products];
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO PRODUCTS (PRODUCT_ID, PRODUCT_NAME, SALE_PRICE, COST_PRICE, DELETED, SUPPLIER, DISPLAY_LOCATION) "
+                        + "VALUES (?, ?, ?, ?, 0, ?, ?)")) {
+            for (int i = 0; i < products; i++) {
+                prices[i] = (10 + random.nextInt(490)) * 100;
+                ps.setLong(1, firstId + i);
+                ps.setString(2, PRODUCT_PREFIX + String.format("%04d", i + 1));
+                ps.setInt(3, prices[i]);
+                ps.setInt(4, prices[i] * 7 / 10);
+                ps.setString(5, "공급처" + (i % 20 + 1));
+                ps.setString(6, "진열대" + (i % 50 + 1));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        return prices;
+    }
+
+    private int insertSalesAndBills(Connection conn, long firstCustomerId, long firstProductId, long firstSaleId,
+                                    long firstBillId, int[] prices) throws SQLException {
+        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+        long saleId = firstSaleId;
+        long billId = firstBillId;
+        int lines = 0;
+        // 고객별로 같은 주(week)에 청구할 주문 (청구 시점에 한 번에 기록)
+        List<long[]> pendingBill = new ArrayList<>();
+        try (PreparedStatement sale = conn.prepareStatement(
+                "INSERT INTO SALES (SALE_ID, CUSTOMER_ID, PRODUCT_ID, QUANTITY, UNIT_PRICE, SALE_AT, DELETED, bill_status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 0, ?)");
+             PreparedStatement bill = conn.prepareStatement(
+                     "INSERT INTO BILLS (BILL_ID, CUSTOMER_ID, TOTAL_COST, REMAIN_COST, STATUS, CREATED_AT) VALUES (?, ?, ?, ?, ?, ?)");
+             PreparedStatement billSale = conn.prepareStatement(
+                     "INSERT INTO BILLS_SALES (BILL_ID, SALES_ID) VALUES (?, ?)")) {
+            for (int d = days; d >= 1; d--) {
+                LocalDate day = today.minusDays(d);
+                boolean billed = d > OPEN_DAYS;
+                for (int customer : pickDistinct(ordersPerDay, customers)) {
+                    long customerId = firstCustomerId + customer;
+                    long total = 0;
+                    for (int product : pickDistinct(linesPerOrder, products)) {
+                        int quantity = 1 + random.nextInt(20);
+                        sale.setLong(1, saleId);
+                        sale.setLong(2, customerId);
+                        sale.setLong(3, firstProductId + product);
+                        sale.setInt(4, quantity);
+                        sale.setInt(5, prices[product] * quantity);
+                        sale.setTimestamp(6, Timestamp.valueOf(day.atStartOfDay()));
+                        sale.setInt(7, billed ? 1 : 0);
+                        sale.addBatch();
+                        total += (long) prices[product] * quantity;
+                        if (++lines % BATCH_SIZE == 0) {
+                            sale.executeBatch();
+                        }
+                    }
+                    if (billed) {
+                        pendingBill.add(new long[] {customerId, saleId, total, day.toEpochDay()});
+                    }
+                    saleId++;
+                }
+                // 일요일(또는 열린 주문 구간 직전)마다 그 주의 청구 대상 주문을 고객별 청구서로 묶음
+                if (!pendingBill.isEmpty() && (day.getDayOfWeek().getValue() == 7 || d == OPEN_DAYS + 1)) {
+                    billId = writeBills(bill, billSale, pendingBill, billId, today.toEpochDay() - day.toEpochDay() > PAID_DAYS, day);
+                    pendingBill.clear();
+                }
+            }
+            sale.executeBatch();
+            bill.executeBatch();
+            billSale.executeBatch();
+        }
+        return lines;
+    }
+
+    private static long writeBills(PreparedStatement bill, PreparedStatement billSale, List<long[]> orders,
+                                   long billId, boolean paid, LocalDate billDay) throws SQLException {
+        // 고객별로 묶기 (orders: {customerId, saleId, total, epochDay})
+        Map<Long, List<long[]>> byCustomer = new LinkedHashMap<>();
+        for (long[] order : orders) {
+            byCustomer.computeIfAbsent(order[0], k -> new ArrayList<>()).add(order);
+        }
+        for (Map.Entry<Long, List<long[]>> entry : byCustomer.entrySet()) {
+            long total = entry.getValue().stream().mapToLong(o -> o[2]).sum();
+            int totalCost = (int) Math.min(Integer.MAX_VALUE, total);
+            bill.setLong(1, billId);
+            bill.setLong(2, entry.getKey());
+            bill.setInt(3, totalCost);
+            bill.setInt(4, paid ? 0 : totalCost);
+            bill.setInt(5, paid ? 2 : 0);
+            bill.setTimestamp(6, Timestamp.valueOf(billDay.atTime(18, 0)));
+            bill.addBatch();
+            for (long[] order : entry.getValue()) {
+                billSale.setLong(1, billId);
+                billSale.setLong(2, order[1]);
+                billSale.addBatch();
+            }
+            billId++;
+        }
+        return billId;
+    }
+
+    // 0..bound-1 중 서로 다른 count개를 앞쪽 번호에 몰리도록(제곱 분포) 선택
+    private Set<Integer> pickDistinct(int count, int bound) {
+        Set<Integer> picked = new LinkedHashSet<>();
+        while (picked.size() < count) {
+            double r = random.nextDouble();
+            picked.add((int) (r * r * bound));
+        }
+        return picked;
+    }
+
+    private static void insertAccount(Connection conn) throws SQLException {
+        long seq = maxId(conn, "ACCOUNT", "ACCOUNT_SEQ") + 1;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO ACCOUNT (ACCOUNT_SEQ, ID, PASSWORD) VALUES (?, ?, ?)")) {
+            ps.setLong(1, seq);
+            ps.setString(2, ACCOUNT_ID);
+            ps.setString(3, BCrypt.hashpw(ACCOUNT_PASSWORD, BCrypt.gensalt()));
+            ps.executeUpdate();
+        }
+    }
+
+    // 파생 테이블과 ID 시퀀스를 채운 데이터 기준으로 다시 만듦 (매퍼의 전체 재집계 구문과 같은 규칙)
+    private static void rebuildDerived(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM SALES_DAILY_ROLLUP");
+            st.executeUpdate("INSERT INTO SALES_DAILY_ROLLUP (SALE_DATE, CUSTOMER_ID, PRODUCT_ID, QUANTITY, AMOUNT, LINE_COUNT) "
+                    + "SELECT CAST(SALE_AT AS DATE), CUSTOMER_ID, PRODUCT_ID, SUM(QUANTITY), SUM(UNIT_PRICE), COUNT(*) "
+                    + "FROM SALES WHERE DELETED = 0 GROUP BY CAST(SALE_AT AS DATE), CUSTOMER_ID, PRODUCT_ID");
+            st.executeUpdate("DELETE FROM CUSTOMER_PRODUCT_COUNTS");
+            st.executeUpdate("INSERT INTO CUSTOMER_PRODUCT_COUNTS (CUSTOMER_ID, PRODUCT_ID, ORDER_COUNT) "
+                    + "SELECT CUSTOMER_ID, PRODUCT_ID, COUNT(*) FROM SALES WHERE DELETED = 0 GROUP BY CUSTOMER_ID, PRODUCT_ID");
+            st.executeUpdate("DELETE FROM RECEIVABLES_DAILY");
+            st.executeUpdate("INSERT INTO RECEIVABLES_DAILY (CUSTOMER_ID, BILL_DATE, OUTSTANDING, BILL_COUNT) "
+                    + "SELECT CUSTOMER_ID, CAST(CREATED_AT AS DATE), SUM(REMAIN_COST), COUNT(*) "
+                    + "FROM BILLS WHERE REMAIN_COST > 0 GROUP BY CUSTOMER_ID, CAST(CREATED_AT AS DATE)");
+            st.executeUpdate("DELETE FROM CUSTOMER_RECEIVABLES");
+            st.executeUpdate("INSERT INTO CUSTOMER_RECEIVABLES (CUSTOMER_ID, OUTSTANDING, OPEN_BILL_COUNT, OLDEST_UNPAID_DATE, UPDATED_AT) "
+                    + "SELECT CUSTOMER_ID, SUM(OUTSTANDING), SUM(BILL_COUNT), MIN(BILL_DATE), NOW() "
+                    + "FROM RECEIVABLES_DAILY GROUP BY CUSTOMER_ID");
+            st.executeUpdate("UPDATE ID_SEQUENCES SET NEXT_VAL = (SELECT COALESCE(MAX(SALE_ID), 0) + 1 FROM SALES) WHERE SEQ_NAME = 'SALES'");
+            st.executeUpdate("UPDATE ID_SEQUENCES SET NEXT_VAL = (SELECT COALESCE(MAX(BILL_ID), 0) + 1 FROM BILLS) WHERE SEQ_NAME = 'BILLS'");
+            st.executeUpdate("UPDATE ID_SEQUENCES SET NEXT_VAL = (SELECT COALESCE(MAX(CUSTOMER_ID), 0) + 1 FROM CUSTOMERS) WHERE SEQ_NAME = 'CUSTOMERS'");
+            st.executeUpdate("UPDATE ID_SEQUENCES SET NEXT_VAL = (SELECT COALESCE(MAX(PRODUCT_ID), 0) + 1 FROM PRODUCTS) WHERE SEQ_NAME = 'PRODUCTS'");
+        }
+    }
+}
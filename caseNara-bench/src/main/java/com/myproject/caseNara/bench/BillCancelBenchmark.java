@@ -0,0 +1,120 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.mapper.BillMapper;
+import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.service.BillService;
+import com.myproject.caseNara.service.CatalogCache;
+import com.myproject.caseNara.service.OpenOrderIndex;
+import com.myproject.caseNara.service.SalesService;
+import com.myproject.caseNara.service.SalesService.CreateOrderItem;
+import com.myproject.caseNara.service.SalesService.OrderRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 청구 취소(DELETE /api/bills/by-sale/{id})의 집합 처리 경로(cancelBill)와 주문마다 resetBillStatusForSaleId를
+ * 호출하던 이전 방식(perSale)의 비교입니다.
+ * 호출마다 한 고객의 주문 orders건을 겹치지 않는 먼 미래 날짜에 만들어 청구하고, 같은 날짜에 열린 주문을 하나씩 더 만들어
+ * 취소 시 모든 주문이 병합되게 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BillCancelBenchmark {
+
+    // 청구서 한 장에 묶인 주문 수
+    @Param({"1", "40"})
+    public int orders;
+
+    private static final int LINES_PER_ORDER = 3;
+
+    private SalesService salesService;
+    private BillService billService;
+    private BillMapper billMapper;
+    private OpenOrderIndex openOrderIndex;
+    private CatalogCache catalogCache;
+    private List<String> customerNames;
+    private List<Product> products;
+
+    private LocalDate day = LocalDate.of(2300, 1, 1);
+    private int cursor;
+    private Long billId;
+    private List<Long> billedSaleIds;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchApp app) {
+        salesService = app.bean(SalesService.class);
+        billService = app.bean(BillService.class);
+        billMapper = app.bean(BillMapper.class);
+        openOrderIndex = app.bean(OpenOrderIndex.class);
+        catalogCache = app.bean(CatalogCache.class);
+        customerNames = app.customerNames();
+        products = app.products();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBill() {
+        String customerName = customerNames.get(cursor++ % customerNames.size());
+        Customer customer = catalogCache.findCustomerByName(customerName);
+        List<LocalDate> days = new ArrayList<>(orders);
+        billedSaleIds = new ArrayList<>(orders);
+        for (int o = 0; o < orders; o++) {
+            day = day.plusDays(1);
+            days.add(day);
+            salesService.createOrder(new OrderRequest(customerName, day.toString(), items(o)));
+            billedSaleIds.add(openOrderIndex.find(customer.getCustomerId(), day));
+        }
+        BillService.BillRequest bill = new BillService.BillRequest();
+        bill.customerId = customer.getCustomerId();
+        bill.totalCost = 0;
+        bill.salesIds = billedSaleIds;
+        billService.createBills(List.of(bill));
+        billId = billMapper.findBillIdBySaleId(billedSaleIds.get(0));
+        // 청구 뒤 같은 날짜에 생긴 열린 주문 (취소 시 청구됐던 주문으로 병합됨)
+        for (int o = 0; o < orders; o++) {
+            salesService.createOrder(new OrderRequest(customerName, days.get(o).toString(), items(o + 1)));
+        }
+    }
+
+    @Benchmark
+    public void cancelBill() {
+        billService.cancelBill(billId);
+    }
+
+    @Benchmark
+    public void perSale() {
+        // 이전 deleteBillBySaleId: 트랜잭션 없이 주문마다 청구 상태 초기화/병합 후 매핑과 청구서 삭제
+        for (Long saleId : billedSaleIds) {
+            salesService.resetBillStatusForSaleId(saleId);
+        }
+        billMapper.deleteBillSalesByBillId(billId);
+        billMapper.deleteBillByBillId(billId);
+    }
+
+    private List<CreateOrderItem> items(int offset) {
+        List<CreateOrderItem> items = new ArrayList<>(LINES_PER_ORDER);
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            items.add(new CreateOrderItem(products.get((cursor + offset + i) % products.size()).getProductName(), 1));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,94 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.service.BillService;
+import com.myproject.caseNara.service.CatalogCache;
+import com.myproject.caseNara.service.OpenOrderIndex;
+import com.myproject.caseNara.service.SalesService;
+import com.myproject.caseNara.service.SalesService.CreateOrderItem;
+import com.myproject.caseNara.service.SalesService.OrderRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수금 준비 화면의 청구서 일괄 생성입니다 (청구서 insert + bills_sales 매핑 + 청구 상태 + 고객별 미수 집계).
+ * 호출마다 고객 수만큼 겹치지 않는 먼 미래 날짜에 열린 주문을 만들어 두고 그 주문들을 청구합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BillServiceBenchmark {
+
+    // 청구서 한 장에 묶이는 고객 수
+    @Param({"1", "10"})
+    public int customers;
+
+    private static final int ORDERS_PER_CUSTOMER = 4;
+
+    private SalesService salesService;
+    private BillService billService;
+    private OpenOrderIndex openOrderIndex;
+    private CatalogCache catalogCache;
+    private List<String> customerNames;
+    private List<Product> products;
+
+    private LocalDate day = LocalDate.of(2200, 1, 1);
+    private int cursor;
+    private List<BillService.BillRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchApp app) {
+        salesService = app.bean(SalesService.class);
+        billService = app.bean(BillService.class);
+        openOrderIndex = app.bean(OpenOrderIndex.class);
+        catalogCache = app.bean(CatalogCache.class);
+        customerNames = app.customerNames();
+        products = app.products();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareOrders() {
+        requests = new ArrayList<>(customers);
+        for (int c = 0; c < customers; c++) {
+            String customerName = customerNames.get(cursor++ % customerNames.size());
+            Customer customer = catalogCache.findCustomerByName(customerName);
+            List<Long> salesIds = new ArrayList<>(ORDERS_PER_CUSTOMER);
+            for (int o = 0; o < ORDERS_PER_CUSTOMER; o++) {
+                day = day.plusDays(1);
+                Product product = products.get((cursor + o) % products.size());
+                salesService.createOrder(new OrderRequest(customerName, day.toString(),
+                        List.of(new CreateOrderItem(product.getProductName(), 1))));
+                salesIds.add(openOrderIndex.find(customer.getCustomerId(), day));
+            }
+            BillService.BillRequest request = new BillService.BillRequest();
+            request.customerId = customer.getCustomerId();
+            request.totalCost = 10_000 * ORDERS_PER_CUSTOMER;
+            request.salesIds = salesIds;
+            requests.add(request);
+        }
+    }
+
+    @Benchmark
+    public int createBills() {
+        return billService.createBills(requests);
+    }
+}
@@ -0,0 +1,239 @@
+package com.myproject.caseNara.bench;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 주문-수금 흐름(OrderToCashFlow)의 HTTP 부하 테스트입니다.
+ * 열린 모델(open model)로 동작합니다: 흐름은 응답을 기다리지 않고 정해진 도착률(포아송 도착)로 시작되므로,
+ * 서버가 느려지면 동시 흐름 수와 지연이 함께 늘어납니다. 도착률 단계를 차례로 올리며 단계별 백분위 지연을 기록합니다.
+ *
+ * --target 을 주지 않으면 벤치마크 DB(BenchDatabase + BenchSeeder)를 준비하고 caseNara jar를 별도 프로세스로 띄워 측정합니다.
+ * 옵션 (--이름=값): target, jar, app-args, rates(1,2,4,8), duration(60초), warmup(20초), lines(6),
+ * customer-prefix, day(2100-01-01, 흐름이 주문을 만드는 첫 날짜), slo(1000ms), timeout(30초), max-in-flight(500), out
+ */
+final class LoadTest {
+
+    private static final DateTimeFormatter RUN_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final AtomicInteger reportedErrors = new AtomicInteger();
+
+    private final Map<String, String> options;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("옵션은 --이름=값 형식입니다: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        Path out = Paths.get(option("out", "results/loadtest-" + LocalDateTime.now().format(RUN_NAME)));
+        Files.createDirectories(out);
+        String target = options.get("target");
+        if (target != null) {
+            measure(URI.create(target), option("customer-prefix", ""), out);
+            return;
+        }
+        try (BenchDatabase database = BenchDatabase.start()) {
+            if (database.needsSeed()) {
+                new BenchSeeder(database).seed();
+            }
+            int port;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            Process app = startApp(database, port, out.resolve("app.log"));
+            try {
+                URI base = URI.create("http://localhost:" + port);
+                waitUntilReady(app, base);
+                measure(base, option("customer-prefix", BenchSeeder.CUSTOMER_PREFIX), out);
+            } finally {
+                app.destroy();
+                if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                    app.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private void measure(URI base, String customerPrefix, Path out) throws Exception {
+        Duration timeout = Duration.ofSeconds(Long.parseLong(option("timeout", "30")));
+        long duration = Long.parseLong(option("duration", "60"));
+        long warmup = Long.parseLong(option("warmup", "20"));
+        long sloMillis = Long.parseLong(option("slo", "1000"));
+        int maxInFlight = Integer.parseInt(option("max-in-flight", "500"));
+        double[] rates = Arrays.stream(option("rates", "1,2,4,8").split(",")).mapToDouble(Double::parseDouble).toArray();
+
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(httpExecutor)
+                    .build();
+            OrderToCashFlow flow = OrderToCashFlow.prepare(client, base, timeout, customerPrefix,
+                    LocalDate.parse(option("day", "2100-01-01")), Integer.parseInt(option("lines", "6")));
+
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("startedAt", LocalDateTime.now().toString());
+            run.put("target", base.toString());
+            run.put("customers", flow.customerCount());
+            run.put("linesPerOrder", Integer.parseInt(option("lines", "6")));
+            run.put("maxInFlight", maxInFlight);
+
+            if (warmup > 0) {
+                System.out.printf("# 워밍업 %.2f/s, %ds%n", rates[0], warmup);
+                runStage(flow, new LoadTestStage(rates[0], warmup, OrderToCashFlow.STEPS), maxInFlight);
+            }
+            List<LoadTestStage> stages = new ArrayList<>();
+            for (double rate : rates) {
+                System.out.printf("# 도착률 %.2f/s, %ds%n", rate, duration);
+                LoadTestStage stage = new LoadTestStage(rate, duration, OrderToCashFlow.STEPS);
+                runStage(flow, stage, maxInFlight);
+                stages.add(stage);
+            }
+            System.out.print(LoadTestReport.write(out, run, stages, sloMillis));
+            System.out.println("# 보고서: " + out.toAbsolutePath());
+        }
+    }
+
+    /**
+     * 도착률에 따라 흐름을 시작하고, 측정 시간이 끝나면 진행 중인 흐름이 끝날 때까지 기다립니다.
+     * 진행 중인 흐름이 maxInFlight 이상이면 새 흐름을 시작하지 않고 누락으로 셉니다.
+     */
+    private void runStage(OrderToCashFlow flow, LoadTestStage stage, int maxInFlight) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(sequence.get());
+        AtomicInteger inFlight = new AtomicInteger();
+        double meanIntervalNanos = 1e9 / stage.rate();
+        long started = System.nanoTime();
+        long end = started + TimeUnit.SECONDS.toNanos(stage.durationSeconds());
+        try (ExecutorService flows = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = started;
+            while (next < end) {
+                long wait;
+                while ((wait = next - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intendedStart = next;
+                if (inFlight.get() >= maxInFlight) {
+                    stage.dropped();
+                } else {
+                    inFlight.incrementAndGet();
+                    stage.started();
+                    long seq = sequence.getAndIncrement();
+                    flows.execute(() -> {
+                        try {
+                            if (flow.run(seq, stage)) {
+                                stage.completed(System.nanoTime() - intendedStart);
+                            } else {
+                                stage.failed();
+                            }
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+                }
+                // 포아송 도착: 지수 분포 간격
+                next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            }
+        }
+        stage.finish(System.nanoTime() - started);
+    }
+
+    private Process startApp(BenchDatabase database, int port, Path log) throws IOException {
+        Path jar = Paths.get(option("jar", "../caseNara/target/caseNara-0.0.1-SNAPSHOT-exec.jar"));
+        if (!Files.isRegularFile(jar)) {
+            throw new IOException("caseNara jar가 없습니다: " + jar.toAbsolutePath()
+                    + " (caseNara에서 ./mvnw -DskipTests package 또는 --jar로 지정)");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=" + database.url());
+        command.add("--spring.datasource.username=" + database.username());
+        command.add("--spring.datasource.password=" + database.password());
+        command.add("--logging.level.root=WARN");
+        command.add("--logging.level.org.springframework.web=WARN");
+        String appArgs = options.get("app-args");
+        if (appArgs != null && !appArgs.isBlank()) {
+            command.addAll(Arrays.asList(appArgs.trim().split("\\s+")));
+        }
+        System.out.println("# 애플리케이션 기동: 포트 " + port + ", 로그 " + log);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void waitUntilReady(Process app, URI base) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/lookup/bootstrap"))
+                .timeout(Duration.ofSeconds(10)).GET().build();
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(3);
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IOException("애플리케이션이 종료되었습니다 (종료 코드 " + app.exitValue() + ")");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 기동 중
+            }
+            Thread.sleep(500);
+        }
+        throw new IOException("애플리케이션이 3분 안에 준비되지 않았습니다");
+    }
+
+    /**
+     * 흐름 실패 사유는 처음 몇 건만 출력합니다 (이후는 보고서의 오류 건수로 확인).
+     */
+    static void reportError(String step, String customerName, LocalDate day, Exception e) {
+        int count = reportedErrors.incrementAndGet();
+        if (count <= MAX_REPORTED_ERRORS) {
+            System.err.printf("# 실패 [%s] %s %s: %s%n", step, customerName, day, e);
+        } else if (count == MAX_REPORTED_ERRORS + 1) {
+            System.err.println("# 이후 실패는 출력하지 않습니다.");
+        }
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+}
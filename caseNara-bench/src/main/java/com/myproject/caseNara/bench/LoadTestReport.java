@@ -0,0 +1,112 @@
+package com.myproject.caseNara.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과를 출력 폴더에 남깁니다.
+ * - report.txt: 단계(도착률)별, 작업 단계별 백분위 지연표와 수용 가능한 최대 도착률
+ * - report.json: 같은 내용을 릴리스 간 비교용으로
+ * - {도착률}-{단계}.hgrm: HdrHistogram 백분위 분포 (HdrHistogram 플로터로 그래프)
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTestReport() {
+    }
+
+    /**
+     * 보고서를 쓰고 표 내용을 반환합니다 (콘솔 출력용).
+     *
+     * @param sloMillis 수용 기준: 흐름 전체 p99가 이 값 이하이고 실패/누락이 없으며 목표 도착률의 95% 이상 처리
+     */
+    static String write(Path dir, Map<String, Object> run, List<LoadTestStage> stages, long sloMillis) throws IOException {
+        Files.createDirectories(dir);
+        StringWriter text = new StringWriter();
+        List<Map<String, Object>> stageJson = new ArrayList<>();
+        double capacity = 0;
+        run.forEach((key, value) -> text.write("# " + key + ": " + value + "\n"));
+
+        for (LoadTestStage stage : stages) {
+            text.write(String.format("%n## 도착률 %.2f/s, %ds: 시작 %d, 완료 %d, 실패 %d, 누락 %d, 처리량 %.2f/s%n",
+                    stage.rate(), stage.durationSeconds(), stage.startedCount(), stage.completedCount(),
+                    stage.failedCount(), stage.droppedCount(), stage.achievedRate()));
+            text.write(String.format("%-12s %8s %6s %9s %9s %9s %9s %9s  (ms)%n",
+                    "단계", "건수", "오류", "p50", "p90", "p99", "p99.9", "max"));
+            Map<String, Object> steps = new LinkedHashMap<>();
+            for (Map.Entry<String, Histogram> entry : stage.histograms().entrySet()) {
+                Histogram h = entry.getValue();
+                long errors = stage.errorCount(entry.getKey());
+                StringBuilder row = new StringBuilder(String.format("%-12s %8d %6d", entry.getKey(), h.getTotalCount(), errors));
+                Map<String, Object> stepJson = new LinkedHashMap<>();
+                stepJson.put("count", h.getTotalCount());
+                stepJson.put("errors", errors);
+                for (double p : PERCENTILES) {
+                    double millis = millis(h.getValueAtPercentile(p));
+                    row.append(String.format(" %9.1f", millis));
+                    stepJson.put("p" + (p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p)), millis);
+                }
+                row.append(String.format(" %9.1f", millis(h.getMaxValue())));
+                stepJson.put("max", millis(h.getMaxValue()));
+                text.write(row + "\n");
+                steps.put(entry.getKey(), stepJson);
+
+                Path hgrm = dir.resolve(String.format("%s-%s.hgrm", rateName(stage.rate()), entry.getKey()));
+                try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm), false, StandardCharsets.UTF_8)) {
+                    // 값은 마이크로초, 밀리초 단위로 출력
+                    h.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+
+            Histogram flow = stage.histograms().get(LoadTestStage.FLOW);
+            boolean sustained = stage.failedCount() == 0 && stage.droppedCount() == 0
+                    && stage.achievedRate() >= stage.rate() * 0.95
+                    && millis(flow.getValueAtPercentile(99)) <= sloMillis;
+            if (sustained) {
+                capacity = Math.max(capacity, stage.rate());
+            }
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("rate", stage.rate());
+            json.put("durationSeconds", stage.durationSeconds());
+            json.put("started", stage.startedCount());
+            json.put("completed", stage.completedCount());
+            json.put("failed", stage.failedCount());
+            json.put("dropped", stage.droppedCount());
+            json.put("achievedRate", stage.achievedRate());
+            json.put("sustained", sustained);
+            json.put("steps", steps);
+            stageJson.add(json);
+        }
+        text.write(String.format("%n# 수용 가능한 최대 도착률 (흐름 p99 <= %dms, 실패/누락 없음): %s%n",
+                sloMillis, capacity > 0 ? String.format("%.2f/s", capacity) : "없음"));
+
+        Map<String, Object> json = new LinkedHashMap<>(run);
+        json.put("sloMillis", sloMillis);
+        json.put("capacity", capacity);
+        json.put("stages", stageJson);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(dir.resolve("report.json").toFile(), json);
+        Files.writeString(dir.resolve("report.txt"), text.toString());
+        return text.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String rateName(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
+    }
+}
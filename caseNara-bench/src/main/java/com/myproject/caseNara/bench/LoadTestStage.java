@@ -0,0 +1,117 @@
+package com.myproject.caseNara.bench;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 부하 테스트 한 단계(하나의 도착률)의 측정값입니다.
+ * 단계별 지연은 HdrHistogram Recorder(마이크로초, 유효 숫자 3자리)로 여러 스레드에서 동시에 기록합니다.
+ * flow 지연은 실제 시작이 아닌 예정된 도착 시각부터 재므로, 서버가 밀려 요청을 늦게 보낸 시간도 포함됩니다.
+ */
+final class LoadTestStage {
+
+    static final String FLOW = "flow";
+
+    private final double rate;
+    private final long durationSeconds;
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new LinkedHashMap<>();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private Map<String, Histogram> histograms;
+    private long elapsedNanos;
+
+    LoadTestStage(double rate, long durationSeconds, List<String> steps) {
+        this.rate = rate;
+        this.durationSeconds = durationSeconds;
+        // 측정 중에는 맵 구조를 바꾸지 않으므로 동시 조회만 일어남
+        for (String step : steps) {
+            recorders.put(step, new Recorder(3));
+            errors.put(step, new LongAdder());
+        }
+        recorders.put(FLOW, new Recorder(3));
+        errors.put(FLOW, new LongAdder());
+    }
+
+    void record(String step, long nanos) {
+        recorders.get(step).recordValue(Math.max(1, nanos / 1_000));
+    }
+
+    void error(String step) {
+        errors.get(step).increment();
+    }
+
+    void started() {
+        started.increment();
+    }
+
+    void completed(long nanosSinceIntendedStart) {
+        record(FLOW, nanosSinceIntendedStart);
+        completed.increment();
+    }
+
+    void failed() {
+        error(FLOW);
+        failed.increment();
+    }
+
+    // 진행 중인 흐름이 너무 많아 시작하지 못함 (서버가 도착률을 따라가지 못하는 상태)
+    void dropped() {
+        dropped.increment();
+    }
+
+    /**
+     * 측정을 마치고 단계별 누적 히스토그램을 확정합니다.
+     */
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        histograms = new LinkedHashMap<>();
+        recorders.forEach((step, recorder) -> histograms.put(step, recorder.getIntervalHistogram()));
+    }
+
+    double rate() {
+        return rate;
+    }
+
+    long durationSeconds() {
+        return durationSeconds;
+    }
+
+    long startedCount() {
+        return started.sum();
+    }
+
+    long completedCount() {
+        return completed.sum();
+    }
+
+    long failedCount() {
+        return failed.sum();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    long errorCount(String step) {
+        return errors.get(step).sum();
+    }
+
+    /**
+     * 실제로 완료된 흐름의 초당 처리량
+     */
+    double achievedRate() {
+        return elapsedNanos == 0 ? 0 : completed.sum() / (elapsedNanos / 1e9);
+    }
+
+    Map<String, Histogram> histograms() {
+        return histograms;
+    }
+}
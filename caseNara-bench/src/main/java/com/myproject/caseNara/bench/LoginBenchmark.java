@@ -0,0 +1,55 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.mapper.AccountMapper;
+import com.myproject.caseNara.model.Account;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 비밀번호 검증(BCrypt)입니다. cost별 해시 검증과, AccountController와 같은 계정 조회 + 검증 왕복을 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoginBenchmark {
+
+    @Param({"10", "12"})
+    public int cost;
+
+    private AccountMapper accountMapper;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchApp app) {
+        accountMapper = app.bean(AccountMapper.class);
+        hash = BCrypt.hashpw(BenchSeeder.ACCOUNT_PASSWORD, BCrypt.gensalt(cost));
+    }
+
+    @Benchmark
+    public boolean checkpw() {
+        return BCrypt.checkpw(BenchSeeder.ACCOUNT_PASSWORD, hash);
+    }
+
+    // 저장된 계정 해시의 cost를 따르므로 @Param과 무관
+    @Benchmark
+    public boolean login() {
+        Account account = accountMapper.findById(BenchSeeder.ACCOUNT_ID);
+        return account != null && BCrypt.checkpw(BenchSeeder.ACCOUNT_PASSWORD, account.getPassword());
+    }
+}
@@ -0,0 +1,75 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.service.CatalogCache;
+import com.myproject.caseNara.service.LookupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 화면 초기화용 기준 데이터 조회입니다.
+ * 캐시가 채워진 상태(전체/변경 없는 since 조회/목록/이름 조회)와 캐시를 비운 직후의 첫 조회(coldBootstrap)를 나눠 잽니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LookupServiceBenchmark {
+
+    private LookupService lookupService;
+    private CatalogCache catalogCache;
+    private Long currentVersion;
+    private List<Product> products;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchApp app) {
+        lookupService = app.bean(LookupService.class);
+        catalogCache = app.bean(CatalogCache.class);
+        products = app.products();
+        Object version = lookupService.getBootstrap(null).get("version");
+        currentVersion = version instanceof Number n ? n.longValue() : null;
+    }
+
+    @Benchmark
+    public Map<String, Object> bootstrap() {
+        return lookupService.getBootstrap(null);
+    }
+
+    @Benchmark
+    public Map<String, Object> bootstrapDelta() {
+        return lookupService.getBootstrap(currentVersion);
+    }
+
+    @Benchmark
+    public List<String> customerNames() {
+        return lookupService.getAllCustomerNames();
+    }
+
+    @Benchmark
+    public Product productByName() {
+        return catalogCache.findProductByName(products.get(cursor++ % products.size()).getProductName());
+    }
+
+    @Benchmark
+    public Map<String, Object> coldBootstrap() {
+        // 기준 정보 버전은 그대로 두고 캐시만 비움 (LookupService.invalidateAll은 버전 기록까지 씀)
+        catalogCache.invalidateAll();
+        return lookupService.getBootstrap(null);
+    }
+}
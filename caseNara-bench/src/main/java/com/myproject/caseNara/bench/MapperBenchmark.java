@@ -0,0 +1,94 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.mapper.AccountMapper;
+import com.myproject.caseNara.mapper.CustomerMapper;
+import com.myproject.caseNara.mapper.ProductMapper;
+import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.model.Account;
+import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.model.Sale;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시를 거치지 않는 매퍼 왕복(SQL 실행 + 결과 매핑)입니다.
+ * 판매 목록은 하루/30일 범위, 나머지는 키 한 건 조회입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    private SalesMapper salesMapper;
+    private CustomerMapper customerMapper;
+    private ProductMapper productMapper;
+    private AccountMapper accountMapper;
+    private List<Long> openSaleIds;
+    private List<String> customerNames;
+    private List<Product> products;
+    private LocalDateTime today;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchApp app) {
+        salesMapper = app.bean(SalesMapper.class);
+        customerMapper = app.bean(CustomerMapper.class);
+        productMapper = app.bean(ProductMapper.class);
+        accountMapper = app.bean(AccountMapper.class);
+        customerNames = app.customerNames();
+        products = app.products();
+        today = BenchApp.today().atStartOfDay();
+
+        openSaleIds = salesMapper.listOpenSaleIds().stream().map(Sale::getSaleId).toList();
+        if (openSaleIds.isEmpty()) {
+            throw new IllegalStateException("열린 주문이 없습니다.");
+        }
+    }
+
+    @Benchmark
+    public List<Sale> findSalesById() {
+        return salesMapper.findSalesById(openSaleIds.get(cursor++ % openSaleIds.size()));
+    }
+
+    @Benchmark
+    public List<Sale> listSalesOneDay() {
+        return salesMapper.listSales(today.minusDays(1), today);
+    }
+
+    @Benchmark
+    public List<Sale> listSalesThirtyDays() {
+        return salesMapper.listSales(today.minusDays(30), today);
+    }
+
+    @Benchmark
+    public Customer findCustomerByName() {
+        return customerMapper.findByCompanyName(customerNames.get(cursor++ % customerNames.size()));
+    }
+
+    @Benchmark
+    public Product getProductByName() {
+        return productMapper.getProductByName(products.get(cursor++ % products.size()).getProductName());
+    }
+
+    @Benchmark
+    public Account findAccount() {
+        return accountMapper.findById(BenchSeeder.ACCOUNT_ID);
+    }
+}
@@ -0,0 +1,94 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.service.SalesService;
+import com.myproject.caseNara.service.SalesService.BatchOrderResult;
+import com.myproject.caseNara.service.SalesService.CreateOrderItem;
+import com.myproject.caseNara.service.SalesService.OrderRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마감 입력의 주문 일괄 등록(POST /api/sales/batch, createOrders)과 같은 주문을 한 건씩 등록(POST /api/sales, createOrder)하는 경우의 비교입니다.
+ * 점수는 초당 주문 항목 수(lines/s)입니다. 두 벤치마크는 같은 시드로 같은 고객/일자/상품 분포의 주문 묶음을 만듭니다.
+ * 주문은 최근 RECENT_DAYS일에 등록하므로 기존 열린 주문에 가산되는 항목과 새 주문이 섞입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderIngestBenchmark {
+
+    // 한 번에 보내는 주문 수와 주문당 항목 수 (@OperationsPerInvocation은 상수여야 하므로 고정)
+    private static final int ORDERS = 40;
+    private static final int LINES_PER_ORDER = 6;
+    private static final int RECENT_DAYS = 30;
+
+    private SalesService salesService;
+    private List<String> customerNames;
+    private List<Product> products;
+    private final SplittableRandom random = new SplittableRandom(11);
+
+    private List<OrderRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchApp app) {
+        salesService = app.bean(SalesService.class);
+        customerNames = app.customerNames();
+        products = app.products();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareRequests() {
+        requests = new ArrayList<>(ORDERS);
+        for (int o = 0; o < ORDERS; o++) {
+            String customerName = customerNames.get(skewed(customerNames.size()));
+            LocalDate day = BenchApp.today().minusDays(random.nextInt(RECENT_DAYS));
+            List<CreateOrderItem> items = new ArrayList<>(LINES_PER_ORDER);
+            for (int i = 0; i < LINES_PER_ORDER; i++) {
+                items.add(new CreateOrderItem(products.get(skewed(products.size())).getProductName(), 1 + random.nextInt(5)));
+            }
+            requests.add(new OrderRequest(customerName, day.toString(), items));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS * LINES_PER_ORDER)
+    public int oneByOne() {
+        int inserted = 0;
+        for (OrderRequest request : requests) {
+            inserted += salesService.createOrder(request);
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS * LINES_PER_ORDER)
+    public BatchOrderResult batch() {
+        return salesService.createOrders(requests);
+    }
+
+    // BenchSeeder와 같은 제곱 분포 (앞쪽 순번일수록 자주 선택)
+    private int skewed(int bound) {
+        double r = random.nextDouble();
+        return (int) (r * r * bound);
+    }
+}
@@ -0,0 +1,190 @@
+package com.myproject.caseNara.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 주문부터 수금까지 사무원 한 명의 작업 흐름을 HTTP로 재현합니다.
+ * 화면 초기화 → 주문 등록 → 판매 목록에서 주문 확인 → 청구서 생성 → 청구서 조회 → 일부 수금 → 청구 취소(주문 다시 열기)
+ *
+ * 주문 등록/청구서 생성 응답에는 ID가 없으므로 화면과 같이 목록 조회로 SALE_ID, BILL_ID를 찾습니다(findBill 단계).
+ * 흐름마다 (고객, 날짜)가 겹치지 않도록 순번으로 고객과 날짜를 정해, 동시에 실행되는 흐름끼리 같은 주문을 건드리지 않습니다.
+ * 청구 취소로 끝나므로 주문은 열린 상태로 남습니다.
+ */
+final class OrderToCashFlow {
+
+    static final List<String> STEPS = List.of(
+            "bootstrap", "createOrder", "listSales", "createBill", "findBill", "receive", "cancelBill");
+
+    private final HttpClient client;
+    private final URI base;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> customers;
+    private final List<String> products;
+    private final LocalDate firstDay;
+    private final int lines;
+
+    private OrderToCashFlow(HttpClient client, URI base, Duration timeout, List<String> customers,
+                            List<String> products, LocalDate firstDay, int lines) {
+        this.client = client;
+        this.base = base;
+        this.timeout = timeout;
+        this.customers = customers;
+        this.products = products;
+        this.firstDay = firstDay;
+        this.lines = lines;
+    }
+
+    /**
+     * 화면 초기화 응답에서 고객/상품 목록을 읽어 흐름을 준비합니다.
+     * 단가가 없는 상품은 주문 등록이 실패하므로 제외합니다.
+     */
+    static OrderToCashFlow prepare(HttpClient client, URI base, Duration timeout, String customerPrefix,
+                                   LocalDate firstDay, int lines) throws IOException, InterruptedException {
+        OrderToCashFlow probe = new OrderToCashFlow(client, base, timeout, List.of(), List.of(), firstDay, lines);
+        JsonNode bootstrap = probe.send(HttpRequest.newBuilder(base.resolve("/api/lookup/bootstrap")).GET());
+        List<String> customers = new ArrayList<>();
+        for (JsonNode name : bootstrap.path("customers")) {
+            if (name.asText().startsWith(customerPrefix)) {
+                customers.add(name.asText());
+            }
+        }
+        List<String> products = new ArrayList<>();
+        for (JsonNode product : bootstrap.path("products")) {
+            if (product.path("salePrice").asInt(0) > 0) {
+                products.add(product.path("productName").asText());
+            }
+        }
+        if (customers.isEmpty() || products.isEmpty()) {
+            throw new IllegalStateException("주문할 고객 또는 상품이 없습니다 (고객 " + customers.size() + ", 상품 " + products.size() + ")");
+        }
+        return new OrderToCashFlow(client, base, timeout, customers, products, firstDay, lines);
+    }
+
+    int customerCount() {
+        return customers.size();
+    }
+
+    /**
+     * 순번 sequence의 흐름을 실행하고 단계별 지연을 기록합니다.
+     *
+     * @return 모든 단계가 성공하면 true
+     */
+    boolean run(long sequence, LoadTestStage stage) {
+        String customerName = customers.get((int) (sequence % customers.size()));
+        LocalDate day = firstDay.plusDays(sequence / customers.size());
+        SplittableRandom random = new SplittableRandom(sequence);
+        String step = STEPS.get(0);
+        try {
+            timed(stage, step, HttpRequest.newBuilder(base.resolve("/api/lookup/bootstrap")).GET());
+
+            step = "createOrder";
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                // 앞쪽 상품일수록 자주 주문 (제곱 분포)
+                double r = random.nextDouble();
+                items.add(Map.of("productName", products.get((int) (r * r * products.size())),
+                        "quantity", 1 + random.nextInt(5)));
+            }
+            timed(stage, step, post("/api/sales", Map.of(
+                    "customerName", customerName, "saleDate", day.toString(), "items", items)));
+
+            step = "listSales";
+            JsonNode rows = timed(stage, step, HttpRequest.newBuilder(
+                    base.resolve("/api/sales?startDate=" + day + "&endDate=" + day)).GET());
+            Long saleId = null;
+            Long customerId = null;
+            int total = 0;
+            for (JsonNode row : rows) {
+                if (customerName.equals(row.path("customerName").asText())) {
+                    saleId = row.path("saleId").asLong();
+                    customerId = row.path("customerId").asLong();
+                    total += row.path("unitPrice").asInt();
+                }
+            }
+            if (saleId == null) {
+                throw new IllegalStateException("등록한 주문이 목록에 없습니다");
+            }
+
+            step = "createBill";
+            Map<String, Object> bill = new LinkedHashMap<>();
+            bill.put("customerId", customerId);
+            bill.put("totalCost", total);
+            bill.put("salesIds", List.of(saleId));
+            timed(stage, step, post("/api/bills", List.of(bill)));
+
+            step = "findBill";
+            JsonNode bills = timed(stage, step, HttpRequest.newBuilder(
+                    base.resolve("/api/bills/by-customer/" + customerId)).GET());
+            long billId = 0;
+            for (JsonNode b : bills.path("bills")) {
+                // 방금 만든 청구서: 금액이 같고 아직 수금 전인 것 중 가장 최근 (BILL_ID는 증가)
+                if (b.path("totalCost").asInt() == total && b.path("remainCost").asInt() == total) {
+                    billId = Math.max(billId, b.path("billId").asLong());
+                }
+            }
+            if (billId == 0) {
+                throw new IllegalStateException("생성한 청구서를 찾을 수 없습니다");
+            }
+
+            step = "receive";
+            timed(stage, step, HttpRequest.newBuilder(base.resolve("/api/bills/" + billId + "/receive"))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(Map.of("amount", Math.max(1, total / 2)))));
+
+            step = "cancelBill";
+            timed(stage, step, HttpRequest.newBuilder(base.resolve("/api/bills/by-sale/" + saleId)).DELETE());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stage.error(step);
+            return false;
+        } catch (Exception e) {
+            stage.error(step);
+            LoadTest.reportError(step, customerName, day, e);
+            return false;
+        }
+    }
+
+    private JsonNode timed(LoadTestStage stage, String step, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        JsonNode body = send(request);
+        stage.record(step, System.nanoTime() - started);
+        return body;
+    }
+
+    // 200이 아니거나 {"success": false} 이면 실패
+    private JsonNode send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request.timeout(timeout).build(), HttpResponse.BodyHandlers.ofByteArray());
+        JsonNode body = response.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        if (response.statusCode() != 200 || !body.path("success").asBoolean(true)) {
+            throw new IOException("HTTP " + response.statusCode() + " " + body.path("message").asText(""));
+        }
+        return body;
+    }
+
+    private HttpRequest.Builder post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(json(body));
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+    }
+}
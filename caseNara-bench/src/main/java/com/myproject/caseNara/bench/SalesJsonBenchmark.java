@@ -0,0 +1,68 @@
+package com.myproject.caseNara.bench;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myproject.caseNara.model.Sale;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 판매 목록 응답의 JSON 직렬화입니다 (DB 없이 JVM 안에서만).
+ * 컨트롤러와 같은 설정의 ObjectMapper(Jackson2ObjectMapperBuilder 기본값)를 사용합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SalesJsonBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Sale> sales;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime day = LocalDateTime.of(2025, 1, 1, 0, 0);
+        sales = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int quantity = 1 + random.nextInt(10);
+            sales.add(Sale.builder()
+                    .saleId(1_000L + i / 6)
+                    .customerId(1L + random.nextInt(300))
+                    .productId(1L + random.nextInt(800))
+                    .quantity(quantity)
+                    .unitPrice(quantity * (1_000 + random.nextInt(50_000)))
+                    .saleAt(day.minusDays(i / 150))
+                    .deleted(0)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] writeSales() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(sales);
+    }
+}
@@ -0,0 +1,145 @@
+package com.myproject.caseNara.bench;
+
+import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.service.BillService;
+import com.myproject.caseNara.service.CatalogCache;
+import com.myproject.caseNara.service.OpenOrderIndex;
+import com.myproject.caseNara.service.SalesService;
+import com.myproject.caseNara.service.SalesService.CreateOrderItem;
+import com.myproject.caseNara.service.SalesService.OrderRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 등록/수정/청구 취소 병합의 서비스 전체 경로(캐시 조회 + 매퍼 + 집계 갱신, 한 트랜잭션)입니다.
+ * 등록은 최근 열린 주문에 가산되거나 새 주문을 만들고, 수정은 같은 열린 주문을 두 항목 목록 사이로 번갈아 바꿉니다.
+ * 청구 취소 병합(기존 mergeDuplicateItems 대체 경로)은 호출마다 겹치지 않는 먼 미래 날짜에 청구된 주문과 열린 주문을 만들어 둡니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SalesServiceBenchmark {
+
+    private static final int LINES_PER_ORDER = Integer.getInteger("bench.linesPerOrder", 6);
+    private static final int RECENT_DAYS = 30;
+
+    private SalesService salesService;
+    private BillService billService;
+    private OpenOrderIndex openOrderIndex;
+    private CatalogCache catalogCache;
+    private List<String> customerNames;
+    private List<Product> products;
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    // updateOrder 대상
+    private Long updateSaleId;
+    private OrderRequest updateA;
+    private OrderRequest updateB;
+    private boolean toggle;
+
+    // 청구 취소 병합 대상 (호출마다 새로 준비)
+    private LocalDate mergeDay = LocalDate.of(2100, 1, 1);
+    private Long billedSaleId;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchApp app) {
+        salesService = app.bean(SalesService.class);
+        billService = app.bean(BillService.class);
+        openOrderIndex = app.bean(OpenOrderIndex.class);
+        catalogCache = app.bean(CatalogCache.class);
+        customerNames = app.customerNames();
+        products = app.products();
+
+        // 수정 대상: 첫 고객의 오늘 열린 주문 (없으면 생성)
+        String customerName = customerNames.get(0);
+        String today = BenchApp.today().toString();
+        updateA = new OrderRequest(customerName, today, items(0, LINES_PER_ORDER, 1));
+        updateB = new OrderRequest(customerName, today, items(LINES_PER_ORDER / 2, LINES_PER_ORDER, 2));
+        salesService.createOrder(updateA);
+        updateSaleId = saleIdOf(customerName, BenchApp.today());
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareMerge() {
+        // 같은 날, 같은 고객: 청구된 주문 A와 그 뒤에 생긴 열린 주문 B
+        mergeDay = mergeDay.plusDays(1);
+        String customerName = customerNames.get(random.nextInt(customerNames.size()));
+        salesService.createOrder(new OrderRequest(customerName, mergeDay.toString(), randomItems()));
+        billedSaleId = saleIdOf(customerName, mergeDay);
+        Customer customer = catalogCache.findCustomerByName(customerName);
+        BillService.BillRequest bill = new BillService.BillRequest();
+        bill.customerId = customer.getCustomerId();
+        bill.totalCost = 0;
+        bill.salesIds = List.of(billedSaleId);
+        billService.createBills(List.of(bill));
+        salesService.createOrder(new OrderRequest(customerName, mergeDay.toString(), randomItems()));
+    }
+
+    @Benchmark
+    public int createOrder() {
+        String customerName = customerNames.get(skewed(customerNames.size()));
+        LocalDate day = BenchApp.today().minusDays(random.nextInt(RECENT_DAYS));
+        return salesService.createOrder(new OrderRequest(customerName, day.toString(), randomItems()));
+    }
+
+    @Benchmark
+    public void updateOrder() {
+        toggle = !toggle;
+        salesService.updateOrder(updateSaleId, toggle ? updateB : updateA);
+    }
+
+    @Benchmark
+    public void reopenMerge() {
+        salesService.resetBillStatusForSaleId(billedSaleId);
+    }
+
+    private Long saleIdOf(String customerName, LocalDate day) {
+        Customer customer = catalogCache.findCustomerByName(customerName);
+        Long saleId = openOrderIndex.find(customer.getCustomerId(), day);
+        if (saleId == null) {
+            throw new IllegalStateException("열린 주문이 없습니다: " + customerName + " " + day);
+        }
+        return saleId;
+    }
+
+    private List<CreateOrderItem> items(int from, int count, int quantity) {
+        List<CreateOrderItem> items = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            items.add(new CreateOrderItem(products.get(i % products.size()).getProductName(), quantity));
+        }
+        return items;
+    }
+
+    private List<CreateOrderItem> randomItems() {
+        List<CreateOrderItem> items = new ArrayList<>(LINES_PER_ORDER);
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            items.add(new CreateOrderItem(products.get(skewed(products.size())).getProductName(), 1 + random.nextInt(5)));
+        }
+        return items;
+    }
+
+    // BenchSeeder와 같은 제곱 분포 (앞쪽 순번일수록 자주 선택)
+    private int skewed(int bound) {
+        double r = random.nextDouble();
+        return (int) (r * r * bound);
+    }
+}
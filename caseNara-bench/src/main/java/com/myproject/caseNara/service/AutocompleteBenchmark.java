@@ -0,0 +1,105 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상호명 자동완성(AutocompleteIndex)의 검색과 인덱스 생성입니다 (DB 없이 JVM 안에서만).
+ * 이름은 임의의 한글 음절 2~4자에 흔한 업종 접미어를 붙여 names개 만들고, 검색어는 한 글자/앞부분/중간 일치/초성을 나눠 봅니다.
+ * 인덱스 종료(shutdown)가 패키지 전용이라 같은 패키지에 둡니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AutocompleteBenchmark {
+
+    @Param({"100000"})
+    public int names;
+
+    @Param({"케", "케이스", "폰케", "ㅋㅇㅅ"})
+    public String query;
+
+    private static final String SYLLABLES = "가나다라마바사아자차카타파하케이스폰몰샵텔레콤모바일";
+    private static final String[] SUFFIXES = {"", " 케이스", "폰", " 모바일", "텔레콤", " 상사", "몰"};
+
+    private List<String> customerNames;
+    private AutocompleteIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Set<String> generated = new LinkedHashSet<>(names * 2);
+        while (generated.size() < names) {
+            StringBuilder name = new StringBuilder();
+            int length = 2 + random.nextInt(3);
+            for (int i = 0; i < length; i++) {
+                name.append(SYLLABLES.charAt(random.nextInt(SYLLABLES.length())));
+            }
+            name.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            generated.add(name.toString());
+        }
+        customerNames = List.copyOf(generated);
+        index = newIndex();
+        // 첫 조회에서 인덱스 생성
+        index.suggestCustomers(query, AutocompleteIndex.DEFAULT_LIMIT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        index.shutdown();
+    }
+
+    @Benchmark
+    public List<String> search() {
+        return index.suggestCustomers(query, AutocompleteIndex.DEFAULT_LIMIT);
+    }
+
+    // 목록이 바뀐 뒤 백그라운드에서 하는 재생성과 같은 작업 (처음 조회는 조회 스레드에서 만듦)
+    @Benchmark
+    public List<String> build() {
+        AutocompleteIndex fresh = newIndex();
+        try {
+            return fresh.suggestCustomers(query, AutocompleteIndex.DEFAULT_LIMIT);
+        } finally {
+            fresh.shutdown();
+        }
+    }
+
+    private AutocompleteIndex newIndex() {
+        LookupService lookupService = new LookupService(null, null) {
+            @Override
+            public List<String> getAllCustomerNames() {
+                return customerNames;
+            }
+
+            @Override
+            public List<Product> getAllProduct() {
+                return List.of();
+            }
+        };
+        // 주문 빈도는 읽지 않으므로(refreshFrequencies 미호출) 매퍼 없이 생성
+        return new AutocompleteIndex(lookupService, null, new StandardEnvironment());
+    }
+}
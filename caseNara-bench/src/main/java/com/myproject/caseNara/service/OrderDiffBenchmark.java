@@ -0,0 +1,81 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.model.Sale;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 수정 시 현재 항목과 요청 수량의 차이 계산(SalesService.diffLines)입니다 (DB 없이 JVM 안에서만).
+ * 요청은 절반은 그대로, 1/4은 수량 변경, 1/4은 삭제 후 같은 수만큼 신규 상품 추가로 구성합니다.
+ * diffLines가 패키지 전용이라 같은 패키지에 둡니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderDiffBenchmark {
+
+    @Param({"10", "50"})
+    public int lines;
+
+    private static final Long SALE_ID = 1_000L;
+    private static final Long CUSTOMER_ID = 1L;
+    private final LocalDateTime saleAt = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private List<Sale> currentSales;
+    private Map<Long, Integer> requestedQty;
+    private Map<Long, Integer> productSalePrice;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        currentSales = new ArrayList<>(lines);
+        requestedQty = new HashMap<>();
+        productSalePrice = new HashMap<>();
+        for (long pid = 1; pid <= lines; pid++) {
+            int price = 1_000 * (int) pid;
+            currentSales.add(Sale.builder()
+                    .saleId(SALE_ID)
+                    .customerId(CUSTOMER_ID)
+                    .productId(pid)
+                    .quantity(2)
+                    .unitPrice(price * 2)
+                    .saleAt(saleAt)
+                    .deleted(0)
+                    .build());
+            long quarter = pid % 4;
+            if (quarter == 0) {
+                continue; // 삭제
+            }
+            requestedQty.put(pid, quarter == 1 ? 3 : 2);
+            productSalePrice.put(pid, price);
+        }
+        for (long pid = lines + 1; requestedQty.size() < lines; pid++) {
+            requestedQty.put(pid, 1);
+            productSalePrice.put(pid, 1_000 * (int) pid);
+        }
+    }
+
+    @Benchmark
+    public SalesService.LineDiff diffLines() {
+        return SalesService.diffLines(SALE_ID, CUSTOMER_ID, saleAt, currentSales, requestedQty, productSalePrice);
+    }
+}
@@ -0,0 +1,7 @@
+-- 벤치마크 DB 전용: sql/ 덤프에 없는 청구서-판매 매핑 테이블 (migration 001의 인덱스 포함)
+CREATE TABLE IF NOT EXISTS `bills_sales` (
+  `BILL_ID` int NOT NULL,
+  `SALES_ID` bigint NOT NULL,
+  PRIMARY KEY (`BILL_ID`, `SALES_ID`),
+  KEY `bills_sales_sales_id_idx` (`SALES_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
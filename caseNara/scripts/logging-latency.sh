@@ -0,0 +1,108 @@
+#!/usr/bin/env bash
+# 로그 설정 변경 전/후 요청 지연 비교
+#   before    : dev + log-sync 프로파일 (변경 전 동작: MVC 내부 DEBUG 로그를 요청 스레드에서 바로 출력)
+#   after-dev : dev 프로파일 (같은 DEBUG 로그를 비동기 큐 + 샘플링으로 출력)
+#   after-prod: prod 프로파일 (JSON, 프레임워크 로그는 WARN 이상)
+# 짧은 주문 조회와 오늘 판매 목록 조회를 차례로 보내 처리량, p50/p99 지연, 로그 줄 수를 비교합니다.
+# DB(application.properties의 datasource)가 떠 있어야 하고, 부하 도구 hey(https://github.com/rakyll/hey)가 필요합니다.
+# 조회만 보내므로 데이터는 바뀌지 않습니다. 애플리케이션 로그는 파일로 보냅니다(운영의 로그 수집과 같은 조건).
+#
+# 사용법: scripts/logging-latency.sh [--skip-build]
+#   DURATION=60s CONCURRENCY=50 scripts/logging-latency.sh
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+SKIP_BUILD=false
+for arg in "$@"; do
+  case "$arg" in
+    --skip-build) SKIP_BUILD=true ;;
+    *) echo "알 수 없는 인자: $arg" >&2; exit 1 ;;
+  esac
+done
+
+PORT="${PORT:-18653}"
+DURATION="${DURATION:-30s}"
+CONCURRENCY="${CONCURRENCY:-20}"
+FAST_PATH="${FAST_PATH:-/api/sales/byId/1}"
+LIST_PATH="${LIST_PATH:-/api/sales}"
+TIMEOUT_SEC="${TIMEOUT_SEC:-120}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="target/caseNara-0.0.1-SNAPSHOT-exec.jar"
+OUT_DIR="target/logging-latency"
+BASE="http://localhost:${PORT}"
+
+command -v hey >/dev/null || { echo "hey가 필요합니다 (go install github.com/rakyll/hey@latest)" >&2; exit 1; }
+
+if [ "$SKIP_BUILD" = false ]; then
+  ./mvnw -q -B -DskipTests package
+fi
+mkdir -p "$OUT_DIR"
+
+APP_PID=""
+cleanup() {
+  if [ -n "$APP_PID" ]; then
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+  fi
+}
+trap cleanup EXIT
+
+# $1: 이름, $2: 프로파일
+start_app() {
+  local name="$1" profiles="$2"
+  "$JAVA" -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" > "$OUT_DIR/$name.log" 2>&1 &
+  APP_PID=$!
+  local waited=0
+  until curl -sf -o /dev/null "$BASE/api/lookup/bootstrap"; do
+    if ! kill -0 "$APP_PID" 2>/dev/null; then
+      echo "$name: 기동 실패 (로그: $OUT_DIR/$name.log)" >&2
+      exit 1
+    fi
+    waited=$((waited + 1))
+    if [ "$waited" -gt $((TIMEOUT_SEC * 10)) ]; then
+      echo "$name: ${TIMEOUT_SEC}초 안에 응답 없음" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+  # 예열 (캐시 적재, JIT)
+  hey -n 500 -c 10 "$BASE$FAST_PATH" > /dev/null
+  hey -n 100 -c 5 "$BASE$LIST_PATH" > /dev/null
+}
+
+# hey 결과에서 "처리량 p50(ms) p99(ms) 오류 수" 추출
+summarize() {
+  local file="$1" rps p50 p99 errors
+  rps=$(awk '/Requests\/sec:/ {printf "%.1f", $2}' "$file")
+  p50=$(awk '/ 50% in / {printf "%.2f", $3 * 1000}' "$file")
+  p99=$(awk '/ 99% in / {printf "%.2f", $3 * 1000}' "$file")
+  errors=$(awk '/Status code distribution:/ {flag=1; next} /Error distribution:/ {flag=0} flag && /\[[0-9]+\]/ && $1 !~ /\[2/ {sum += $2} END {print sum + 0}' "$file")
+  errors=$((errors + $(awk '/Error distribution:/ {flag=1; next} flag && /\[[0-9]+\]/ {sum += substr($1, 2) + 0} END {print sum + 0}' "$file")))
+  echo "$rps ${p50:-n/a} ${p99:-n/a} $errors"
+}
+
+# $1: 이름, $2: 프로파일
+run() {
+  local name="$1" profiles="$2"
+  echo "== $name ($profiles)"
+  start_app "$name" "$profiles"
+  local before_lines
+  before_lines=$(wc -l < "$OUT_DIR/$name.log")
+  hey -z "$DURATION" -c "$CONCURRENCY" "$BASE$FAST_PATH" > "$OUT_DIR/$name-fast.txt"
+  hey -z "$DURATION" -c "$CONCURRENCY" "$BASE$LIST_PATH" > "$OUT_DIR/$name-list.txt"
+  cleanup
+  APP_PID=""
+  printf '%-10s fast: %s | list: %s | 로그 %s줄\n' "$name" "$(summarize "$OUT_DIR/$name-fast.txt")" \
+    "$(summarize "$OUT_DIR/$name-list.txt")" "$(( $(wc -l < "$OUT_DIR/$name.log") - before_lines ))" >> "$OUT_DIR/summary.txt"
+}
+
+: > "$OUT_DIR/summary.txt"
+run before dev,log-sync
+run after-dev dev
+run after-prod prod
+
+echo
+echo "duration=$DURATION concurrency=$CONCURRENCY fast=$FAST_PATH list=$LIST_PATH"
+echo "형식: 처리량(req/s) p50(ms) p99(ms) 오류 수"
+cat "$OUT_DIR/summary.txt"
@@ -0,0 +1,104 @@
+#!/usr/bin/env bash
+# 기동 시간 비교: 일반 jar vs fast-startup 빌드(AOT + CDS + 지연 초기화)
+# 프로세스 시작부터 GET /api/lookup/bootstrap 이 처음 200을 반환할 때까지의 시간(ms)을 측정합니다.
+# DB(application.properties의 datasource)가 떠 있어야 합니다.
+#
+# 사용법: scripts/startup-bench.sh [반복 횟수(기본 5)] [--skip-build]
+#   PORT=18651 scripts/startup-bench.sh 10
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=5
+SKIP_BUILD=false
+for arg in "$@"; do
+  case "$arg" in
+    --skip-build) SKIP_BUILD=true ;;
+    *) RUNS="$arg" ;;
+  esac
+done
+
+PORT="${PORT:-18651}"
+TIMEOUT_SEC="${TIMEOUT_SEC:-120}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR_NAME="caseNara-0.0.1-SNAPSHOT-exec.jar"
+BENCH_DIR="target/startup-bench"
+URL="http://localhost:${PORT}/api/lookup/bootstrap"
+
+if [ "$SKIP_BUILD" = false ]; then
+  echo "== 일반 빌드"
+  ./mvnw -q -B -DskipTests package
+  mkdir -p "$BENCH_DIR"
+  cp "target/$JAR_NAME" "$BENCH_DIR/baseline.jar"
+  echo "== fast-startup 빌드 (AOT + CDS 학습 실행)"
+  ./mvnw -q -B -DskipTests -Pfast-startup package
+fi
+
+if [ ! -f "$BENCH_DIR/baseline.jar" ] || [ ! -f target/application/application.jsa ]; then
+  echo "빌드 결과가 없습니다. --skip-build 없이 실행하세요." >&2
+  exit 1
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+# $1: 이름, $2: 작업 디렉터리, 나머지: java 인자
+measure() {
+  local name="$1" dir="$2"
+  shift 2
+  local log="$PWD/$BENCH_DIR/$name.log"
+  local start end pid
+  start=$(now_ms)
+  (cd "$dir" && exec "$JAVA" "$@" --server.port="$PORT") > "$log" 2>&1 &
+  pid=$!
+  while true; do
+    if curl -sf -o /dev/null "$URL"; then
+      end=$(now_ms)
+      break
+    fi
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$name: 기동 실패 (로그: $log)" >&2
+      exit 1
+    fi
+    if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SEC * 1000 )) ]; then
+      kill "$pid" 2>/dev/null || true
+      echo "$name: ${TIMEOUT_SEC}초 안에 응답 없음 (로그: $log)" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  echo $(( end - start ))
+}
+
+# 정렬된 값에서 최소/중앙값/최대 출력
+summarize() {
+  local name="$1"
+  shift
+  local sorted
+  sorted=$(printf '%s\n' "$@" | sort -n)
+  local count min max median
+  count=$(echo "$sorted" | wc -l)
+  min=$(echo "$sorted" | head -1)
+  max=$(echo "$sorted" | tail -1)
+  median=$(echo "$sorted" | sed -n "$(( (count + 1) / 2 ))p")
+  printf '%-14s runs=%-3s min=%6sms  median=%6sms  max=%6sms\n' "$name" "$count" "$min" "$median" "$max"
+}
+
+baseline=()
+fast=()
+for i in $(seq 1 "$RUNS"); do
+  # 실행 순서에 따른 OS 캐시 영향을 줄이기 위해 번갈아 측정
+  baseline+=("$(measure baseline "$BENCH_DIR" -jar baseline.jar)")
+  fast+=("$(measure fast-startup target/application \
+    -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=fast-startup -jar "$JAR_NAME")")
+  echo "run $i: baseline=${baseline[-1]}ms fast-startup=${fast[-1]}ms"
+done
+
+echo
+echo "time to first successful GET /api/lookup/bootstrap"
+summarize baseline "${baseline[@]}"
+summarize fast-startup "${fast[@]}"
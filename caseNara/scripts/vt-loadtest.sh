@@ -0,0 +1,117 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드(기본) vs 가상 스레드(virtual-threads 프로파일) 부하 비교
+# 넓은 기간의 판매 목록(느린 보고서 조회)을 계속 보내는 동안, 짧은 조회(주문 조회)의 처리량과 p99 지연을 측정합니다.
+# DB(application.properties의 datasource)가 떠 있어야 하고, 부하 도구 hey(https://github.com/rakyll/hey)가 필요합니다.
+# 조회만 보내므로 데이터는 바뀌지 않습니다.
+#
+# 사용법: scripts/vt-loadtest.sh [--skip-build]
+#   DURATION=60s SLOW_CONCURRENCY=200 FAST_CONCURRENCY=50 scripts/vt-loadtest.sh
+#   TOMCAT_THREADS=50 scripts/vt-loadtest.sh    # 플랫폼 스레드 풀 크기 (기본 200)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+SKIP_BUILD=false
+for arg in "$@"; do
+  case "$arg" in
+    --skip-build) SKIP_BUILD=true ;;
+    *) echo "알 수 없는 인자: $arg" >&2; exit 1 ;;
+  esac
+done
+
+PORT="${PORT:-18652}"
+DURATION="${DURATION:-30s}"
+SLOW_CONCURRENCY="${SLOW_CONCURRENCY:-200}"
+FAST_CONCURRENCY="${FAST_CONCURRENCY:-50}"
+SLOW_PATH="${SLOW_PATH:-/api/sales?startDate=2000-01-01&endDate=2099-12-31}"
+FAST_PATH="${FAST_PATH:-/api/sales/byId/1}"
+TIMEOUT_SEC="${TIMEOUT_SEC:-120}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAR="target/caseNara-0.0.1-SNAPSHOT-exec.jar"
+OUT_DIR="target/vt-loadtest"
+BASE="http://localhost:${PORT}"
+
+command -v hey >/dev/null || { echo "hey가 필요합니다 (go install github.com/rakyll/hey@latest)" >&2; exit 1; }
+if ! "$JAVA" -version 2>&1 | grep -Eq 'version "(2[1-9]|[3-9][0-9])'; then
+  echo "JDK 21 이상이 필요합니다." >&2
+  exit 1
+fi
+
+if [ "$SKIP_BUILD" = false ]; then
+  ./mvnw -q -B -DskipTests package
+fi
+mkdir -p "$OUT_DIR"
+
+APP_PID=""
+cleanup() {
+  if [ -n "$APP_PID" ]; then
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+  fi
+}
+trap cleanup EXIT
+
+# $1: 이름, 나머지: java 인자
+start_app() {
+  local name="$1"
+  shift
+  "$JAVA" "$@" -jar "$JAR" --server.port="$PORT" \
+    ${TOMCAT_THREADS:+--server.tomcat.threads.max=$TOMCAT_THREADS} > "$OUT_DIR/$name.log" 2>&1 &
+  APP_PID=$!
+  local waited=0
+  until curl -sf -o /dev/null "$BASE/api/lookup/bootstrap"; do
+    if ! kill -0 "$APP_PID" 2>/dev/null; then
+      echo "$name: 기동 실패 (로그: $OUT_DIR/$name.log)" >&2
+      exit 1
+    fi
+    waited=$((waited + 1))
+    if [ "$waited" -gt $((TIMEOUT_SEC * 10)) ]; then
+      echo "$name: ${TIMEOUT_SEC}초 안에 응답 없음" >&2
+      exit 1
+    fi
+    sleep 0.1
+  done
+  # 첫 요청 지연(캐시 적재, JIT)을 측정에서 빼기 위한 예열
+  hey -n 200 -c 10 "$BASE$FAST_PATH" > /dev/null
+  hey -n 20 -c 5 "$BASE$SLOW_PATH" > /dev/null
+}
+
+# hey 결과에서 "처리량 p99(ms) 오류 수" 추출
+summarize() {
+  local file="$1" rps p99 errors
+  rps=$(awk '/Requests\/sec:/ {printf "%.1f", $2}' "$file")
+  p99=$(awk '/ 99% in / {printf "%.1f", $3 * 1000}' "$file")
+  errors=$(awk '/Status code distribution:/ {flag=1; next} /Error distribution:/ {flag=0} flag && /\[[0-9]+\]/ && $1 !~ /\[2/ {sum += $2} END {print sum + 0}' "$file")
+  errors=$((errors + $(awk '/Error distribution:/ {flag=1; next} flag && /\[[0-9]+\]/ {sum += substr($1, 2) + 0} END {print sum + 0}' "$file")))
+  echo "$rps ${p99:-n/a} $errors"
+}
+
+# $1: 이름, 나머지: java 인자
+run() {
+  local name="$1"
+  shift
+  echo "== $name"
+  start_app "$name" "$@"
+  hey -z "$DURATION" -c "$SLOW_CONCURRENCY" "$BASE$SLOW_PATH" > "$OUT_DIR/$name-slow.txt" &
+  local slow_pid=$!
+  sleep 1
+  hey -z "$DURATION" -c "$FAST_CONCURRENCY" "$BASE$FAST_PATH" > "$OUT_DIR/$name-fast.txt"
+  wait "$slow_pid"
+  cleanup
+  APP_PID=""
+  printf '%-10s fast: %s | slow: %s\n' "$name" "$(summarize "$OUT_DIR/$name-fast.txt")" \
+    "$(summarize "$OUT_DIR/$name-slow.txt")" >> "$OUT_DIR/summary.txt"
+}
+
+: > "$OUT_DIR/summary.txt"
+run platform
+# 고정 진단: JFR 모니터(경고 로그)와 함께 JDK의 고정 스택 출력도 켬
+run virtual -Djdk.tracePinnedThreads=short -Dspring.profiles.active=virtual-threads
+
+echo
+echo "duration=$DURATION slow=${SLOW_CONCURRENCY}c $SLOW_PATH / fast=${FAST_CONCURRENCY}c $FAST_PATH" \
+  "tomcat.threads.max=${TOMCAT_THREADS:-200}"
+echo "형식: 처리량(req/s) p99(ms) 오류 수"
+cat "$OUT_DIR/summary.txt"
+pinned=$(grep -c "가상 스레드 고정\|<== monitors" "$OUT_DIR/virtual.log" || true)
+echo "가상 스레드 고정 기록: ${pinned}건 (로그: $OUT_DIR/virtual.log)"
@@ -0,0 +1,32 @@
+package com.myproject.caseNara.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 지연 초기화(spring.main.lazy-initialization=true, fast-startup 프로파일)에서 제외할 빈을 지정합니다.
+ * 지연 빈은 처음 사용될 때 생성되므로, 다른 곳에서 주입받지 않는 @Scheduled 빈은 생성되지 않아 작업이 등록되지 않습니다.
+ * 이런 빈은 기동 시 바로 생성합니다. (@EventListener 빈은 이벤트 발생 시 생성되므로 제외하지 않음)
+ */
+@Configuration
+public class LazyInitConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && hasScheduledMethod(beanType);
+    }
+
+    private static boolean hasScheduledMethod(Class<?> beanType) {
+        AtomicBoolean found = new AtomicBoolean(false);
+        ReflectionUtils.doWithMethods(beanType,
+                method -> found.set(true),
+                method -> !found.get() && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return found.get();
+    }
+}
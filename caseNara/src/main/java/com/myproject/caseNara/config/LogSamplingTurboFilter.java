@@ -0,0 +1,80 @@
+package com.myproject.caseNara.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량 로그 카테고리의 INFO 이하 로그를 rate건 중 1건만 남기는 Logback 필터입니다 (logback-spring.xml에서 등록).
+ * 런타임에 DEBUG로 올린 요청 로그(org.springframework.web)나 매퍼 SQL 로그가 출력 큐를 채우지 않게 합니다.
+ * WARN 이상, isDebugEnabled() 같은 레벨 확인, 어차피 꺼진 레벨은 건드리지 않습니다.
+ *
+ * statementCategory는 로그 한 건이 아니라 SQL 구문 단위로 샘플링합니다. MyBatis는 구문마다
+ * "==>  Preparing:", "==> Parameters:", "<==      Total:"(TRACE면 행마다 "<==        Row:")를 따로 남기므로
+ * 건별로 고르면 SQL 없는 파라미터나 건수만 남습니다. Preparing에서 정한 결과를 같은 스레드의 뒤따르는 줄에 그대로 적용합니다.
+ */
+public class LogSamplingTurboFilter extends TurboFilter {
+
+    private final List<String> categories = new ArrayList<>();
+    private final List<AtomicLong> counters = new ArrayList<>();
+    private final List<String> statementCategories = new ArrayList<>();
+    private final AtomicLong statementCounter = new AtomicLong();
+    private int rate = 10;
+
+    // 최상위 구문의 시작 줄 (중첩 select는 "====>  Preparing:"이므로 바깥 구문의 결과를 따름)
+    private static final String STATEMENT_START = "==>  Preparing:";
+
+    // 이 스레드에서 마지막으로 시작한 SQL 구문을 남기는지 (구문 시작 전이면 남김)
+    private final ThreadLocal<Boolean> keepStatement = ThreadLocal.withInitial(() -> Boolean.TRUE);
+
+    public void addCategory(String category) {
+        categories.add(category);
+        counters.add(new AtomicLong());
+    }
+
+    public void addStatementCategory(String category) {
+        statementCategories.add(category);
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+        if (rate < 1) {
+            addError("rate는 1 이상이어야 합니다: " + rate);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || rate == 1 || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        String name = logger.getName();
+        for (String category : statementCategories) {
+            if (name.startsWith(category)) {
+                if (format.startsWith(STATEMENT_START)) {
+                    keepStatement.set(statementCounter.getAndIncrement() % rate == 0);
+                }
+                return keepStatement.get() ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        for (int i = 0; i < categories.size(); i++) {
+            if (name.startsWith(categories.get(i))) {
+                return counters.get(i).getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
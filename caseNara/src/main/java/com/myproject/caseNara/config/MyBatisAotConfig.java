@@ -0,0 +1,63 @@
+package com.myproject.caseNara.config;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+
+/**
+ * Spring AOT 처리(fast-startup 프로파일)에서 MyBatis 매퍼 빈이 생성 코드로 올바르게 옮겨지도록 합니다.
+ * 1) 매퍼 빈 정의는 빌드 시점에 생성되므로 MapperScannerConfigurer는 생성 코드에서 뺍니다
+ *    (실행 시 다시 스캔하면 같은 이름의 매퍼를 또 등록하려다 기동이 실패함).
+ * 2) 스캐너가 문자열로 넣은 매퍼 인터페이스 생성자 인자를 Class로 바꾸고 빈 타입을 MapperFactoryBean&lt;매퍼&gt;로 지정해,
+ *    생성 코드가 생성자 인자와 주입 타입을 알 수 있게 합니다. AOT를 쓰지 않는 실행에는 영향이 없습니다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MyBatisAotConfig {
+
+    @Bean
+    static MapperScannerAotExcludeFilter mapperScannerAotExcludeFilter() {
+        return new MapperScannerAotExcludeFilter();
+    }
+
+    @Bean
+    static MergedBeanDefinitionPostProcessor mapperFactoryBeanTypeResolver() {
+        return (beanDefinition, beanType, beanName) -> resolveMapperType(beanDefinition);
+    }
+
+    // 빈으로 등록한 제외 필터는 AOT 처리기 인터페이스도 구현해야 함 (기여하는 코드는 없음)
+    static final class MapperScannerAotExcludeFilter implements BeanRegistrationExcludeFilter, BeanFactoryInitializationAotProcessor {
+
+        @Override
+        public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+            return MapperScannerConfigurer.class == registeredBean.getBeanClass();
+        }
+
+        @Override
+        public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+            return null;
+        }
+    }
+
+    private static void resolveMapperType(RootBeanDefinition beanDefinition) {
+        if (!beanDefinition.hasBeanClass() || !MapperFactoryBean.class.isAssignableFrom(beanDefinition.getBeanClass())
+                || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+            return;
+        }
+        if (beanDefinition.getPropertyValues().get("mapperInterface") instanceof Class<?> mapperInterface) {
+            ConstructorArgumentValues arguments = new ConstructorArgumentValues();
+            arguments.addGenericArgumentValue(mapperInterface);
+            beanDefinition.setConstructorArgumentValues(arguments);
+            beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanDefinition.getBeanClass(), mapperInterface));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.myproject.caseNara.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드 한 번 호출에 허용하는 SQL 구문 수입니다 (SqlBudgetAdvice가 확인).
+ * 평소에는 넘으면 경고 로그만 남기고, caseNara.sql.budget.enforce=true(통합 테스트)이면 요청을 실패시킵니다.
+ * 요청 크기에 따라 늘어나는 구문(주문 항목별 upsert 등)이 있는 API는 statements 대신 repeats로 같은 구문의 반복 횟수만 제한합니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    /**
+     * 전체 구문 수 상한 (-1이면 제한 없음)
+     */
+    int statements() default -1;
+
+    /**
+     * 같은 구문의 실행 횟수 상한 (-1이면 제한 없음)
+     */
+    int repeats() default -1;
+}
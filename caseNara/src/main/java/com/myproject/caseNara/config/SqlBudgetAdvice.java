@@ -0,0 +1,68 @@
+package com.myproject.caseNara.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 본문을 쓰기 직전(컨트롤러의 SQL 실행이 모두 끝난 시점)에 요청의 SQL 통계를 헤더로 붙이고 @SqlBudget을 확인합니다.
+ * 필터에서는 본문이 이미 전송된 뒤라 헤더를 붙일 수 없으므로 여기서 처리합니다.
+ * 본문이 없는 응답(304, 스트리밍 내보내기)에는 헤더가 붙지 않습니다.
+ */
+@ControllerAdvice
+public class SqlBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetAdvice.class);
+
+    static final String COUNT_HEADER = "X-Sql-Count";
+    static final String TIME_HEADER = "X-Sql-Time";
+
+    private final boolean enforce;
+
+    public SqlBudgetAdvice(@Value("${caseNara.sql.budget.enforce:false}") boolean enforce) {
+        this.enforce = enforce;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlRequestStats stats = SqlRequestStats.current();
+        if (stats == null) {
+            return body;
+        }
+        response.getHeaders().set(COUNT_HEADER, String.valueOf(stats.count()));
+        response.getHeaders().set(TIME_HEADER, stats.millis());
+
+        SqlBudget budget = returnType.getMethodAnnotation(SqlBudget.class);
+        if (budget == null) {
+            return body;
+        }
+        String exceeded = null;
+        if (budget.statements() >= 0 && stats.count() > budget.statements()) {
+            exceeded = "구문 " + stats.count() + "건 (예산 " + budget.statements() + ")";
+        } else if (budget.repeats() >= 0 && stats.maxRepeats() > budget.repeats()) {
+            exceeded = "같은 구문 반복 " + stats.repeatedOver(budget.repeats()) + " (예산 " + budget.repeats() + ")";
+        }
+        if (exceeded != null) {
+            String message = "SQL 예산 초과 " + request.getMethod() + " " + request.getURI().getPath() + ": " + exceeded;
+            if (enforce) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,197 @@
+package com.myproject.caseNara.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매퍼 구문별 SQL 실행 시간/행 수 측정 (MyBatis 플러그인)입니다.
+ * 모든 조회/변경 구문을 caseNara.sql 타이머(statement=SalesMapper.listSales 형식, type, outcome)와
+ * caseNara.sql.rows 분포(조회 행 수, 변경 행 수)에 기록하고 /actuator/prometheus 로 노출합니다.
+ * 기준 시간(caseNara.sql.slow-threshold)을 넘은 구문은 바인딩 값과 함께 경고 로그로 남기며,
+ * 이름이 민감 정보(caseNara.sql.redact)에 해당하는 값은 가리고 긴 문자열은 자릅니다.
+ *
+ * 항상 켜 두는 용도라 평소 경로는 구문별 미터를 한 번만 만들어 재사용하고(시각 측정 외 할당 없음),
+ * 바인딩 값은 느린 구문일 때만 읽습니다. 스트리밍 조회(Cursor)는 측정하지 않습니다.
+ * HTTP 요청 안에서 실행된 구문은 요청별 집계(SqlRequestStats)에도 더합니다.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlMetricsInterceptor.class);
+
+    // 느린 구문 로그에 남길 문자열 값 최대 길이
+    private static final int MAX_VALUE_LENGTH = 40;
+
+    /**
+     * 구문별 미터 (MappedStatement는 애플리케이션 수명 동안 그대로이므로 키로 사용)
+     */
+    private record StatementMeters(String statement, Timer success, Timer error, DistributionSummary rows) {}
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final List<String> redactedNames;
+    private final ConcurrentHashMap<MappedStatement, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public SqlMetricsInterceptor(MeterRegistry registry,
+                                 @Value("${caseNara.sql.slow-threshold:500ms}") Duration slowThreshold,
+                                 @Value("${caseNara.sql.redact:password,pw,phone,tel,token,secret}") List<String> redactedNames) {
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.redactedNames = redactedNames.stream().map(n -> n.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        StatementMeters m = meters.computeIfAbsent(ms, this::register);
+        long started = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable t) {
+            long elapsed = System.nanoTime() - started;
+            m.error().record(elapsed, TimeUnit.NANOSECONDS);
+            SqlRequestStats.record(m.statement(), elapsed);
+            throw t;
+        }
+        long elapsed = System.nanoTime() - started;
+        m.success().record(elapsed, TimeUnit.NANOSECONDS);
+        SqlRequestStats.record(m.statement(), elapsed);
+        int rows = rows(result);
+        m.rows().record(rows);
+        if (elapsed >= slowThresholdNanos) {
+            logSlow(m.statement(), ms, invocation.getArgs()[1], elapsed, rows);
+        }
+        return result;
+    }
+
+    private StatementMeters register(MappedStatement ms) {
+        String statement = shortId(ms.getId());
+        String type = ms.getSqlCommandType().name().toLowerCase(Locale.ROOT);
+        return new StatementMeters(statement,
+                timer(statement, type, "success"),
+                timer(statement, type, "error"),
+                DistributionSummary.builder("caseNara.sql.rows")
+                        .description("조회 행 수 또는 변경 행 수 (배치 실행은 0)")
+                        .baseUnit("rows")
+                        .tag("statement", statement)
+                        .tag("type", type)
+                        .register(registry));
+    }
+
+    private Timer timer(String statement, String type, String outcome) {
+        return Timer.builder("caseNara.sql")
+                .description("매퍼 구문 실행 시간")
+                .tag("statement", statement)
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+    }
+
+    // com.myproject.caseNara.mapper.SalesMapper.listSales → SalesMapper.listSales
+    static String shortId(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? id.substring(type + 1) : id;
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> c) {
+            return c.size();
+        }
+        if (result instanceof Integer n) {
+            return Math.max(n, 0);
+        }
+        return 0;
+    }
+
+    private void logSlow(String statement, MappedStatement ms, Object parameter, long elapsedNanos, int rows) {
+        try {
+            log.warn("느린 SQL {} {}ms, {}행, 파라미터 {}", statement, elapsedNanos / 1_000_000, rows,
+                    parameters(ms, parameter));
+        } catch (RuntimeException e) {
+            // 파라미터를 읽지 못해도 구문 실행 결과에는 영향 없음
+            log.warn("느린 SQL {} {}ms, {}행 (파라미터 읽기 실패: {})", statement, elapsedNanos / 1_000_000, rows, e.toString());
+        }
+    }
+
+    /**
+     * DefaultParameterHandler와 같은 방식으로 바인딩 값을 읽어 이름=값 목록으로 만듭니다.
+     */
+    private String parameters(MappedStatement ms, Object parameter) {
+        BoundSql boundSql = ms.getBoundSql(parameter);
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        if (mappings == null || mappings.isEmpty()) {
+            return "[]";
+        }
+        TypeHandlerRegistry typeHandlers = ms.getConfiguration().getTypeHandlerRegistry();
+        MetaObject meta = parameter == null ? null : ms.getConfiguration().newMetaObject(parameter);
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterMapping mapping : mappings) {
+            String name = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(name)) {
+                value = boundSql.getAdditionalParameter(name);
+            } else if (parameter == null) {
+                value = null;
+            } else if (typeHandlers.hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                value = meta.getValue(name);
+            }
+            joiner.add(name + "=" + redact(name, value));
+        }
+        return joiner.toString();
+    }
+
+    private String redact(String name, Object value) {
+        if (value == null) {
+            return "null";
+        }
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String redacted : redactedNames) {
+            if (lower.contains(redacted)) {
+                return "***";
+            }
+        }
+        String text = value.toString();
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "…(" + text.length() + ")" : text;
+    }
+}
@@ -0,0 +1,91 @@
+package com.myproject.caseNara.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * HTTP 요청 하나에서 실행된 매퍼 구문 수와 DB 시간입니다.
+ * SqlRequestStatsFilter가 요청 스레드에 시작/종료하고, SqlMetricsInterceptor가 구문마다 기록합니다.
+ * 요청 밖(스케줄러, 시작 시 적재, 내보내기 비동기 스레드)에서 실행된 구문은 기록하지 않습니다.
+ * 한 요청은 한 스레드에서만 기록하므로 동기화하지 않습니다.
+ */
+public final class SqlRequestStats {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long nanos;
+    // 구문별 실행 횟수 (int[1]로 박싱 없이 증가)
+    private final Map<String, int[]> perStatement = new HashMap<>();
+
+    private SqlRequestStats() {
+    }
+
+    static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 현재 스레드에서 진행 중인 요청의 통계 (요청 밖이면 null)
+     */
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    static void record(String statement, long elapsedNanos) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        stats.count++;
+        stats.nanos += elapsedNanos;
+        stats.perStatement.computeIfAbsent(statement, k -> new int[1])[0]++;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * DB 시간(ms, 소수 첫째 자리)
+     */
+    public String millis() {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * 가장 많이 반복된 구문의 실행 횟수
+     */
+    public int maxRepeats() {
+        int max = 0;
+        for (int[] n : perStatement.values()) {
+            max = Math.max(max, n[0]);
+        }
+        return max;
+    }
+
+    /**
+     * threshold회보다 많이 실행된 구문과 횟수
+     */
+    public Map<String, Integer> repeatedOver(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        perStatement.forEach((statement, n) -> {
+            if (n[0] > threshold) {
+                repeated.put(statement, n[0]);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,52 @@
+package com.myproject.caseNara.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * /api/ 요청마다 매퍼 구문 수와 DB 시간을 집계합니다 (SqlRequestStats).
+ * 응답 헤더(X-Sql-Count, X-Sql-Time)는 본문을 쓰기 전에 SqlBudgetAdvice가 붙이고,
+ * 이 필터는 요청이 끝난 뒤 같은 구문이 caseNara.sql.repeat-threshold회보다 많이 실행되었으면 N+1 의심으로 경고합니다.
+ */
+@Component
+public class SqlRequestStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRequestStatsFilter.class);
+
+    private final int repeatThreshold;
+
+    public SqlRequestStatsFilter(@Value("${caseNara.sql.repeat-threshold:20}") int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlRequestStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlRequestStats.end();
+            if (stats.maxRepeats() > repeatThreshold) {
+                Map<String, Integer> repeated = stats.repeatedOver(repeatThreshold);
+                log.warn("같은 SQL 반복 실행 (N+1 의심) {} {}: {} (전체 {}건, {}ms)",
+                        request.getMethod(), request.getRequestURI(), repeated, stats.count(), stats.millis());
+            }
+        }
+    }
+}
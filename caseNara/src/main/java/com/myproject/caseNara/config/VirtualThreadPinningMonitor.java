@@ -0,0 +1,105 @@
+package com.myproject.caseNara.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가상 스레드 고정(pinning) 진단입니다. 가상 스레드 모드에서만 동작합니다.
+ * synchronized 블록 안에서 JDBC 소켓 읽기처럼 블로킹하면 가상 스레드가 캐리어 스레드를 놓지 못하고(고정),
+ * 캐리어(CPU 코어 수)가 모두 고정되면 다른 요청도 멈춥니다.
+ * JFR jdk.VirtualThreadPinned 이벤트(기준 시간 이상 고정된 경우)를 받아, 같은 호출 위치는 처음 한 번만
+ * 스택과 함께 경고하고 이후에는 횟수만 셉니다(100회마다 다시 경고).
+ *
+ * 더 자세한 진단은 JVM 옵션 -Djdk.tracePinnedThreads=full 로 고정된 스레드의 전체 스택을 표준 출력에 남깁니다.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    // 로그에 남길 스택 프레임 수
+    private static final int STACK_DEPTH = 12;
+
+    // 같은 위치의 고정은 이 횟수마다 다시 경고
+    private static final long REPEAT_WARN_EVERY = 100;
+
+    private final Duration threshold;
+    private final ConcurrentHashMap<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${caseNara.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream rs = new RecordingStream();
+        rs.enable(EVENT).withThreshold(threshold).withStackTrace();
+        rs.onEvent(EVENT, this::onPinned);
+        rs.setReuse(true);
+        rs.startAsync();
+        stream = rs;
+        log.info("가상 스레드 고정 진단 시작 (기준 {}ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream rs = stream;
+        stream = null;
+        if (rs != null) {
+            rs.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String stack = format(event.getStackTrace());
+        LongAdder count = counts.computeIfAbsent(stack, k -> new LongAdder());
+        count.increment();
+        long n = count.sum();
+        if (n == 1 || n % REPEAT_WARN_EVERY == 0) {
+            log.warn("가상 스레드 고정 {}ms (같은 위치 {}회), 스레드={}\n{}",
+                    event.getDuration().toMillis(), n,
+                    event.getThread() != null ? event.getThread().getJavaName() : "?", stack);
+        }
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "\t(스택 없음)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(STACK_DEPTH, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            sb.append("\tat ")
+              .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+              .append(':').append(frame.getLineNumber());
+            if (i + 1 < Math.min(STACK_DEPTH, frames.size())) {
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
+    // 기존 /uploads/{UUID_이름} 파일 제공. 내용 주소 파일(/uploads/cas/, /uploads/variants/cas/)은 CasImageController가 제공
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/uploads/**")
@@ -0,0 +1,34 @@
+package com.myproject.caseNara.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 직접 만드는 백그라운드 실행기(이미지 변환, 업로드 정리 등)의 스레드 팩토리입니다.
+ * spring.threads.virtual.enabled=true(virtual-threads 프로파일)이면 Tomcat, @Scheduled와 같이 가상 스레드를,
+ * 아니면 데몬 플랫폼 스레드를 만듭니다. 동시 실행 수는 실행기(풀 크기)에서 제한합니다.
+ */
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * @param environment 가상 스레드 사용 여부를 확인할 환경
+     * @param namePrefix 스레드 이름 접두사 (뒤에 일련번호)
+     */
+    public static ThreadFactory factory(Environment environment, String namePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Thread.ofVirtual().name(namePrefix, 1).factory();
+        }
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, namePrefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
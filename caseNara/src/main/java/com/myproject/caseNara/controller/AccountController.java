@@ -1,5 +1,6 @@
 package com.myproject.caseNara.controller;
 
+import com.myproject.caseNara.config.SqlBudget;
 import com.myproject.caseNara.model.Account;
 import com.myproject.caseNara.mapper.AccountMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -42,6 +43,7 @@ public class AccountController {
     }
 
     @PostMapping("/login")
+    @SqlBudget(statements = 1)
     public ResponseEntity<?> login(@RequestBody Account loginRequest,
                                    HttpServletRequest request) {
         try {
@@ -1,7 +1,9 @@
 package com.myproject.caseNara.controller;
 
+import com.myproject.caseNara.config.SqlBudget;
 import com.myproject.caseNara.model.Bill;
 import com.myproject.caseNara.model.BillWithSales;
+import com.myproject.caseNara.model.CursorPage;
 import com.myproject.caseNara.service.BillService;
 import com.myproject.caseNara.service.BillService.BillRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,6 +47,7 @@ public class BillController {
      *   BILLS_SALES 매핑과 BILLS 레코드를 순서대로 삭제합니다.
      */
     @DeleteMapping("/by-sale/{saleId}")
+    @SqlBudget(repeats = 2) // 주문 수와 관계없이 집합 단위 구문
     public ResponseEntity<?> deleteBillBySale(@PathVariable Long saleId) {
         try {
             billService.deleteBillBySaleId(saleId);
@@ -118,17 +121,28 @@ public class BillController {
 
     /**
      * 전체 Bill 목록 조회 (선택적 날짜 범위)
+     * - limit을 지정하면 키셋 페이지로 응답합니다: bills와 다음 페이지 커서 next (마지막 페이지면 null)
      */
     @GetMapping
     public ResponseEntity<?> listBills(
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         try {
             if (startDate == null && endDate == null) {
                 LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
                 startDate = today.toString();
                 endDate = today.toString();
             }
+            if (limit != null) {
+                CursorPage<Map<String, Object>> page = billService.listBillsPage(startDate, endDate, cursor, limit);
+                Map<String, Object> body = new java.util.HashMap<>();
+                body.put("success", true);
+                body.put("bills", page.getRows());
+                body.put("next", page.getNext());
+                return ResponseEntity.ok(body);
+            }
             List<Map<String, Object>> bills = billService.listBills(startDate, endDate);
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -146,6 +160,7 @@ public class BillController {
      * 받은 금액 반영: REMAIN_COST를 차감하고 상태를 업데이트합니다.
      */
     @PutMapping("/{billId}/receive")
+    @SqlBudget(statements = 5)
     public ResponseEntity<?> applyReceive(@PathVariable Long billId, @RequestBody Map<String, Object> body) {
         try {
             Object amountObj = body.get("amount");
@@ -0,0 +1,183 @@
+package com.myproject.caseNara.controller;
+
+import com.myproject.caseNara.service.ImageStore;
+import com.myproject.caseNara.service.ProductImageProcessor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * 내용 주소(SHA-256) 이미지와 그 변환본을 제공합니다.
+ * URL의 내용이 바뀌지 않으므로 1년 immutable 캐시와 파일명 기반 강한 ETag를 내려 브라우저가 재검증하지 않게 합니다.
+ * 단일 Range 요청은 206으로 응답하며(다중 범위는 전체 응답), 본문은 Tomcat sendfile(지원 시) 또는
+ * FileChannel.transferTo로 보냅니다. 기존 /uploads/{UUID_이름} 파일은 WebConfig의 리소스 핸들러가 그대로 제공합니다.
+ */
+@Controller
+public class CasImageController {
+
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    // Tomcat sendfile 요청 속성 (org.apache.tomcat.util.net.Constants와 같은 이름)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // 작은 파일은 sendfile 전환 비용이 더 커서 직접 전송 (Tomcat DefaultServlet 기본값과 같은 48KB)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final long[] UNSATISFIABLE = new long[0];
+
+    @RequestMapping(value = "/uploads/cas/{shard1}/{shard2}/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void original(@PathVariable String shard1, @PathVariable String shard2, @PathVariable String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(ImageStore.resolve(shard1, shard2, fileName), fileName, request, response);
+    }
+
+    // 변환본은 원본 해시와 변환 종류로 이름이 정해지므로 원본과 같이 immutable로 제공
+    @RequestMapping(value = "/uploads/variants/cas/{shard1}/{shard2}/{fileName:.+}", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void variant(@PathVariable String shard1, @PathVariable String shard2, @PathVariable String fileName,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String sourceName = ProductImageProcessor.sourceName(fileName);
+        Path file = sourceName != null && ImageStore.resolve(shard1, shard2, sourceName) != null
+                ? Paths.get("uploads", "variants", "cas", shard1, shard2, fileName)
+                : null;
+        serve(file, fileName, request, response);
+    }
+
+    private void serve(Path file, String fileName, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (file == null || !Files.isRegularFile(file)) {
+            // sendError는 오류 페이지(index.html)로 포워드되므로 상태만 설정
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + fileName + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (EtagSupport.matches(new ServletWebRequest(request), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        long size = Files.size(file);
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag)) {
+            long[] parsed = parseRange(range, size);
+            if (parsed == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed != null) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if (length <= 0 || RequestMethod.HEAD.name().equals(request.getMethod())) {
+            return;
+        }
+
+        if (length >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문은 컨테이너가 커널 sendfile로 전송
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // If-Range가 없거나 현재 ETag와 같을 때만 Range 적용 (날짜 형식은 전체 응답)
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        return ifRange == null || ifRange.trim().equals(etag);
+    }
+
+    /**
+     * 단일 바이트 범위를 해석합니다.
+     *
+     * @return {시작, 끝(포함)}, 적용할 수 없는 형식이면 null(전체 응답), 범위를 벗어나면 UNSATISFIABLE
+     */
+    private static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.contains(",")) {
+            return null;
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+        try {
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // bytes=-N: 마지막 N바이트
+                if (last.isEmpty()) {
+                    return null;
+                }
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return UNSATISFIABLE;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+                if (start < 0 || end < start) {
+                    return null;
+                }
+            }
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            return new long[] {start, Math.min(end, size - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
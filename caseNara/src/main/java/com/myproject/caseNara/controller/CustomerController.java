@@ -2,9 +2,12 @@ package com.myproject.caseNara.controller;
 
 import com.myproject.caseNara.model.Customer;
 import com.myproject.caseNara.service.CustomerService;
+import com.myproject.caseNara.service.ReferenceTable;
+import com.myproject.caseNara.service.ReferenceVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -16,12 +19,19 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
-    // 고객(거래처) 목록 조회
+    @Autowired
+    private ReferenceVersionService referenceVersionService;
+
+    // 고객(거래처) 목록 조회 (If-None-Match 일치 시 304)
     @GetMapping
-    public ResponseEntity<?> getAllCustomers() {
+    public ResponseEntity<?> getAllCustomers(WebRequest request) {
         try {
+            String etag = referenceVersionService.etag(ReferenceTable.CUSTOMERS);
+            if (EtagSupport.matches(request, etag)) {
+                return EtagSupport.notModified(etag);
+            }
             List<Customer> customers = customerService.getAllCustomers();
-            return ResponseEntity.ok(Map.of(
+            return EtagSupport.ok(etag, Map.of(
                 "success", true,
                 "customers", customers
             ));
@@ -138,6 +148,20 @@ public class CustomerController {
         }
     }
 
+    // 추천 상품 주문 횟수 재집계 (SALES 기준)
+    @PostMapping("/top-products/rebuild")
+    public ResponseEntity<?> rebuildTopProducts() {
+        try {
+            int customers = customerService.rebuildTopProducts();
+            return ResponseEntity.ok(Map.of("success", true, "customers", customers));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
 
     // 상호명 중복 검사
     @GetMapping("/check-duplicate")
@@ -0,0 +1,50 @@
+package com.myproject.caseNara.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 기준 정보 조회 API의 ETag/304 응답 도우미입니다.
+ * 본문을 만들기 전에 If-None-Match를 확인해 변경이 없으면 조회 자체를 건너뜁니다.
+ * 응답은 no-cache로 내려 브라우저가 매번 ETag로 재검증하게 합니다.
+ */
+final class EtagSupport {
+
+    private EtagSupport() {
+    }
+
+    // If-None-Match에 etag(또는 *)가 있으면 true (약한 비교: W/ 접두어 무시)
+    static boolean matches(WebRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
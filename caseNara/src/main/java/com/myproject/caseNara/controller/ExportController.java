@@ -0,0 +1,114 @@
+package com.myproject.caseNara.controller;
+
+import com.myproject.caseNara.service.DateRange;
+import com.myproject.caseNara.service.ExportService;
+import com.myproject.caseNara.service.ExportService.Format;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * 판매 항목 내보내기 (format=csv|xlsx, 기본 csv)
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<?> exportSales(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String format) {
+        try {
+            DateRange range = resolveRange(startDate, endDate);
+            Format fmt = Format.of(format);
+            StreamingResponseBody body = out -> exportService.exportSales(range, fmt, out);
+            return attachment("sales", range, fmt, body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 청구서 내보내기 (format=csv|xlsx, 기본 csv)
+     */
+    @GetMapping("/bills")
+    public ResponseEntity<?> exportBills(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String format) {
+        try {
+            DateRange range = resolveRange(startDate, endDate);
+            Format fmt = Format.of(format);
+            StreamingResponseBody body = out -> exportService.exportBills(range, fmt, out);
+            return attachment("bills", range, fmt, body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 청구서-판매 매핑 내보내기 (format=csv|xlsx, 기본 csv)
+     */
+    @GetMapping("/bill-sales")
+    public ResponseEntity<?> exportBillSales(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String format) {
+        try {
+            DateRange range = resolveRange(startDate, endDate);
+            Format fmt = Format.of(format);
+            StreamingResponseBody body = out -> exportService.exportBillSales(range, fmt, out);
+            return attachment("bill_sales", range, fmt, body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    // 스트리밍 시작 전에 기간을 검증 (응답이 시작된 뒤에는 400으로 바꿀 수 없음)
+    private static DateRange resolveRange(String startDate, String endDate) {
+        if (startDate == null && endDate == null) {
+            String today = LocalDate.now(ZoneId.of("Asia/Seoul")).toString();
+            return DateRange.ofDays(today, today);
+        }
+        return DateRange.ofDays(startDate, endDate);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, DateRange range, Format format,
+                                                                    StreamingResponseBody body) {
+        String fileName = name + "_" + FILE_DATE.format(range.startAt())
+                + "_" + FILE_DATE.format(range.endAt().minusDays(1)) + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString())
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+}
@@ -0,0 +1,104 @@
+package com.myproject.caseNara.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 재시작 없이 로그 레벨을 조회/변경합니다. 로그인한 사용자만 사용할 수 있습니다.
+ * 변경은 이 인스턴스의 메모리에만 적용되고 재시작하면 설정 파일 값으로 돌아갑니다.
+ */
+@RestController
+@RequestMapping("/api/admin/log-levels")
+public class LogLevelController {
+
+    private static final Logger log = LoggerFactory.getLogger(LogLevelController.class);
+
+    private final LoggingSystem loggingSystem;
+
+    public LogLevelController(LoggingSystem loggingSystem) {
+        this.loggingSystem = loggingSystem;
+    }
+
+    // 레벨이 직접 지정된 로거 목록 (상속받은 로거 제외)
+    @GetMapping
+    public ResponseEntity<?> list(HttpServletRequest request) {
+        String userId = loginUser(request);
+        if (userId == null) {
+            return unauthorized();
+        }
+        List<Map<String, Object>> loggers = new ArrayList<>();
+        for (LoggerConfiguration config : loggingSystem.getLoggerConfigurations()) {
+            if (config.getConfiguredLevel() != null) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("logger", config.getName());
+                row.put("level", config.getConfiguredLevel().name());
+                loggers.add(row);
+            }
+        }
+        return ResponseEntity.ok(Map.of("success", true, "loggers", loggers));
+    }
+
+    /**
+     * 로거 레벨 변경: {"logger": "org.springframework.web", "level": "DEBUG"}
+     * level을 비우면 지정을 해제하여 상위 로거의 레벨을 따릅니다. logger가 ROOT이면 전체 기본 레벨입니다.
+     */
+    @PutMapping
+    public ResponseEntity<?> change(@RequestBody Map<String, String> body, HttpServletRequest request) {
+        String userId = loginUser(request);
+        if (userId == null) {
+            return unauthorized();
+        }
+        try {
+            String logger = body.get("logger");
+            if (logger == null || logger.isBlank()) {
+                throw new IllegalArgumentException("logger가 필요합니다.");
+            }
+            String levelName = body.get("level");
+            LogLevel level = (levelName == null || levelName.isBlank())
+                    ? null
+                    : LogLevel.valueOf(levelName.trim().toUpperCase(Locale.ROOT));
+            LoggerConfiguration before = loggingSystem.getLoggerConfiguration(logger);
+            loggingSystem.setLogLevel(logger, level);
+            log.warn("로그 레벨 변경 {}: {} -> {} (사용자 {})", logger,
+                    before != null ? before.getEffectiveLevel() : null, level != null ? level : "상속", userId);
+            return ResponseEntity.ok(Map.of("success", true));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "로그 레벨 변경 중 오류가 발생했습니다"
+            ));
+        }
+    }
+
+    // AccountController 로그인 시 세션에 저장한 사용자 ID
+    private static String loginUser(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        Object userId = session != null ? session.getAttribute("userId") : null;
+        return userId != null ? userId.toString() : null;
+    }
+
+    private static ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of(
+                "success", false,
+                "message", "로그인이 필요합니다."
+        ));
+    }
+}
@@ -1,12 +1,20 @@
 package com.myproject.caseNara.controller;
 
+import com.myproject.caseNara.config.SqlBudget;
+import com.myproject.caseNara.service.AutocompleteIndex;
 import com.myproject.caseNara.service.LookupService;
+import com.myproject.caseNara.service.ReferenceTable;
+import com.myproject.caseNara.service.ReferenceVersionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -14,18 +22,67 @@ import java.util.Map;
 public class LookupController {
 
     private final LookupService lookupService;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ReferenceVersionService referenceVersionService;
 
-    public LookupController(LookupService lookupService) {
+    public LookupController(LookupService lookupService, AutocompleteIndex autocompleteIndex,
+                            ReferenceVersionService referenceVersionService) {
         this.lookupService = lookupService;
+        this.autocompleteIndex = autocompleteIndex;
+        this.referenceVersionService = referenceVersionService;
     }
 
+    // 고객 상호명/상품 목록 (since 지정 시 그 버전 이후 변경분만, If-None-Match 일치 시 304)
     @GetMapping("/bootstrap")
-    public ResponseEntity<?> bootstrap() {
-        return ResponseEntity.ok(Map.of(
-                "success", true,
-                "customers", lookupService.getAllCustomerNames(),
-                "products", lookupService.getAllProduct()
-        ));
+    @SqlBudget(statements = 6) // 캐시 적중 시 0, 변경 이력 조회/캐시 적재 시에만 실행
+    public ResponseEntity<?> bootstrap(@RequestParam(value = "since", required = false) Long since,
+                                       WebRequest request) {
+        try {
+            String etag = referenceVersionService.etag(ReferenceTable.CUSTOMERS, ReferenceTable.PRODUCTS);
+            if (EtagSupport.matches(request, etag)) {
+                return EtagSupport.notModified(etag);
+            }
+            return EtagSupport.ok(etag, lookupService.getBootstrap(since));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    // 상호명/상품명 자동완성 (type: customer | product, 미지정 시 둘 다)
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam("q") String q,
+                                     @RequestParam(value = "type", required = false) String type,
+                                     @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            if (type != null && !type.equals("customer") && !type.equals("product")) {
+                throw new IllegalArgumentException("type은 customer 또는 product만 가능합니다.");
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("success", true);
+            if (type == null || type.equals("customer")) {
+                List<String> customers = autocompleteIndex.suggestCustomers(q, limit);
+                body.put("customers", customers);
+            }
+            if (type == null || type.equals("product")) {
+                List<String> products = autocompleteIndex.suggestProducts(q, limit);
+                body.put("products", products);
+            }
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    // 조회 캐시별 적중/실패/적재 시간 통계
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> cacheStats() {
+        return ResponseEntity.ok(Map.of("success", true, "caches", lookupService.getCacheStats()));
     }
 
     @PostMapping("/refresh")
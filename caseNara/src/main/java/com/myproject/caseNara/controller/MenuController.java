@@ -2,9 +2,13 @@ package com.myproject.caseNara.controller;
 
 import com.myproject.caseNara.mapper.MenuMapper;
 import com.myproject.caseNara.model.Menu;
+import com.myproject.caseNara.service.CatalogCache;
+import com.myproject.caseNara.service.ReferenceTable;
+import com.myproject.caseNara.service.ReferenceVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -16,12 +20,22 @@ public class MenuController {
     @Autowired
     private MenuMapper menuMapper;
 
-    // 모든 메뉴 조회
+    @Autowired
+    private ReferenceVersionService referenceVersionService;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    // 모든 메뉴 조회 (If-None-Match 일치 시 304, 메뉴를 DB에서 바꾼 경우 POST /api/lookup/refresh 로 버전을 올림)
     @GetMapping
-    public ResponseEntity<List<Menu>> getAllMenus() {
+    public ResponseEntity<?> getAllMenus(WebRequest request) {
         try {
-            List<Menu> menus = menuMapper.getAllMenus();
-            return ResponseEntity.ok(menus);
+            String etag = referenceVersionService.etag(ReferenceTable.MENUS);
+            if (EtagSupport.matches(request, etag)) {
+                return EtagSupport.notModified(etag);
+            }
+            List<Menu> menus = catalogCache.menus();
+            return EtagSupport.ok(etag, menus);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
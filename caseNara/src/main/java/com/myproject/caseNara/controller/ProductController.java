@@ -2,12 +2,16 @@ package com.myproject.caseNara.controller;
 
 import com.myproject.caseNara.model.Product;
 import com.myproject.caseNara.service.ProductService;
+import com.myproject.caseNara.service.ReferenceTable;
+import com.myproject.caseNara.service.ReferenceVersionService;
+import com.myproject.caseNara.service.UploadGarbageCollector;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -21,6 +25,12 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ReferenceVersionService referenceVersionService;
+
+    @Autowired
+    private UploadGarbageCollector uploadGarbageCollector;
+
     // 상품 이미지 업로드
     @PostMapping(value = "/upload-image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<?> uploadProductImage(@RequestPart("image") MultipartFile image) {
@@ -62,12 +72,16 @@ public class ProductController {
         }
     }
 
-    // 모든 상품 조회
+    // 모든 상품 조회 (If-None-Match 일치 시 304)
     @GetMapping
-    public ResponseEntity<?> getAllProducts() {
+    public ResponseEntity<?> getAllProducts(WebRequest request) {
         try {
+            String etag = referenceVersionService.etag(ReferenceTable.PRODUCTS);
+            if (EtagSupport.matches(request, etag)) {
+                return EtagSupport.notModified(etag);
+            }
             List<Product> products = productService.getAllProducts();
-            return ResponseEntity.ok(Map.of("success", true, "products", products));
+            return EtagSupport.ok(etag, Map.of("success", true, "products", products));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
         }
@@ -135,14 +149,50 @@ public class ProductController {
         }
     }
 
-    // 로컬 업로드 폴더의 고아 파일 정리
+    // 기존 업로드 이미지를 내용 주소 저장소로 이전
+    @PostMapping("/images/migrate")
+    public ResponseEntity<?> migrateImages() {
+        try {
+            ProductService.ImageMigrationResult result = productService.migrateImagesToContentStore();
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "migratedCount", result.migrated(),
+                "missingCount", result.missing()
+            ));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "success", false,
+                "message", "이미지 이전 실패: " + e.getMessage()
+            ));
+        }
+    }
+
+    // 기존 상품 이미지의 썸네일/중간 크기 변환본 일괄 생성
+    @PostMapping("/image-variants/backfill")
+    public ResponseEntity<?> backfillImageVariants() {
+        try {
+            int processedCount = productService.backfillImageVariants();
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "processedCount", processedCount
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
+                "success", false,
+                "message", "이미지 변환 실패: " + e.getMessage()
+            ));
+        }
+    }
+
+    // 로컬 업로드 폴더의 고아 파일 정리 (dryRun=true면 삭제 대상만 보고)
     @PostMapping("/cleanup-orphan-uploads")
-    public ResponseEntity<?> cleanupOrphanUploads() {
+    public ResponseEntity<?> cleanupOrphanUploads(@RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
         try {
-            int deletedCount = productService.cleanupUnmappedLocalUploads();
+            UploadGarbageCollector.Report report = uploadGarbageCollector.collect(dryRun);
             return ResponseEntity.ok(Map.of(
                 "success", true,
-                "deletedCount", deletedCount
+                "deletedCount", report.deleted(),
+                "report", report
             ));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of(
@@ -0,0 +1,91 @@
+package com.myproject.caseNara.controller;
+
+import com.myproject.caseNara.service.ReceivableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/receivables")
+public class ReceivableController {
+
+    @Autowired
+    private ReceivableService receivableService;
+
+    /**
+     * 미수 잔액이 있는 전체 고객의 미수 총액/청구서 수/가장 오래된 미수 일자
+     */
+    @GetMapping
+    public ResponseEntity<?> listBalances() {
+        try {
+            List<Map<String, Object>> balances = receivableService.listBalances();
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "balances", balances
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 특정 고객의 미수 잔액 (집계된 적이 없으면 balance는 null)
+     */
+    @GetMapping("/{customerId}")
+    public ResponseEntity<?> getBalance(@PathVariable Long customerId) {
+        try {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", true);
+            body.put("balance", receivableService.getBalance(customerId));
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 경과일 구간(0-30/31-60/61-90/90+)별 고객 미수 잔액. asOf(yyyy-MM-dd) 미지정 시 오늘 기준
+     */
+    @GetMapping("/aging")
+    public ResponseEntity<?> getAging(@RequestParam(required = false) String asOf) {
+        try {
+            Map<String, Object> body = new HashMap<>(receivableService.getAging(asOf));
+            body.put("success", true);
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 미수 집계를 BILLS 기준으로 전체 재적재
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        try {
+            int customers = receivableService.rebuild();
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "customers", customers
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+}
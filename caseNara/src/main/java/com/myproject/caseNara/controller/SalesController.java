@@ -1,9 +1,16 @@
 package com.myproject.caseNara.controller;
 
+import com.myproject.caseNara.config.SqlBudget;
+import com.myproject.caseNara.model.CursorPage;
 import com.myproject.caseNara.model.Sale;
+import com.myproject.caseNara.service.OpenOrderIndex;
 import com.myproject.caseNara.service.SalesService;
+import com.myproject.caseNara.service.SalesService.BatchOrderResult;
 import com.myproject.caseNara.service.SalesService.OrderRequest;
+import com.myproject.caseNara.service.SalesService.OrderSnapshot;
+import com.myproject.caseNara.service.SalesService.OrderVersionConflictException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,7 +26,11 @@ public class SalesController {
     @Autowired
     private SalesService salesService;
 
+    @Autowired
+    private OpenOrderIndex openOrderIndex;
+
     @PostMapping
+    @SqlBudget(repeats = 2) // 항목 수와 관계없이 고정 (ID 시퀀스 행 초기화 시 잠금 조회 2회)
     public ResponseEntity<?> createOrder(@RequestBody OrderRequest request) {
         try {
             int inserted = salesService.createOrder(request);
@@ -32,33 +43,93 @@ public class SalesController {
             ));
         }
     }
+
+    /**
+     * 여러 고객의 주문을 한 번에 등록합니다 (마감 시 일괄 입력용).
+     * 주문별 성공/실패 결과와 처리량(초당 항목 수)을 함께 반환합니다.
+     */
+    @PostMapping("/batch")
+    @SqlBudget(repeats = 4) // 집합 단위 구문 (항목 upsert는 500행, ID 블록 예약은 50건 단위로만 반복)
+    public ResponseEntity<?> createOrders(@RequestBody List<OrderRequest> requests) {
+        try {
+            BatchOrderResult result = salesService.createOrders(requests);
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "results", result.results(),
+                "totalLines", result.totalLines(),
+                "elapsedMs", result.elapsedMs(),
+                "linesPerSecond", result.linesPerSecond()
+            ));
+        } catch (Exception e) {
+            String errorMessage = e.getMessage() != null ? e.getMessage() : "대량 주문 등록 중 오류가 발생했습니다";
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", errorMessage
+            ));
+        }
+    }
     
+    /**
+     * 판매 목록 조회. limit을 지정하면 키셋 페이지({rows, next})로, 지정하지 않으면 전체 목록으로 응답합니다.
+     * 다음 페이지는 응답의 next 값을 cursor로 전달하여 조회합니다.
+     */
     @GetMapping
-    public ResponseEntity<List<Sale>> listSales(
+    public ResponseEntity<?> listSales(
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         // 날짜가 지정되지 않은 경우 한국 시간 기준 오늘 날짜를 기본값으로 사용
         if (startDate == null && endDate == null) {
             LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
             startDate = today.toString();
             endDate = today.toString();
         }
-        return ResponseEntity.ok(salesService.listSales(startDate, endDate));
+        if (limit == null) {
+            return ResponseEntity.ok(salesService.listSales(startDate, endDate));
+        }
+        try {
+            CursorPage<Sale> page = salesService.listSalesPage(startDate, endDate, cursor, limit);
+            Map<String, Object> body = new java.util.HashMap<>();
+            body.put("success", true);
+            body.put("rows", page.getRows());
+            body.put("next", page.getNext());
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            String errorMessage = e.getMessage() != null ? e.getMessage() : "판매 목록 조회 중 오류가 발생했습니다";
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", errorMessage
+            ));
+        }
     }
 
 
     @GetMapping("/byId/{saleId}")
+    @SqlBudget(statements = 1)
     public ResponseEntity<List<Sale>> getOrderById(@PathVariable Long saleId) {
         return ResponseEntity.ok(salesService.findSalesById(saleId));
     }
 
+    /**
+     * 주문 수정. 본문의 version은 /byId 로 읽은 항목의 version(주문 버전)이며, items는 주문 전체의 최종 상태입니다.
+     * 성공하면 새 version을 돌려주므로 이어서 수정할 때 다시 조회하지 않아도 됩니다.
+     * 그 사이 다른 수정이 먼저 반영되었으면 409, version이 없으면 428과 함께 현재 주문(version, items)을 돌려줍니다.
+     * 클라이언트는 돌려받은 items에 변경을 다시 적용해 새 version으로 재시도합니다.
+     */
     @PutMapping("/{saleId}")
     public ResponseEntity<?> updateOrder(
             @PathVariable Long saleId,
             @RequestBody OrderRequest request) {
         try {
-            salesService.updateOrder(saleId, request);
-            return ResponseEntity.ok(Map.of("success", true));
+            if (request != null && request.version() == null) {
+                return currentOrder(HttpStatus.PRECONDITION_REQUIRED, saleId,
+                        "주문 버전(version)이 필요합니다. 주문을 다시 불러온 뒤 저장하세요.");
+            }
+            long version = salesService.updateOrder(saleId, request);
+            return ResponseEntity.ok(Map.of("success", true, "version", version));
+        } catch (OrderVersionConflictException e) {
+            return currentOrder(HttpStatus.CONFLICT, saleId, e.getMessage());
         } catch (Exception e) {
             String errorMessage = e.getMessage() != null ? e.getMessage() : "주문 수정 중 오류가 발생했습니다";
             return ResponseEntity.badRequest().body(Map.of(
@@ -68,6 +139,18 @@ public class SalesController {
         }
     }
 
+    // 수정이 거절된 주문의 현재 상태 (수정 트랜잭션이 롤백된 뒤 새로 조회)
+    private ResponseEntity<?> currentOrder(HttpStatus status, Long saleId, String message) {
+        OrderSnapshot current = salesService.getOrderSnapshot(saleId);
+        return ResponseEntity.status(status).body(Map.of(
+            "success", false,
+            "conflict", status == HttpStatus.CONFLICT,
+            "message", message,
+            "version", current.version(),
+            "items", current.items()
+        ));
+    }
+
     @PutMapping("/bill-status/reset/{saleId}")
     public ResponseEntity<?> resetBillStatus(@PathVariable Long saleId) {
         try {
@@ -97,4 +180,45 @@ public class SalesController {
             ));
         }
     }
+
+    /**
+     * 열린 주문 인덱스와 DB의 열린 주문을 비교합니다.
+     */
+    @GetMapping("/open-orders/verify")
+    public ResponseEntity<?> verifyOpenOrders() {
+        try {
+            OpenOrderIndex.ConsistencyReport report = openOrderIndex.verify();
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "consistent", report.isConsistent(),
+                "indexed", report.indexed(),
+                "database", report.database(),
+                "missing", report.missing(),
+                "stale", report.stale()
+            ));
+        } catch (Exception e) {
+            String errorMessage = e.getMessage() != null ? e.getMessage() : "열린 주문 인덱스 점검 중 오류가 발생했습니다";
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", errorMessage
+            ));
+        }
+    }
+
+    /**
+     * 열린 주문 인덱스를 DB 기준으로 다시 적재합니다.
+     */
+    @PostMapping("/open-orders/rebuild")
+    public ResponseEntity<?> rebuildOpenOrders() {
+        try {
+            int size = openOrderIndex.rebuild();
+            return ResponseEntity.ok(Map.of("success", true, "size", size));
+        } catch (Exception e) {
+            String errorMessage = e.getMessage() != null ? e.getMessage() : "열린 주문 인덱스 재적재 중 오류가 발생했습니다";
+            return ResponseEntity.badRequest().body(Map.of(
+                "success", false,
+                "message", errorMessage
+            ));
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package com.myproject.caseNara.controller;
+
+import com.myproject.caseNara.service.SalesRollupService;
+import com.myproject.caseNara.service.SalesRollupService.VerifyResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/sales/rollup")
+public class SalesRollupController {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    /**
+     * 기간 요약 (일자별/고객별/상품별 수량, 금액, 항목 수). 날짜 미지정 시 한국 시간 기준 오늘
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<?> summary(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) String groupBy,
+            @RequestParam(required = false) Long customerId) {
+        try {
+            if (startDate == null && endDate == null) {
+                LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
+                startDate = today.toString();
+                endDate = today.toString();
+            }
+            List<Map<String, Object>> rows = salesRollupService.summary(startDate, endDate, groupBy, customerId);
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "rows", rows
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 기존 판매 데이터로 집계 채우기 (날짜 미지정 시 전체 기간, 하루 단위 커밋)
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<?> backfill(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        try {
+            int days = salesRollupService.backfill(startDate, endDate);
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "days", days
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 집계 재생성 후 SALES 원본과 일자별 합계 비교
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        try {
+            return ResponseEntity.ok(toBody(salesRollupService.rebuildAndVerify(startDate, endDate)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    /**
+     * 집계와 SALES 원본의 일자별 합계 비교 (재생성 없이)
+     */
+    @GetMapping("/verify")
+    public ResponseEntity<?> verify(
+            @RequestParam(required = false) String startDate,
+            @RequestParam(required = false) String endDate) {
+        try {
+            return ResponseEntity.ok(toBody(salesRollupService.verify(startDate, endDate)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage() != null ? e.getMessage() : "Unknown error"
+            ));
+        }
+    }
+
+    private static Map<String, Object> toBody(VerifyResult result) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("consistent", result.isConsistent());
+        body.put("startDate", result.startDate());
+        body.put("endDate", result.endDate());
+        body.put("days", result.days());
+        body.put("mismatchedDays", result.mismatchedDays());
+        return body;
+    }
+}
@@ -4,7 +4,9 @@ import com.myproject.caseNara.model.Bill;
 import com.myproject.caseNara.model.BillWithSales;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -17,11 +19,21 @@ public interface BillMapper {
     int insertBillSales(@Param("billId") Long billId, @Param("salesIds") List<Long> salesIds);
     List<BillWithSales> listBillsWithSales();
     List<Long> listSalesIdsByBillId(@Param("billId") Long billId);
-    List<Map<String, Object>> listBills(@Param("startDate") String startDate, @Param("endDate") String endDate);
+    List<Map<String, Object>> listBills(@Param("startAt") LocalDateTime startAt, @Param("endAt") LocalDateTime endAt);
+    // Bill 목록 키셋 페이지 조회: (CREATED_AT, BILL_ID) 내림차순으로 before* 다음 행부터 limit건
+    List<Map<String, Object>> listBillsPage(@Param("startAt") LocalDateTime startAt,
+                                            @Param("endAt") LocalDateTime endAt,
+                                            @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                            @Param("beforeBillId") Long beforeBillId,
+                                            @Param("limit") int limit);
+    // 내보내기용 스트리밍 조회 (트랜잭션 안에서 한 행씩 읽음)
+    Cursor<Map<String, Object>> streamBills(@Param("startAt") LocalDateTime startAt, @Param("endAt") LocalDateTime endAt);
+    Cursor<Map<String, Object>> streamBillSales(@Param("startAt") LocalDateTime startAt, @Param("endAt") LocalDateTime endAt);
     int applyReceive(@Param("billId") Long billId, @Param("amount") Integer amount);
     int settleBill(@Param("billId") Long billId);
     int rollbackBill(@Param("billId") Long billId);
     Long findBillIdBySaleId(Long saleId);
+    Long findCustomerIdByBillId(@Param("billId") Long billId);
     void deleteBillByBillId(Long billId);
     void deleteBillBySaleId(Long saleId);
     void deleteBillSalesByBillId(@Param("billId") Long billId);
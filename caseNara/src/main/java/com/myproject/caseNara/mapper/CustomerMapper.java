@@ -13,6 +13,9 @@ public interface CustomerMapper {
     Customer getCustomerById(Long customerId);
     
     Customer findByCompanyName(String companyName);
+
+    // 상호명 목록으로 고객 일괄 조회 (대량 주문 등록용)
+    List<Customer> findByCompanyNames(@Param("companyNames") List<String> companyNames);
     
     int insertCustomer(Customer customer);
     
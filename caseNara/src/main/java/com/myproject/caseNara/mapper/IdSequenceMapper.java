@@ -0,0 +1,18 @@
+package com.myproject.caseNara.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface IdSequenceMapper {
+    // 시퀀스 행 잠금 후 다음 값 조회 (SELECT ... FOR UPDATE)
+    Long lockNextValue(@Param("seqName") String seqName);
+
+    // 잠근 시퀀스 행을 blockSize 만큼 전진
+    int advance(@Param("seqName") String seqName, @Param("blockSize") int blockSize);
+
+    // 시퀀스 행이 없을 때 대상 테이블의 MAX + 1로 초기화
+    int insertSequenceIfAbsent(@Param("seqName") String seqName,
+                               @Param("tableName") String tableName,
+                               @Param("columnName") String columnName);
+}
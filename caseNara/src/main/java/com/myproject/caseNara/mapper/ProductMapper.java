@@ -3,6 +3,7 @@ package com.myproject.caseNara.mapper;
 import com.myproject.caseNara.model.Product;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.util.List;
 
@@ -12,9 +13,17 @@ public interface ProductMapper {
     List<Product> getAllProducts();
     Product getProductById(Long productId);
     Product getProductByName(String productName);
+    List<Product> getProductsByNames(@Param("productNames") List<String> productNames);
     List<String> listProductNamesLike(@Param("query") String query);
     List<String> listAllProductNames();
-    List<String> listAllImageUrls();
+    Cursor<String> streamImageUrls();
+    List<String> listImageUrlsWithoutVariants();
+    List<String> listLegacyImageUrls();
+    int updateImageUrl(@Param("productId") Long productId, @Param("imageUrl") String imageUrl);
+    List<Product> listProductsByImageUrl(@Param("imageUrl") String imageUrl);
+    int updateImageVariants(@Param("productId") Long productId,
+                            @Param("thumbnailUrl") String thumbnailUrl,
+                            @Param("mediumUrl") String mediumUrl);
     int deleteProduct(Long productId);
     int updateProduct(Product product);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.myproject.caseNara.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface ReceivableMapper {
+    // 고객/청구일자별 미수 잔액 삭제 후 BILLS 기준으로 다시 적재 (customerId가 null이면 전체)
+    int deleteDaily(@Param("customerId") Long customerId);
+    int insertDailyFromBills(@Param("customerId") Long customerId);
+
+    // 고객별 미수 총액을 일자별 잔액에서 갱신
+    int upsertBalance(@Param("customerId") Long customerId);
+
+    // 전체 재적재용
+    int deleteAllBalances();
+    int insertAllBalances();
+
+    // 미수 잔액이 있는 고객 목록 (미수 총액 내림차순)
+    List<Map<String, Object>> listBalances();
+    Map<String, Object> findBalance(@Param("customerId") Long customerId);
+
+    // 기준일 대비 경과일 구간(0-30/31-60/61-90/90+)별 고객 미수 잔액
+    List<Map<String, Object>> listAging(@Param("asOf") LocalDate asOf);
+}
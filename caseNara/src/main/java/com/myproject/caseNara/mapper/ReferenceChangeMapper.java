@@ -0,0 +1,26 @@
+package com.myproject.caseNara.mapper;
+
+import com.myproject.caseNara.model.ReferenceChange;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface ReferenceChangeMapper {
+    // 변경 이력 추가 (changeId는 호출 측에서 발급)
+    int insertChange(ReferenceChange change);
+
+    // 테이블별 최신 CHANGE_ID (tableName, changeId만 채움)
+    List<ReferenceChange> listLatestVersions();
+
+    // 테이블에 남아 있는 가장 오래된 CHANGE_ID (이력이 없으면 null)
+    Long findOldestChangeId(@Param("tableName") String tableName);
+
+    // 테이블의 sinceId 이후 변경 이력
+    List<ReferenceChange> listChangesSince(@Param("tableName") String tableName, @Param("sinceId") long sinceId);
+
+    // 기준 시각 이전 이력 삭제 (테이블별 최신 이력은 버전 유지를 위해 남김)
+    int deleteChangesBefore(@Param("before") LocalDateTime before);
+}
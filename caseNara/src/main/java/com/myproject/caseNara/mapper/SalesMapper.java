@@ -1,67 +1,94 @@
 package com.myproject.caseNara.mapper;
 
+import com.myproject.caseNara.model.NameFrequency;
 import com.myproject.caseNara.model.Sale;
+import com.myproject.caseNara.model.SaleMerge;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Mapper
 public interface SalesMapper {
-    int insertSale(Sale sale);
     List<String> listTopProductNamesByCompanyName(@Param("companyName") String companyName);
     
     // 판매 목록 조회 (날짜 기준)
-    List<Sale> listSales(@Param("startDate") String startDate, @Param("endDate") String endDate);
+    // 일자 조건은 [startAt, endAt) 반개구간 (DateRange)
+    List<Sale> listSales(@Param("startAt") LocalDateTime startAt, @Param("endAt") LocalDateTime endAt);
+
+    // 내보내기용 판매 목록 스트리밍 조회 (트랜잭션 안에서 한 행씩 읽음)
+    Cursor<Sale> streamSales(@Param("startAt") LocalDateTime startAt, @Param("endAt") LocalDateTime endAt);
+
+    // 판매 목록 키셋 페이지 조회: (SALE_AT, SALE_ID, PRODUCT_ID) 순서로 after* 다음 행부터 limit건
+    List<Sale> listSalesPage(@Param("startAt") LocalDateTime startAt,
+                             @Param("endAt") LocalDateTime endAt,
+                             @Param("afterSaleAt") LocalDateTime afterSaleAt,
+                             @Param("afterSaleId") Long afterSaleId,
+                             @Param("afterProductId") Long afterProductId,
+                             @Param("limit") int limit);
     
-    // 동일 날짜/고객/상품에 대한 주문 조회
+    // 동일 날짜/고객/상품에 대한 주문 조회 ([dayStart, dayEnd) 하루 범위)
     Sale findExistingSale(@Param("customerId") Long customerId, 
                          @Param("productId") Long productId, 
-                         @Param("saleAt") LocalDateTime saleAt);
-
-    // 동일 날짜/고객의 열린 주문(SALE_ID) 조회 (bill_status=0)
-    Long findOpenSaleId(@Param("customerId") Long customerId, 
-                        @Param("saleAt") LocalDateTime saleAt);
+                         @Param("dayStart") LocalDateTime dayStart,
+                         @Param("dayEnd") LocalDateTime dayEnd);
 
-    // 대상 제외 동일 날짜/고객의 다른 열린 주문(SALE_ID들) 조회
-    List<Long> findOtherOpenSaleIds(@Param("customerId") Long customerId,
-                                    @Param("saleAt") LocalDateTime saleAt,
-                                    @Param("excludeSaleId") Long excludeSaleId);
+    // 전체 열린 주문(SALE_ID, 고객, 판매일시) 조회 (열린 주문 인덱스 적재/점검용)
+    List<Sale> listOpenSaleIds();
 
     // 특정 SALE_ID의 활성 항목 조회
     List<Sale> listActiveItemsBySaleId(@Param("saleId") Long saleId);
 
+    // SALE_ID 목록의 활성 항목 (SALE_ID, PRODUCT_ID) 조회
+    List<Sale> listSaleProductsBySaleIds(@Param("saleIds") List<Long> saleIds);
+
+    // 기준 시각 이후 상호명별 주문 수 / 상품명별 주문 횟수 (자동완성 정렬용)
+    List<NameFrequency> listRecentCustomerFrequency(@Param("from") LocalDateTime from);
+    List<NameFrequency> listRecentProductFrequency(@Param("from") LocalDateTime from);
+
+    // 주문 항목 가산 upsert: 있으면 수량/금액 가산, 없거나 삭제된 항목이면 새 값으로 활성화
+    int upsertSaleLine(Sale sale);
+
+    // 주문 항목 가산 upsert 다건 (multi-row)
+    int upsertSaleLines(@Param("sales") List<Sale> sales);
+
+    // 주문 항목 지정 upsert: 수량/금액을 요청 값으로 설정
+    int setSaleLine(Sale sale);
+
     // 특정 SALE_ID의 모든 항목 소프트 삭제
     int softDeleteBySaleId(@Param("saleId") Long saleId);
     
-    // 기존 주문 수량 및 금액 업데이트
-    int updateSaleQuantity(@Param("saleId") Long saleId, 
-                          @Param("productId") Long productId,
-                          @Param("additionalQuantity") Integer additionalQuantity,
-                          @Param("additionalPrice") Integer additionalPrice);
-                          
     List<Sale> findSalesById(Long saleId);
 
-    // 기존 SALE_ID로 신규 항목 추가
-    int insertSaleWithId(Sale sale);
-
     // 특정 상품을 주문에서 삭제(소프트 삭제)
     int deleteSaleItem(@Param("saleId") Long saleId, @Param("productId") Long productId);
 
     // 동일 SALE_ID의 모든 항목 주문일자 업데이트
     int updateSaleDateBySaleId(@Param("saleId") Long saleId, @Param("saleAt") LocalDateTime saleAt);
 
-    // 중복 병합: 활성 레코드 집계 후 대표 행 업데이트
-    java.util.Map<String, java.math.BigDecimal> sumActiveSaleProduct(@Param("saleId") Long saleId, @Param("productId") Long productId);
-    int updateCanonicalRowWithAggregates(@Param("saleId") Long saleId, @Param("productId") Long productId, @Param("totalQty") Integer totalQty, @Param("totalPrice") Integer totalPrice);
+    void updateBillSatatus(Long salesId);
+    void resetBillStatusBySaleIds(@Param("salesIds") List<Long> salesIds);
 
-    // 중복 활성 레코드 하드 삭제
-    int deleteOtherActiveDuplicates(@Param("saleId") Long saleId, @Param("productId") Long productId);
+    // SALE_ID 목록과 같은 고객/날짜의 열린 주문(SALE_ID, 고객, 판매일시) 조회
+    List<Sale> listOpenSaleHeadsSameDay(@Param("saleIds") List<Long> saleIds);
 
-    // 삭제된 레코드 하드 삭제
-    int deleteAllDeletedRowsForSaleProduct(@Param("saleId") Long saleId, @Param("productId") Long productId);
+    // 병합 매핑대로 source 활성 항목을 상품별 합산해 target에 반영 (INSERT ... SELECT ... GROUP BY)
+    int mergeSalesInto(@Param("merges") List<SaleMerge> merges);
 
-    void updateBillSatatus(Long salesId);
-    void resetBillStatusBySaleIds(@Param("salesIds") List<Long> salesIds);
+    // SALE_ID 목록의 모든 활성 항목 소프트 삭제
+    int softDeleteBySaleIds(@Param("saleIds") List<Long> saleIds);
+
+    // 주문 버전 조회 (행이 없으면 null, 버전 0으로 취급)
+    Long findSaleVersion(@Param("saleId") Long saleId);
+
+    // 주문 버전이 expected일 때만 +1 (갱신된 행 수가 1이면 성공, 0이면 다른 수정이 먼저 반영됨)
+    int compareAndBumpSaleVersion(@Param("saleId") Long saleId, @Param("expected") long expected);
+
+    // 버전 행이 없는 주문(버전 0)을 버전 1로 기록, 이미 있으면 무시 (삽입된 행 수가 1이면 성공)
+    int insertFirstSaleVersion(@Param("saleId") Long saleId);
+
+    // SALE_ID 목록의 주문 버전 +1 (행이 없으면 1로 생성)
+    int bumpSaleVersions(@Param("saleIds") List<Long> saleIds);
 }
\ No newline at end of file
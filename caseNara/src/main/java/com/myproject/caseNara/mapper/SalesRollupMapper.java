@@ -0,0 +1,34 @@
+package com.myproject.caseNara.mapper;
+
+import com.myproject.caseNara.model.SalesDayKey;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface SalesRollupMapper {
+    // (고객, 판매일자) 목록의 집계 행 삭제 후 SALES 기준으로 다시 적재
+    int deleteByKeys(@Param("keys") List<SalesDayKey> keys);
+    int insertByKeys(@Param("keys") List<SalesDayKey> keys);
+
+    // 판매일자 범위 [startDate, endDate) 집계 행 삭제 후 SALES 기준으로 다시 적재 (backfill/rebuild)
+    int deleteByRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    int insertByRange(@Param("startAt") LocalDateTime startAt, @Param("endAt") LocalDateTime endAt);
+
+    // SALES의 최초/최종 판매일시 (backfill 범위 기본값)
+    Map<String, Object> findSalesBounds();
+
+    // 일자별 합계 비교용: 집계 테이블 / SALES 원본
+    List<Map<String, Object>> listRollupDailyTotals(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    List<Map<String, Object>> listSalesDailyTotals(@Param("startAt") LocalDateTime startAt, @Param("endAt") LocalDateTime endAt);
+
+    // 요약 조회: groupBy = day | customer | product
+    List<Map<String, Object>> listSummary(@Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate,
+                                          @Param("groupBy") String groupBy,
+                                          @Param("customerId") Long customerId);
+}
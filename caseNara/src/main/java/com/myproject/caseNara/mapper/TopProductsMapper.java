@@ -0,0 +1,25 @@
+package com.myproject.caseNara.mapper;
+
+import com.myproject.caseNara.model.CustomerProductCount;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+@Mapper
+public interface TopProductsMapper {
+    // 고객/상품별 주문 횟수 증가 반영 (multi-row upsert)
+    int incrementCounts(@Param("deltas") List<CustomerProductCount> deltas);
+
+    // 고객/상품별 주문 횟수 감소 반영
+    int decrementCount(@Param("customerId") Long customerId,
+                       @Param("productId") Long productId,
+                       @Param("amount") int amount);
+
+    // 고객 목록(null이면 전체)의 주문 횟수 삭제 후 SALES 기준으로 다시 집계
+    int deleteCounts(@Param("customerIds") List<Long> customerIds);
+    int insertCountsFromSales(@Param("customerIds") List<Long> customerIds);
+
+    // 고객 목록(null이면 전체)의 주문 횟수 조회 (0보다 큰 행만)
+    List<CustomerProductCount> listCounts(@Param("customerIds") List<Long> customerIds);
+}
@@ -0,0 +1,16 @@
+package com.myproject.caseNara.model;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.AllArgsConstructor;
+
+/**
+ * 커서(키셋) 기반 페이지 조회 결과입니다.
+ * next는 다음 페이지 요청에 그대로 전달하는 불투명 커서이며, 마지막 페이지면 null입니다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> rows;
+    private String next;
+}
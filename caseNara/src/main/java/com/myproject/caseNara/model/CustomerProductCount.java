@@ -0,0 +1,19 @@
+package com.myproject.caseNara.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * 고객별 상품 주문 횟수. 증감 반영 시에는 orderCount가 증감분입니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerProductCount {
+    private Long customerId;
+    private Long productId;
+    private Integer orderCount;
+}
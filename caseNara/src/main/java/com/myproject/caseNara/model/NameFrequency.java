@@ -0,0 +1,16 @@
+package com.myproject.caseNara.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 이름(상호명/상품명)별 최근 주문 횟수. 자동완성 정렬에 사용합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class NameFrequency {
+    private String name;
+    private Integer frequency;
+}
@@ -18,6 +18,9 @@ public class Product {
     private Integer salePrice;
     private Integer costPrice;
     private String imageUrl;
+    // IMAGE_URL의 변환본 (ProductImageProcessor, 아직 만들어지지 않았으면 null)
+    private String thumbnailUrl;
+    private String mediumUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Boolean deleted;
@@ -0,0 +1,22 @@
+package com.myproject.caseNara.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기준 정보 변경 이력. rowKey가 null이면 테이블 전체 변경입니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceChange {
+    private Long changeId;
+    private String tableName;
+    private String rowKey;
+    private LocalDateTime changedAt;
+}
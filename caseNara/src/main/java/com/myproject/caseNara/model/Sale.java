@@ -23,6 +23,7 @@ public class Sale {
     private LocalDateTime updatedAt;
     private Integer deleted;
     private Integer billStatus;
+    private Long version;           // 주문 버전 (SALE_VERSIONS, 주문 수정 시 함께 보냄)
 
     // 주문 목록 표시를 위한 추가 필드
     private String customerName;    // 고객사 이름
@@ -0,0 +1,17 @@
+package com.myproject.caseNara.model;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.AllArgsConstructor;
+
+/**
+ * 열린 주문 병합 매핑: sourceSaleId의 활성 항목을 targetSaleId로 옮깁니다.
+ * saleAt은 대상 주문에 새로 추가되는 항목의 판매일시입니다.
+ */
+@Getter
+@AllArgsConstructor
+public class SaleMerge {
+    private Long sourceSaleId;
+    private Long targetSaleId;
+    private LocalDateTime saleAt;
+}
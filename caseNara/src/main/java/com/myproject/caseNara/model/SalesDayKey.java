@@ -0,0 +1,17 @@
+package com.myproject.caseNara.model;
+
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 일별 판매 집계 갱신 단위: (고객, 판매일자)
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SalesDayKey {
+    private Long customerId;
+    private LocalDate saleDate;
+}
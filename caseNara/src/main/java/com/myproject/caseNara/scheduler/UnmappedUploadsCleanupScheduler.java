@@ -1,6 +1,6 @@
 package com.myproject.caseNara.scheduler;
 
-import com.myproject.caseNara.service.ProductService;
+import com.myproject.caseNara.service.UploadGarbageCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -11,18 +11,18 @@ public class UnmappedUploadsCleanupScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(UnmappedUploadsCleanupScheduler.class);
 
-    private final ProductService productService;
+    private final UploadGarbageCollector uploadGarbageCollector;
 
-    public UnmappedUploadsCleanupScheduler(ProductService productService) {
-        this.productService = productService;
+    public UnmappedUploadsCleanupScheduler(UploadGarbageCollector uploadGarbageCollector) {
+        this.uploadGarbageCollector = uploadGarbageCollector;
     }
 
-    // 매일 오전 3시(Asia/Seoul 기준) 실행
+    // 매일 오전 3시(Asia/Seoul 기준) 실행. 시간 예산 안에서 끝내고 남은 샤드는 다음 실행이 이어감
     @Scheduled(cron = "0 0 3 * * *", zone = "Asia/Seoul")
     public void runDailyCleanup() {
         try {
-            int deleted = productService.cleanupUnmappedLocalUploads();
-            log.info("고아 업로드 정리 완료. 삭제된 파일 수: {}", deleted);
+            UploadGarbageCollector.Report report = uploadGarbageCollector.collect(false);
+            log.info("고아 업로드 정리 완료. 삭제된 파일 수: {}, 한 바퀴 완료: {}", report.deleted(), report.cycleComplete());
         } catch (Exception e) {
             log.error("고아 업로드 정리 실패: {}", e.getMessage(), e);
         }
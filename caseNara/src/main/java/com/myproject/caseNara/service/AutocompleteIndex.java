@@ -0,0 +1,415 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.config.WorkerThreads;
+import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.model.NameFrequency;
+import com.myproject.caseNara.model.Product;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 상호명/상품명 자동완성 인덱스입니다.
+ * LookupService가 캐시한 이름 목록으로 문자 1-gram/2-gram 역색인을 만들어 중간 일치 검색을 하고,
+ * 한글 초성(예: "ㅋㅇㅅ" → "케이스")으로도 찾습니다.
+ *
+ * 정렬은 앞부분 일치 우선, 그다음 최근 주문 빈도, 이름 순입니다. 빈도 순서대로 항목 번호를 매겨 두므로
+ * 역색인 목록을 앞에서부터 읽다가 limit개를 채우면 바로 멈춥니다.
+ * LookupService 캐시가 무효화되면(목록이 바뀌면) 다음 조회가 백그라운드 재생성을 요청하고, 새 인덱스가 준비될 때까지
+ * 이전 인덱스로 응답합니다(처음 한 번만 조회 스레드에서 만듦). 주문 빈도는 주기적으로 다시 읽어 인덱스를 미리 다시 만듭니다.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    // 주문 빈도 집계 기간
+    private static final int FREQUENCY_DAYS = 90;
+
+    public static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+
+    // 호환용 한글 자모의 초성 19자 (유니코드 음절 순서)
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+            'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private final LookupService lookupService;
+    private final SalesMapper salesMapper;
+
+    private final AtomicReference<Snapshot> customers = new AtomicReference<>();
+    private final AtomicReference<Snapshot> products = new AtomicReference<>();
+    private volatile Frequencies frequencies;
+
+    // 종류별로 재생성은 한 번에 하나만 요청 (수정이 몰려도 대기열에 쌓이지 않음)
+    private final AtomicBoolean customersRebuilding = new AtomicBoolean();
+    private final AtomicBoolean productsRebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor;
+
+    // 이름별 최근 주문 빈도
+    private static record Frequencies(Map<String, Integer> customers, Map<String, Integer> products) {}
+
+    // 한 종류(상호명 또는 상품명)의 인덱스. source/frequencies가 현재 값과 다르면 다시 만듦
+    private static record Snapshot(Object source, Frequencies frequencies, String[] names, GramIndex text, GramIndex choseong) {
+
+        List<String> search(String query, int limit) {
+            int[] ids = hasConsonantJamo(query)
+                    ? choseong.search(choseongKey(query), limit)
+                    : text.search(normalize(query), limit);
+            List<String> result = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                result.add(names[id]);
+            }
+            return result;
+        }
+    }
+
+    public AutocompleteIndex(LookupService lookupService, SalesMapper salesMapper, Environment environment) {
+        this.lookupService = lookupService;
+        this.salesMapper = salesMapper;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(WorkerThreads.factory(environment, "autocomplete-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * 애플리케이션 기동 완료 후 주문 빈도를 읽고 인덱스를 미리 만듭니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        refreshFrequencies();
+    }
+
+    /**
+     * 최근 주문 빈도를 다시 읽고 인덱스를 다시 만듭니다 (10분 간격).
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public void refreshFrequencies() {
+        try {
+            long started = System.nanoTime();
+            frequencies = loadFrequencies();
+            Snapshot c = buildCustomers();
+            customers.set(c);
+            Snapshot p = buildProducts();
+            products.set(p);
+            log.debug("자동완성 인덱스 갱신: 상호 {}건, 상품 {}건, {}ms",
+                    c.names().length, p.names().length, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.error("자동완성 인덱스 갱신 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 상호명 자동완성 후보를 반환합니다.
+     *
+     * @param query 검색어 (초성만 입력해도 됨)
+     * @param limit 최대 개수 (null이면 10, 최대 50)
+     */
+    public List<String> suggestCustomers(String query, Integer limit) {
+        String q = query == null ? "" : query.trim();
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        return customerSnapshot().search(q, normalizeLimit(limit));
+    }
+
+    /**
+     * 상품명 자동완성 후보를 반환합니다 (삭제되지 않은 상품만).
+     *
+     * @param query 검색어 (초성만 입력해도 됨)
+     * @param limit 최대 개수 (null이면 10, 최대 50)
+     */
+    public List<String> suggestProducts(String query, Integer limit) {
+        String q = query == null ? "" : query.trim();
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        return productSnapshot().search(q, normalizeLimit(limit));
+    }
+
+    private static int normalizeLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    private Snapshot customerSnapshot() {
+        return snapshot(customers, customersRebuilding, lookupService.getAllCustomerNames(), this::buildCustomers);
+    }
+
+    private Snapshot productSnapshot() {
+        return snapshot(products, productsRebuilding, lookupService.getAllProduct(), this::buildProducts);
+    }
+
+    // 목록/빈도가 바뀌었으면 백그라운드 재생성을 요청하고 현재 인덱스를 반환 (인덱스가 아직 없을 때만 직접 만듦)
+    private Snapshot snapshot(AtomicReference<Snapshot> ref, AtomicBoolean rebuilding, Object source, Supplier<Snapshot> builder) {
+        Snapshot current = ref.get();
+        if (current == null) {
+            synchronized (ref) {
+                current = ref.get();
+                if (current == null) {
+                    current = builder.get();
+                    ref.set(current);
+                }
+                return current;
+            }
+        }
+        if ((current.source() != source || current.frequencies() != currentFrequencies())
+                && rebuilding.compareAndSet(false, true)) {
+            try {
+                rebuildExecutor.execute(() -> {
+                    try {
+                        ref.set(builder.get());
+                    } catch (Exception e) {
+                        log.error("자동완성 인덱스 재생성 실패: {}", e.getMessage(), e);
+                    } finally {
+                        rebuilding.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                rebuilding.set(false);
+            }
+        }
+        return current;
+    }
+
+    // 재생성 시점의 최신 목록/빈도로 만듦 (요청 때 본 목록보다 그새 더 바뀌었을 수 있음)
+    private Snapshot buildCustomers() {
+        List<String> source = lookupService.getAllCustomerNames();
+        Frequencies freq = currentFrequencies();
+        return build(source, source, freq, freq.customers());
+    }
+
+    private Snapshot buildProducts() {
+        List<Product> source = lookupService.getAllProduct();
+        Frequencies freq = currentFrequencies();
+        List<String> names = new ArrayList<>(source.size());
+        for (Product product : source) {
+            names.add(product.getProductName());
+        }
+        return build(source, names, freq, freq.products());
+    }
+
+    // 기동 시 적재가 실패했거나 아직 끝나지 않은 경우 빈도 없이 시작 (다음 갱신 때 반영)
+    private Frequencies currentFrequencies() {
+        Frequencies current = frequencies;
+        if (current == null) {
+            synchronized (this) {
+                if (frequencies == null) {
+                    frequencies = new Frequencies(Map.of(), Map.of());
+                }
+                current = frequencies;
+            }
+        }
+        return current;
+    }
+
+    private Frequencies loadFrequencies() {
+        LocalDateTime from = LocalDateTime.now().minusDays(FREQUENCY_DAYS);
+        return new Frequencies(toMap(salesMapper.listRecentCustomerFrequency(from)),
+                toMap(salesMapper.listRecentProductFrequency(from)));
+    }
+
+    private static Map<String, Integer> toMap(List<NameFrequency> rows) {
+        Map<String, Integer> map = new HashMap<>();
+        for (NameFrequency row : rows) {
+            if (row.getName() != null && row.getFrequency() != null) {
+                map.put(row.getName(), row.getFrequency());
+            }
+        }
+        return map;
+    }
+
+    // 이름을 빈도 내림차순, 이름 오름차순으로 번호를 매긴 뒤 일반/초성 역색인 생성
+    private static Snapshot build(Object source, List<String> rawNames, Frequencies freq, Map<String, Integer> frequency) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String name : rawNames) {
+            if (name != null && !name.isBlank()) {
+                distinct.add(name);
+            }
+        }
+        String[] names = distinct.toArray(new String[0]);
+        Arrays.sort(names, Comparator.<String>comparingInt(n -> frequency.getOrDefault(n, 0)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        String[] textKeys = new String[names.length];
+        String[] choseongKeys = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            textKeys[i] = normalize(names[i]);
+            choseongKeys[i] = choseongKey(names[i]);
+        }
+        return new Snapshot(source, freq, names, new GramIndex(textKeys), new GramIndex(choseongKeys));
+    }
+
+    /**
+     * 문자 1-gram/2-gram 역색인. 각 목록의 항목 번호는 오름차순(= 빈도 순)입니다.
+     * prefix1/prefix2는 첫 글자/첫 두 글자로 시작하는 항목만 담아 앞부분 일치 후보를 따로 찾습니다.
+     */
+    private static final class GramIndex {
+        private static final int[] EMPTY = new int[0];
+
+        private final String[] keys;
+        private final Map<Integer, int[]> unigrams;
+        private final Map<Integer, int[]> bigrams;
+        private final Map<Integer, int[]> prefix1;
+        private final Map<Integer, int[]> prefix2;
+
+        GramIndex(String[] keys) {
+            this.keys = keys;
+            Map<Integer, Postings> uni = new HashMap<>();
+            Map<Integer, Postings> bi = new HashMap<>();
+            Map<Integer, Postings> p1 = new HashMap<>();
+            Map<Integer, Postings> p2 = new HashMap<>();
+            for (int id = 0; id < keys.length; id++) {
+                String key = keys[id];
+                if (key.isEmpty()) {
+                    continue;
+                }
+                p1.computeIfAbsent((int) key.charAt(0), k -> new Postings()).add(id);
+                if (key.length() > 1) {
+                    p2.computeIfAbsent(bigram(key, 0), k -> new Postings()).add(id);
+                }
+                for (int i = 0; i < key.length(); i++) {
+                    uni.computeIfAbsent((int) key.charAt(i), k -> new Postings()).add(id);
+                    if (i + 1 < key.length()) {
+                        bi.computeIfAbsent(bigram(key, i), k -> new Postings()).add(id);
+                    }
+                }
+            }
+            this.unigrams = freeze(uni);
+            this.bigrams = freeze(bi);
+            this.prefix1 = freeze(p1);
+            this.prefix2 = freeze(p2);
+        }
+
+        // 앞부분 일치 항목을 먼저, 그다음 중간 일치 항목을 번호 순으로 limit개까지 반환
+        int[] search(String query, int limit) {
+            if (query.isEmpty()) {
+                return EMPTY;
+            }
+            int[] prefixes;
+            int[] candidates;
+            if (query.length() == 1) {
+                prefixes = prefix1.getOrDefault((int) query.charAt(0), EMPTY);
+                candidates = unigrams.getOrDefault((int) query.charAt(0), EMPTY);
+            } else {
+                prefixes = prefix2.getOrDefault(bigram(query, 0), EMPTY);
+                // 중간 일치 후보는 검색어의 2-gram 중 가장 짧은 목록에서 고른 뒤 contains로 확인
+                candidates = null;
+                for (int i = 0; i + 1 < query.length(); i++) {
+                    int[] postings = bigrams.getOrDefault(bigram(query, i), EMPTY);
+                    if (candidates == null || postings.length < candidates.length) {
+                        candidates = postings;
+                    }
+                }
+            }
+            int[] result = new int[limit];
+            int size = 0;
+            for (int i = 0; i < prefixes.length && size < limit; i++) {
+                if (keys[prefixes[i]].startsWith(query)) {
+                    result[size++] = prefixes[i];
+                }
+            }
+            for (int i = 0; i < candidates.length && size < limit; i++) {
+                String key = keys[candidates[i]];
+                if (!key.startsWith(query) && key.contains(query)) {
+                    result[size++] = candidates[i];
+                }
+            }
+            return Arrays.copyOf(result, size);
+        }
+
+        private static int bigram(String value, int index) {
+            return (value.charAt(index) << 16) | value.charAt(index + 1);
+        }
+
+        private static Map<Integer, int[]> freeze(Map<Integer, Postings> source) {
+            Map<Integer, int[]> frozen = new HashMap<>(source.size() * 4 / 3 + 1);
+            source.forEach((gram, postings) -> frozen.put(gram, postings.toArray()));
+            return frozen;
+        }
+    }
+
+    // 오름차순으로만 추가되는 항목 번호 목록 (같은 이름 안에서 반복되는 gram은 한 번만)
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    // 소문자로 바꾸고 공백 제거
+    static String normalize(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    // 한글 음절은 초성으로, 나머지 문자는 normalize와 같게 변환 (예: "A 케이스" → "aㅋㅇㅅ")
+    static String choseongKey(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '가' && c <= '힣') {
+                sb.append(CHOSEONG[(c - '가') / 588]);
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    // 검색어에 자음 자모(ㄱ~ㅎ)가 있으면 초성 검색
+    static boolean hasConsonantJamo(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'ㄱ' && c <= 'ㅎ') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -3,8 +3,12 @@ package com.myproject.caseNara.service;
 import com.myproject.caseNara.mapper.BillMapper;
 import com.myproject.caseNara.model.Bill;
 import com.myproject.caseNara.model.BillWithSales;
+import com.myproject.caseNara.model.CursorPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,29 +18,52 @@ import java.util.Map;
 @Service
 public class BillService {
 
+    private static final Logger log = LoggerFactory.getLogger(BillService.class);
+
     @Autowired
     private BillMapper billMapper;
     @Autowired
     private SalesService salesService;
+    @Autowired
+    private IdAllocator idAllocator;
+    @Autowired
+    private OpenOrderIndex openOrderIndex;
+    @Autowired
+    private ReceivableService receivableService;
 
     /**
      * 수금 준비 시 프런트에서 고객별 합계(totalCost)를 전달하면 Bill 레코드를 생성합니다.
      * remainCost는 초기값으로 totalCost를 동일하게 설정하고, status는 0(예: 미수)로 기본 설정합니다.
      */
+    @Transactional
     public int createBills(List<BillRequest> requests) {
         int inserted = 0;
         if (requests == null || requests.isEmpty()) return inserted;
+        java.util.Set<Long> customerIds = new java.util.LinkedHashSet<>();
         for (BillRequest req : requests) {
-            inserted += createBill(req);
+            inserted += insertBill(req);
+            customerIds.add(req.customerId);
+        }
+        // 고객별 미수 집계는 고객당 한 번만 갱신
+        for (Long customerId : customerIds) {
+            receivableService.refreshCustomer(customerId);
         }
         return inserted;
     }
 
+    @Transactional
     public int createBill(BillRequest req) {
+        int inserted = insertBill(req);
+        receivableService.refreshCustomer(req.customerId);
+        return inserted;
+    }
+
+    private int insertBill(BillRequest req) {
         if (req == null || req.customerId == null || req.totalCost == null) {
             throw new IllegalArgumentException("customerId와 totalCost가 필요합니다");
         }
         Bill bill = Bill.builder()
+                .billId(idAllocator.nextId(IdSequence.BILLS))
                 .customerId(req.customerId)
                 .totalCost(req.totalCost)
                 .remainCost(req.remainCost != null ? req.remainCost : req.totalCost)
@@ -54,6 +81,8 @@ public class BillService {
             if (!distinctIds.isEmpty()) {
                 salesService.updateBillSatus(req.salesIds);
                 billMapper.insertBillSales(bill.getBillId(), distinctIds);
+                // 청구된 주문은 더 이상 열린 주문이 아님
+                openOrderIndex.closed(distinctIds);
             }
         }
         return inserted;
@@ -84,56 +113,131 @@ public class BillService {
      * 전체 Bill 목록 조회 (옵션: 날짜 범위)
      */
     public List<Map<String, Object>> listBills(String startDate, String endDate) {
-        return billMapper.listBills(startDate, endDate);
+        if (startDate == null || endDate == null) {
+            return billMapper.listBills(null, null);
+        }
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        return billMapper.listBills(range.startAt(), range.endAt());
+    }
+
+    /**
+     * Bill 목록을 키셋(커서) 방식으로 한 페이지씩 조회합니다. (CREATED_AT, BILL_ID) 내림차순입니다.
+     *
+     * @param startDate 시작 날짜 (선택)
+     * @param endDate 종료 날짜 (선택)
+     * @param cursor 이전 페이지 응답의 next 값 (첫 페이지는 null)
+     * @param limit 페이지 크기 (최대 1000)
+     * @return 페이지 행 목록과 다음 커서
+     */
+    public CursorPage<Map<String, Object>> listBillsPage(String startDate, String endDate, String cursor, Integer limit) {
+        LocalDateTime startAt = null;
+        LocalDateTime endAt = null;
+        if (startDate != null && endDate != null) {
+            DateRange range = DateRange.ofDays(startDate, endDate);
+            startAt = range.startAt();
+            endAt = range.endAt();
+        }
+        int pageSize = PageCursor.normalizeLimit(limit);
+        LocalDateTime beforeCreatedAt = null;
+        Long beforeBillId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = PageCursor.decode(cursor, 2);
+            try {
+                beforeCreatedAt = LocalDateTime.parse(keys[0]);
+                beforeBillId = Long.valueOf(keys[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("커서 형식이 올바르지 않습니다.");
+            }
+        }
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<Map<String, Object>> rows = billMapper.listBillsPage(startAt, endAt, beforeCreatedAt, beforeBillId, pageSize + 1);
+        String next = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Map<String, Object> last = rows.get(pageSize - 1);
+            Object createdAt = last.get("createdAt");
+            if (createdAt instanceof java.sql.Timestamp ts) {
+                createdAt = ts.toLocalDateTime();
+            }
+            next = PageCursor.encode(createdAt, last.get("billId"));
+        }
+        return new CursorPage<>(rows, next);
     }
 
     /**
      * 받은 금액을 반영합니다. 남은 금액을 차감하고 상태를 동시에 업데이트합니다.
      */
+    @Transactional
     public void applyReceive(Long billId, Integer amount) {
         if (billId == null || amount == null || amount <= 0) {
             throw new IllegalArgumentException("billId와 양수의 받은 금액(amount)이 필요합니다");
         }
         billMapper.applyReceive(billId, amount);
+        receivableService.refreshCustomer(billMapper.findCustomerIdByBillId(billId));
     }
 
     /**
      * 완납 처리: 남은 금액을 0으로 만들고 상태를 2로 설정합니다.
      */
+    @Transactional
     public void settleBill(Long billId) {
         if (billId == null) {
             throw new IllegalArgumentException("billId가 필요합니다");
         }
         billMapper.settleBill(billId);
+        receivableService.refreshCustomer(billMapper.findCustomerIdByBillId(billId));
     }
 
     /**
      * 롤백 처리: 받은 금액을 0으로 되돌립니다. 남은 금액을 총액으로 설정하고 상태를 0으로 초기화합니다.
      */
+    @Transactional
     public void rollbackBill(Long billId) {
         if (billId == null) {
             throw new IllegalArgumentException("billId가 필요합니다");
         }
         billMapper.rollbackBill(billId);
+        receivableService.refreshCustomer(billMapper.findCustomerIdByBillId(billId));
     }
 
-    
+    /**
+     * 판매 ID가 속한 청구서를 취소합니다.
+     */
+    @Transactional
     public void deleteBillBySaleId(Long saleId) {
         if (saleId == null) {
             throw new IllegalArgumentException("saleId가 필요합니다");
         }
         Long billId = billMapper.findBillIdBySaleId(saleId);
+        if (billId == null) {
+            return;
+        }
+        cancelBill(billId);
+    }
+
+    /**
+     * 청구서를 취소합니다. 포함된 주문의 청구 상태를 되돌리고 같은 날의 열린 주문과 병합한 뒤
+     * BILLS_SALES/BILLS 행을 삭제합니다. 주문 수와 관계없이 하나의 트랜잭션에서 고정된 개수의 구문으로 처리합니다.
+     */
+    @Transactional
+    public void cancelBill(Long billId) {
+        if (billId == null) {
+            throw new IllegalArgumentException("billId가 필요합니다");
+        }
+        long started = System.nanoTime();
+        Long customerId = billMapper.findCustomerIdByBillId(billId);
         List<Long> salesIds = billMapper.listSalesIdsByBillId(billId);
-        if (salesIds != null) {
-            for (Long sid : salesIds) {
-                if (sid != null) {
-                    salesService.resetBillStatusForSaleId(sid);
-                }
-            }
+        int absorbed = 0;
+        if (salesIds != null && !salesIds.isEmpty()) {
+            // 청구 상태 초기화 시 열린 주문 인덱스에도 다시 등록됨
+            absorbed = salesService.reopenSales(salesIds);
         }
         // 해당 청구서의 모든 매핑을 billId 기준으로 제거한 뒤 청구서 삭제
         billMapper.deleteBillSalesByBillId(billId);
         billMapper.deleteBillByBillId(billId);
+        receivableService.refreshCustomer(customerId);
+        log.info("청구서 취소 완료. billId={}, 주문 {}건, 병합 {}건, {}ms",
+                billId, salesIds != null ? salesIds.size() : 0, absorbed, (System.nanoTime() - started) / 1_000_000);
     }
 
     /**
@@ -0,0 +1,107 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.IdSequenceMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * hi/lo 방식의 블록 채번기입니다.
+ * ID_SEQUENCES 행을 행 잠금(SELECT ... FOR UPDATE)으로 잡고 blockSize 만큼 미리 예약한 뒤,
+ * 예약된 구간은 JVM 안에서 AtomicLong으로 잠금 없이 발급합니다.
+ * 블록을 다 쓴 경우에만 시퀀스별 잠금을 잡고 별도 트랜잭션에서 다음 블록을 예약합니다.
+ * 재시작 시 사용하지 않은 블록의 나머지 ID는 건너뜁니다(간격 발생).
+ */
+@Service
+public class BlockIdAllocator implements IdAllocator {
+
+    private final IdSequenceMapper idSequenceMapper;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+
+    private final Map<IdSequence, AtomicReference<Block>> blocks = new EnumMap<>(IdSequence.class);
+    private final Map<IdSequence, ReentrantLock> refillLocks = new EnumMap<>(IdSequence.class);
+
+    public BlockIdAllocator(IdSequenceMapper idSequenceMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${caseNara.id.block-size:50}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("caseNara.id.block-size는 양수여야 합니다: " + blockSize);
+        }
+        this.idSequenceMapper = idSequenceMapper;
+        this.blockSize = blockSize;
+        // 호출 측 트랜잭션과 무관하게 예약을 즉시 커밋하여 행 잠금을 짧게 유지
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (IdSequence sequence : IdSequence.values()) {
+            blocks.put(sequence, new AtomicReference<>());
+            refillLocks.put(sequence, new ReentrantLock());
+        }
+    }
+
+    @Override
+    public long nextId(IdSequence sequence) {
+        AtomicReference<Block> current = blocks.get(sequence);
+        while (true) {
+            Block block = current.get();
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.limit) {
+                    return id;
+                }
+            }
+            refill(sequence, current, block);
+        }
+    }
+
+    // 소진된 블록을 교체합니다. 다른 스레드가 먼저 교체했다면 아무것도 하지 않습니다.
+    private void refill(IdSequence sequence, AtomicReference<Block> current, Block exhausted) {
+        ReentrantLock lock = refillLocks.get(sequence);
+        lock.lock();
+        try {
+            if (current.get() != exhausted) {
+                return;
+            }
+            long start = reserveBlock(sequence);
+            current.set(new Block(start, start + blockSize));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ID_SEQUENCES 행을 잠그고 [start, start + blockSize) 구간을 예약합니다.
+    private long reserveBlock(IdSequence sequence) {
+        Long start = reserveTransaction.execute(status -> {
+            Long next = idSequenceMapper.lockNextValue(sequence.name());
+            if (next == null) {
+                // 시퀀스 행이 없으면 현재 테이블의 MAX + 1로 1회 초기화
+                idSequenceMapper.insertSequenceIfAbsent(sequence.name(), sequence.getTableName(), sequence.getColumnName());
+                next = idSequenceMapper.lockNextValue(sequence.name());
+            }
+            idSequenceMapper.advance(sequence.name(), blockSize);
+            return next;
+        });
+        if (start == null) {
+            throw new IllegalStateException("ID 블록 예약에 실패했습니다: " + sequence.name());
+        }
+        return start;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long limit;
+
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
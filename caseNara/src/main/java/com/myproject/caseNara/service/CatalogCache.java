@@ -0,0 +1,254 @@
+package com.myproject.caseNara.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.myproject.caseNara.mapper.CustomerMapper;
+import com.myproject.caseNara.mapper.MenuMapper;
+import com.myproject.caseNara.mapper.ProductMapper;
+import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.Menu;
+import com.myproject.caseNara.model.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 고객/상품/메뉴 조회 캐시입니다 (Caffeine).
+ * 같은 키를 동시에 조회하면 한 스레드만 DB에서 읽고 나머지는 그 결과를 기다립니다(single-flight).
+ * 단건 조회는 refresh-after가 지나면 기존 값을 반환하면서 백그라운드에서 다시 읽고, expire-after가 지나면 만료됩니다.
+ * 없는 이름도 빈 값으로 캐시하므로 등록/수정/삭제 시 해당 키를 무효화해야 합니다.
+ * 전체 목록(상호명, 상품, 메뉴)은 만료 없이 무효화될 때까지 유지합니다.
+ *
+ * 캐시된 객체는 여러 요청이 공유하므로 수정하지 말고, 수정이 필요하면 매퍼로 새로 조회합니다.
+ * 무효화는 즉시 한 번, 트랜잭션 안이면 커밋 이후에 한 번 더 하여 커밋 전에 다시 적재된 이전 값이 남지 않게 합니다.
+ *
+ * 가상 스레드 모드에서는 비동기 캐시로 만들어 DB 적재를 별도 가상 스레드에서 실행합니다.
+ * 동기 캐시는 ConcurrentHashMap.compute(synchronized) 안에서 적재하므로, JDBC 대기 동안 가상 스레드가 캐리어에 고정됩니다.
+ */
+@Component
+public class CatalogCache {
+
+    // 전체 목록 캐시의 단일 키
+    private static final String ALL = "all";
+
+    private final LoadingCache<String, Optional<Customer>> customersByName;
+    private final LoadingCache<Long, Optional<Customer>> customersById;
+    private final LoadingCache<String, Optional<Product>> productsByName;
+    private final LoadingCache<Long, Optional<Product>> productsById;
+    private final LoadingCache<String, List<String>> customerNames;
+    private final LoadingCache<String, List<Product>> products;
+    private final LoadingCache<String, List<Menu>> menus;
+    // 가상 스레드 모드에서 DB 적재를 실행할 실행기 (플랫폼 스레드 모드에서는 null)
+    private final Executor loadExecutor;
+
+    public CatalogCache(CustomerMapper customerMapper,
+                        ProductMapper productMapper,
+                        MenuMapper menuMapper,
+                        @Value("${caseNara.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${caseNara.cache.refresh-after:5m}") Duration refreshAfter,
+                        @Value("${caseNara.cache.expire-after:30m}") Duration expireAfter,
+                        Environment environment) {
+        if (!refreshAfter.minus(expireAfter).isNegative()) {
+            throw new IllegalArgumentException("caseNara.cache.refresh-after는 expire-after보다 짧아야 합니다.");
+        }
+        this.loadExecutor = Threading.VIRTUAL.isActive(environment) ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.customersByName = build(entityCache(maximumSize, refreshAfter, expireAfter),
+                name -> Optional.ofNullable(customerMapper.findByCompanyName(name)));
+        this.customersById = build(entityCache(maximumSize, refreshAfter, expireAfter),
+                id -> Optional.ofNullable(customerMapper.getCustomerById(id)));
+        this.productsByName = build(entityCache(maximumSize, refreshAfter, expireAfter),
+                name -> Optional.ofNullable(productMapper.getProductByName(name)));
+        this.productsById = build(entityCache(maximumSize, refreshAfter, expireAfter),
+                id -> Optional.ofNullable(productMapper.getProductById(id)));
+        this.customerNames = build(Caffeine.newBuilder().recordStats(),
+                key -> Collections.unmodifiableList(customerMapper.listAllCompanyNames()));
+        this.products = build(Caffeine.newBuilder().recordStats(),
+                key -> Collections.unmodifiableList(productMapper.getAllProducts()));
+        this.menus = build(Caffeine.newBuilder().recordStats(),
+                key -> Collections.unmodifiableList(menuMapper.getAllMenus()));
+    }
+
+    // 가상 스레드 모드면 비동기 캐시의 동기 뷰 (같은 키 동시 조회는 하나의 적재 결과를 기다림)
+    private <K, V> LoadingCache<K, V> build(Caffeine<Object, Object> builder, CacheLoader<K, V> loader) {
+        if (loadExecutor == null) {
+            return builder.build(loader);
+        }
+        return builder.executor(loadExecutor).buildAsync(loader).synchronous();
+    }
+
+    private static Caffeine<Object, Object> entityCache(long maximumSize, Duration refreshAfter, Duration expireAfter) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats();
+    }
+
+    /**
+     * 상호명으로 고객을 조회합니다 (삭제되지 않은 고객만, 없으면 null).
+     */
+    public Customer findCustomerByName(String companyName) {
+        return companyName == null ? null : customersByName.get(companyName).orElse(null);
+    }
+
+    /**
+     * ID로 고객을 조회합니다 (삭제되지 않은 고객만, 없으면 null).
+     */
+    public Customer findCustomerById(Long customerId) {
+        return customerId == null ? null : customersById.get(customerId).orElse(null);
+    }
+
+    /**
+     * 상품명으로 상품을 조회합니다 (삭제되지 않은 상품만, 없으면 null).
+     */
+    public Product findProductByName(String productName) {
+        return productName == null ? null : productsByName.get(productName).orElse(null);
+    }
+
+    /**
+     * ID로 상품을 조회합니다 (삭제되지 않은 상품만, 없으면 null).
+     */
+    public Product findProductById(Long productId) {
+        return productId == null ? null : productsById.get(productId).orElse(null);
+    }
+
+    /**
+     * 삭제되지 않은 고객 상호명 목록 (불변)
+     */
+    public List<String> customerNames() {
+        return customerNames.get(ALL);
+    }
+
+    /**
+     * 삭제되지 않은 상품 목록 (불변). 목록이 다시 적재되기 전까지 같은 인스턴스를 반환합니다.
+     */
+    public List<Product> products() {
+        return products.get(ALL);
+    }
+
+    /**
+     * 메뉴 목록 (불변)
+     */
+    public List<Menu> menus() {
+        return menus.get(ALL);
+    }
+
+    /**
+     * 고객 변경 시 ID와 관련 상호명(변경 전/후)의 캐시, 상호명 목록을 무효화합니다.
+     */
+    public void invalidateCustomer(Long customerId, String... companyNames) {
+        invalidate(() -> {
+            if (customerId != null) {
+                customersById.invalidate(customerId);
+            }
+            for (String name : companyNames) {
+                if (name != null) {
+                    customersByName.invalidate(name);
+                }
+            }
+            customerNames.invalidateAll();
+        });
+    }
+
+    /**
+     * 상품 변경 시 ID와 관련 상품명(변경 전/후)의 캐시, 상품 목록을 무효화합니다.
+     */
+    public void invalidateProduct(Long productId, String... productNames) {
+        invalidate(() -> {
+            if (productId != null) {
+                productsById.invalidate(productId);
+            }
+            for (String name : productNames) {
+                if (name != null) {
+                    productsByName.invalidate(name);
+                }
+            }
+            products.invalidateAll();
+        });
+    }
+
+    /**
+     * 상호명 목록만 무효화합니다.
+     */
+    public void invalidateCustomerNames() {
+        invalidate(customerNames::invalidateAll);
+    }
+
+    /**
+     * 상품 목록만 무효화합니다.
+     */
+    public void invalidateProducts() {
+        invalidate(products::invalidateAll);
+    }
+
+    /**
+     * 모든 캐시를 무효화합니다 (DB를 직접 수정한 경우).
+     */
+    public void invalidateAll() {
+        invalidate(() -> {
+            customersByName.invalidateAll();
+            customersById.invalidateAll();
+            productsByName.invalidateAll();
+            productsById.invalidateAll();
+            customerNames.invalidateAll();
+            products.invalidateAll();
+            menus.invalidateAll();
+        });
+    }
+
+    /**
+     * 캐시별 적중/실패/적재 통계를 반환합니다.
+     */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        result.put("customersByName", stats(customersByName));
+        result.put("customersById", stats(customersById));
+        result.put("productsByName", stats(productsByName));
+        result.put("productsById", stats(productsById));
+        result.put("customerNames", stats(customerNames));
+        result.put("products", stats(products));
+        result.put("menus", stats(menus));
+        return result;
+    }
+
+    private static Map<String, Object> stats(LoadingCache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("size", cache.estimatedSize());
+        map.put("hitCount", stats.hitCount());
+        map.put("missCount", stats.missCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("loadSuccessCount", stats.loadSuccessCount());
+        map.put("loadFailureCount", stats.loadFailureCount());
+        map.put("averageLoadMs", stats.averageLoadPenalty() / 1_000_000d);
+        map.put("evictionCount", stats.evictionCount());
+        return map;
+    }
+
+    // 즉시 무효화하고, 트랜잭션 안이면 커밋 이후에 한 번 더 무효화
+    private static void invalidate(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
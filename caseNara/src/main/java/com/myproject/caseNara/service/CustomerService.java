@@ -1,10 +1,10 @@
 package com.myproject.caseNara.service;
 
 import com.myproject.caseNara.mapper.CustomerMapper;
-import com.myproject.caseNara.mapper.SalesMapper;
 import com.myproject.caseNara.model.Customer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,10 +15,16 @@ public class CustomerService {
     private CustomerMapper customerMapper;
     
     @Autowired
-    private SalesMapper salesMapper;
+    private TopProductsStore topProductsStore;
     
-    @Autowired(required = false)
-    private LookupService lookupService;
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    @Autowired
+    private ReferenceVersionService referenceVersionService;
 
     /**
      * 상호명 중복을 확인합니다.
@@ -32,7 +38,7 @@ public class CustomerService {
             throw new IllegalArgumentException("상호명이 필요합니다.");
         }
         
-        Customer existingCustomer = customerMapper.findByCompanyName(companyName.trim());
+        Customer existingCustomer = catalogCache.findCustomerByName(companyName.trim());
         return existingCustomer != null;
     }
 
@@ -43,6 +49,7 @@ public class CustomerService {
      * @return 등록된 고객 정보
      * @throws Exception 고객 정보가 null인 경우 또는 등록 중 오류 발생 시
      */
+    @Transactional
     public Customer addCustomer(Customer customer) throws Exception {
         if (customer == null) {
             throw new IllegalArgumentException("Customer data is null");
@@ -52,10 +59,12 @@ public class CustomerService {
             throw new IllegalArgumentException("이미 등록된 상호명입니다: " + customer.getCompanyName());
         }
         
+        customer.setCustomerId(idAllocator.nextId(IdSequence.CUSTOMERS));
         customerMapper.insertCustomer(customer);
-        if (lookupService != null) {
-            lookupService.invalidateCustomers();
-        }
+        // 커밋 후 상호명 캐시가 먼저 비워지도록 무효화를 버전 기록보다 먼저 등록
+        catalogCache.invalidateCustomer(customer.getCustomerId(), customer.getCompanyName());
+        referenceVersionService.recordChange(ReferenceTable.CUSTOMERS, customer.getCompanyName());
+        topProductsStore.invalidateCustomers();
         
         return customer;
     }
@@ -77,7 +86,7 @@ public class CustomerService {
      * @throws RuntimeException 고객을 찾을 수 없는 경우
      */
     public Customer getCustomerById(Long customerId) {
-        Customer customer = customerMapper.getCustomerById(customerId);
+        Customer customer = catalogCache.findCustomerById(customerId);
         if (customer == null) {
             throw new RuntimeException("고객을 찾을 수 없습니다: " + customerId);
         }
@@ -92,12 +101,17 @@ public class CustomerService {
      * @return 수정된 고객 정보
      * @throws RuntimeException 고객을 찾을 수 없는 경우
      */
+    @Transactional
     public Customer updateCustomer(Long customerId, Customer customerDetails) {
         if (customerDetails == null || customerDetails.getCompanyName() == null || customerDetails.getCompanyName().trim().isEmpty()) {
             throw new IllegalArgumentException("상호명이 필요합니다.");
         }
 
-        Customer existingCustomer = getCustomerById(customerId);
+        // 캐시된 객체는 공유되므로 수정용으로는 DB에서 새로 조회
+        Customer existingCustomer = customerMapper.getCustomerById(customerId);
+        if (existingCustomer == null) {
+            throw new RuntimeException("고객을 찾을 수 없습니다: " + customerId);
+        }
         String newCompanyName = customerDetails.getCompanyName().trim();
         
         // 상호명이 변경된 경우에만 중복 체크
@@ -107,14 +121,19 @@ public class CustomerService {
             }
         }
         
+        String oldCompanyName = existingCustomer.getCompanyName();
         existingCustomer.setCompanyName(newCompanyName);
         existingCustomer.setPhone(customerDetails.getPhone());
         existingCustomer.setAddress(customerDetails.getAddress());
         
         customerMapper.updateCustomer(existingCustomer);
-        if (lookupService != null) {
-            lookupService.invalidateCustomers();
+        catalogCache.invalidateCustomer(customerId, oldCompanyName, newCompanyName);
+        // 상호명이 바뀌면 이전 상호명도 변경분(삭제)으로 전달되도록 함께 기록
+        if (!oldCompanyName.equals(newCompanyName)) {
+            referenceVersionService.recordChange(ReferenceTable.CUSTOMERS, oldCompanyName);
         }
+        referenceVersionService.recordChange(ReferenceTable.CUSTOMERS, newCompanyName);
+        topProductsStore.invalidateCustomers();
         
         return existingCustomer;
     }
@@ -125,35 +144,34 @@ public class CustomerService {
      * @param customerId 삭제할 고객의 ID
      * @throws RuntimeException 고객을 찾을 수 없는 경우
      */
+    @Transactional
     public void deleteCustomer(Long customerId) {
-        getCustomerById(customerId);
+        Customer customer = getCustomerById(customerId);
         customerMapper.deleteCustomer(customerId);
-        if (lookupService != null) {
-            lookupService.invalidateCustomers();
-        }
+        catalogCache.invalidateCustomer(customerId, customer.getCompanyName());
+        referenceVersionService.recordChange(ReferenceTable.CUSTOMERS, customer.getCompanyName());
+        topProductsStore.invalidateCustomers();
     }
 
     /**
      * 특정 고객의 주요 구매 상품 목록을 조회합니다.
+     * 고객/상품별 주문 횟수 저장소에서 조회하므로 SALES를 집계하지 않습니다.
      *
      * @param companyName 조회할 고객의 상호명
      * @return 주요 구매 상품 목록 (상호명이 없거나 고객이 없는 경우 빈 목록 반환)
      */
     public List<String> getTopProducts(String companyName) {
-        String name = (companyName == null) ? "" : companyName.trim();
-        
         // 공백 또는 존재하지 않는 상호명인 경우에도 에러 대신 빈 추천 리스트로 응답
-        if (name.isEmpty()) {
-            return List.of();
-        }
-
-        Customer customer = customerMapper.findByCompanyName(name);
-        if (customer == null) {
-            return List.of();
-        }
+        return topProductsStore.suggest(companyName);
+    }
 
-        List<String> products = salesMapper.listTopProductNamesByCompanyName(name);
-        return products != null ? products : List.of();
+    /**
+     * 고객/상품별 주문 횟수를 SALES 기준으로 다시 집계합니다.
+     *
+     * @return 주문 횟수가 적재된 고객 수
+     */
+    public int rebuildTopProducts() {
+        return topProductsStore.rebuild();
     }
 
     /**
@@ -163,6 +181,6 @@ public class CustomerService {
      * @return 조회된 고객 정보 (없는 경우 null)
      */
     public Customer findByCompanyName(String companyName) {
-        return customerMapper.findByCompanyName(companyName);
+        return catalogCache.findCustomerByName(companyName);
     }
 }
\ No newline at end of file
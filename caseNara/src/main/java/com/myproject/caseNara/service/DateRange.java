@@ -0,0 +1,46 @@
+package com.myproject.caseNara.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 일자 범위를 반개구간 타임스탬프 [startAt, endAt)로 나타냅니다.
+ * 매퍼에서 DATE(컬럼) 대신 컬럼 자체를 범위 비교하여 인덱스를 사용할 수 있게 합니다.
+ */
+public record DateRange(LocalDateTime startAt, LocalDateTime endAt) {
+
+    /**
+     * yyyy-MM-dd 형식의 시작/종료 일자(양끝 포함)를 [시작일 00:00, 종료일 다음날 00:00)로 변환합니다.
+     *
+     * @param startDate 시작 일자
+     * @param endDate 종료 일자
+     * @return 변환된 범위
+     * @throws IllegalArgumentException 일자 형식이 올바르지 않은 경우
+     */
+    public static DateRange ofDays(String startDate, String endDate) {
+        return new DateRange(parseDay(startDate).atStartOfDay(), parseDay(endDate).plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * 특정 시각이 속한 하루를 [당일 00:00, 다음날 00:00)로 변환합니다.
+     *
+     * @param at 기준 시각
+     * @return 변환된 범위
+     */
+    public static DateRange ofDay(LocalDateTime at) {
+        LocalDate day = at.toLocalDate();
+        return new DateRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    private static LocalDate parseDay(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("일자가 필요합니다.");
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("일자 형식이 올바르지 않습니다: " + value);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.BillMapper;
+import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.model.Sale;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 판매/청구 데이터를 CSV 또는 XLSX로 스트리밍 내보냅니다.
+ * MyBatis Cursor로 한 행씩 스트리밍해 읽고(매퍼의 fetchSize=Integer.MIN_VALUE) 바로 출력하므로, 행 수와 관계없이 힙 사용량이 일정합니다.
+ * 스트리밍 중에는 같은 연결로 다른 구문을 실행할 수 없으므로 커서를 읽는 동안 DB를 다시 조회하지 않습니다.
+ * XLSX는 SXSSF로 최근 행 일부만 메모리에 두고 나머지는 임시 파일로 내립니다.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // 진행 상황 로그 간격 (행 수)
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private static final List<String> SALES_HEADER = List.of("SALE_ID", "판매일자", "고객ID", "상호명", "상품ID", "상품명", "수량", "금액", "청구상태");
+    private static final List<String> BILLS_HEADER = List.of("BILL_ID", "고객ID", "상호명", "총액", "남은금액", "상태", "생성일시");
+    private static final List<String> BILL_SALES_HEADER = List.of("BILL_ID", "SALES_ID", "고객ID", "상호명", "상태", "생성일시");
+
+    @Autowired
+    private SalesMapper salesMapper;
+
+    @Autowired
+    private BillMapper billMapper;
+
+    /**
+     * 내보내기 파일 형식입니다.
+     */
+    public enum Format {
+        CSV("text/csv; charset=UTF-8", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * 요청 파라미터 값(csv, xlsx)을 형식으로 변환합니다.
+         *
+         * @throws IllegalArgumentException 지원하지 않는 형식인 경우
+         */
+        public static Format of(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("지원하지 않는 형식입니다: " + value);
+            }
+        }
+    }
+
+    /**
+     * 기간 내 판매 항목을 내보냅니다.
+     *
+     * @return 출력한 데이터 행 수 (헤더 제외)
+     */
+    @Transactional(readOnly = true)
+    public long exportSales(DateRange range, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        try (Cursor<Sale> cursor = salesMapper.streamSales(range.startAt(), range.endAt());
+             RowWriter writer = RowWriter.open(format, out, "판매내역", SALES_HEADER)) {
+            for (Sale s : cursor) {
+                writer.row(s.getSaleId(), s.getSaleAt(), s.getCustomerId(), s.getCustomerName(),
+                        s.getProductId(), s.getProductName(), s.getQuantity(), s.getUnitPrice(), s.getBillStatus());
+                logProgress("sales", ++rows);
+            }
+        }
+        logCompleted("sales", format, rows, started);
+        return rows;
+    }
+
+    /**
+     * 기간 내 청구서를 내보냅니다.
+     *
+     * @return 출력한 데이터 행 수 (헤더 제외)
+     */
+    @Transactional(readOnly = true)
+    public long exportBills(DateRange range, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        try (Cursor<Map<String, Object>> cursor = billMapper.streamBills(range.startAt(), range.endAt());
+             RowWriter writer = RowWriter.open(format, out, "청구내역", BILLS_HEADER)) {
+            for (Map<String, Object> b : cursor) {
+                writer.row(b.get("billId"), b.get("customerId"), b.get("customerName"), b.get("totalCost"),
+                        b.get("remainCost"), b.get("status"), b.get("createdAt"));
+                logProgress("bills", ++rows);
+            }
+        }
+        logCompleted("bills", format, rows, started);
+        return rows;
+    }
+
+    /**
+     * 기간 내 청구서와 판매(SALES_ID) 매핑을 내보냅니다.
+     *
+     * @return 출력한 데이터 행 수 (헤더 제외)
+     */
+    @Transactional(readOnly = true)
+    public long exportBillSales(DateRange range, Format format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        try (Cursor<Map<String, Object>> cursor = billMapper.streamBillSales(range.startAt(), range.endAt());
+             RowWriter writer = RowWriter.open(format, out, "청구-판매", BILL_SALES_HEADER)) {
+            for (Map<String, Object> m : cursor) {
+                writer.row(m.get("billId"), m.get("salesId"), m.get("customerId"), m.get("customerName"),
+                        m.get("status"), m.get("createdAt"));
+                logProgress("bill-sales", ++rows);
+            }
+        }
+        logCompleted("bill-sales", format, rows, started);
+        return rows;
+    }
+
+    private static void logProgress(String name, long rows) {
+        if (rows % PROGRESS_INTERVAL == 0) {
+            log.debug("내보내기 진행 중 [{}]: {}행", name, rows);
+        }
+    }
+
+    private static void logCompleted(String name, Format format, long rows, long startedNanos) {
+        long elapsedMs = (System.nanoTime() - startedNanos) / 1_000_000;
+        log.info("내보내기 완료 [{}] 형식={}, 행 수={}, 소요={}ms", name, format, rows, elapsedMs);
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof LocalDateTime dt) {
+            return DATE_TIME.format(dt);
+        }
+        if (value instanceof Timestamp ts) {
+            return DATE_TIME.format(ts.toLocalDateTime());
+        }
+        return value.toString();
+    }
+
+    /**
+     * 한 행씩 출력하는 내보내기 대상입니다. close 시 남은 내용을 출력하지만 응답 스트림 자체는 닫지 않습니다.
+     */
+    private interface RowWriter extends AutoCloseable {
+
+        void row(Object... values) throws IOException;
+
+        @Override
+        void close() throws IOException;
+
+        static RowWriter open(Format format, OutputStream out, String sheetName, List<String> header) throws IOException {
+            RowWriter writer = (format == Format.XLSX) ? new XlsxRowWriter(out, sheetName) : new CsvRowWriter(out);
+            writer.row(header.toArray());
+            return writer;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV. 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM을 먼저 씁니다.
+     */
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            this.writer.write('\uFEFF');
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String v = text(values[i]);
+                if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(v.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(v);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * SXSSF 기반 XLSX. 최근 ROW_WINDOW 행만 메모리에 두며, 시트 최대 행 수를 넘으면 다음 시트로 이어 씁니다.
+     */
+    private static final class XlsxRowWriter implements RowWriter {
+        private static final int ROW_WINDOW = 100;
+        private static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final String sheetName;
+        private Sheet sheet;
+        private Object[] header;
+        private int sheetCount = 0;
+        private int rowIndex = 0;
+
+        private XlsxRowWriter(OutputStream out, String sheetName) {
+            this.out = out;
+            this.sheetName = sheetName;
+            this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+            this.workbook.setCompressTempFiles(true);
+        }
+
+        @Override
+        public void row(Object... values) throws IOException {
+            if (header == null) {
+                header = values;
+            }
+            if (sheet == null || rowIndex >= MAX_ROWS_PER_SHEET) {
+                sheetCount++;
+                sheet = workbook.createSheet(sheetCount == 1 ? sheetName : sheetName + " (" + sheetCount + ")");
+                rowIndex = 0;
+                if (values != header) {
+                    writeRow(header);
+                }
+            }
+            writeRow(values);
+        }
+
+        private void writeRow(Object[] values) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                Object v = values[i];
+                if (v instanceof Number n) {
+                    row.createCell(i).setCellValue(n.doubleValue());
+                } else {
+                    row.createCell(i).setCellValue(text(v));
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.write(out);
+                out.flush();
+            } finally {
+                workbook.close();
+            }
+        }
+    }
+}
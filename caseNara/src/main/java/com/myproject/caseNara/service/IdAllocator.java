@@ -0,0 +1,16 @@
+package com.myproject.caseNara.service;
+
+/**
+ * 테이블별 신규 ID를 발급하는 채번기입니다.
+ * 매퍼의 SELECT MAX(...)+1 selectKey 대신 서비스에서 INSERT 전에 ID를 채워 넣을 때 사용합니다.
+ */
+public interface IdAllocator {
+
+    /**
+     * 지정한 시퀀스의 다음 ID를 발급합니다.
+     *
+     * @param sequence 채번 대상
+     * @return 발급된 ID (동일 시퀀스 내에서 중복되지 않음)
+     */
+    long nextId(IdSequence sequence);
+}
@@ -0,0 +1,28 @@
+package com.myproject.caseNara.service;
+
+/**
+ * ID 채번 대상 테이블 목록입니다.
+ * ID_SEQUENCES 테이블의 SEQ_NAME과, 시퀀스 행이 없을 때 초기값을 구할 테이블/컬럼을 함께 가집니다.
+ */
+public enum IdSequence {
+    SALES("SALES", "SALE_ID"),
+    BILLS("BILLS", "BILL_ID"),
+    CUSTOMERS("CUSTOMERS", "CUSTOMER_ID"),
+    PRODUCTS("PRODUCTS", "PRODUCT_ID");
+
+    private final String tableName;
+    private final String columnName;
+
+    IdSequence(String tableName, String columnName) {
+        this.tableName = tableName;
+        this.columnName = columnName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public String getColumnName() {
+        return columnName;
+    }
+}
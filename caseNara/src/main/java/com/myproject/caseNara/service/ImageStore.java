@@ -0,0 +1,131 @@
+package com.myproject.caseNara.service;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 업로드 이미지를 내용 주소(SHA-256)로 저장합니다.
+ * 파일은 uploads/cas/{해시 앞 2자}/{다음 2자}/{해시}.{확장자} 에 저장되고 URL도 같은 경로(/uploads/cas/...)입니다.
+ * 해시는 임시 파일로 복사하면서 계산하고, 같은 내용이 이미 있으면 임시 파일을 지우고 기존 파일을 재사용합니다.
+ * 같은 URL의 내용은 바뀌지 않으므로 CasImageController가 immutable 캐시 헤더로 제공합니다.
+ */
+@Component
+public class ImageStore {
+
+    public static final String URL_PREFIX = "/uploads/cas/";
+
+    private static final Path CAS_ROOT = Paths.get("uploads", "cas");
+
+    // 확장자는 영문/숫자 10자 이내만 유지 (그 외에는 확장자 없이 저장)
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+    // CAS 파일명: 64자리 해시 + 선택 확장자
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+
+    /**
+     * 스트림을 저장하고 URL을 반환합니다.
+     *
+     * @param in 업로드 내용
+     * @param originalFilename 확장자를 가져올 원본 파일명 (없으면 확장자 없이 저장)
+     * @return /uploads/cas/ab/cd/{해시}.{확장자}
+     */
+    public String store(InputStream in, String originalFilename) throws IOException {
+        Files.createDirectories(CAS_ROOT);
+        Path tmp = Files.createTempFile(CAS_ROOT, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String fileName = hash + extensionOf(originalFilename);
+            Path target = CAS_ROOT.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(fileName);
+            if (Files.exists(target)) {
+                touch(target);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 같은 내용이 동시에 올라온 경우: 먼저 저장된 파일 사용
+                    touch(target);
+                }
+            }
+            return URL_PREFIX + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + fileName;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * 로컬 파일을 저장하고 URL을 반환합니다 (기존 업로드 이전용).
+     */
+    public String store(Path file, String originalFilename) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return store(in, originalFilename);
+        }
+    }
+
+    /**
+     * CAS URL 여부
+     */
+    public static boolean isContentAddressed(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    /**
+     * 샤드 디렉터리와 파일명이 CAS 규칙에 맞으면 파일 경로를, 아니면 null을 반환합니다 (경로 조작 방지).
+     */
+    public static Path resolve(String shard1, String shard2, String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches()
+                || !fileName.startsWith(shard1 + shard2)
+                || shard1.length() != 2 || shard2.length() != 2) {
+            return null;
+        }
+        return CAS_ROOT.resolve(shard1).resolve(shard2).resolve(fileName);
+    }
+
+    // 재사용한 파일도 방금 올라온 것으로 보아, 상품에 저장되기 전에 업로드 정리(유예 기간 기준)로 지워지지 않게 함
+    private static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+    }
+
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
+        }
+        int dot = originalFilename.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String ext = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if ("jpeg".equals(ext)) {
+            ext = "jpg";
+        }
+        return EXTENSION.matcher(ext).matches() ? "." + ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
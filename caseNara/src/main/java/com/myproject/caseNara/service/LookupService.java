@@ -1,86 +1,150 @@
 package com.myproject.caseNara.service;
 
-import com.myproject.caseNara.mapper.CustomerMapper;
-import com.myproject.caseNara.mapper.ProductMapper;
 import com.myproject.caseNara.model.Product;
 
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class LookupService {
 
-    private final CustomerMapper customerMapper;
-    private final ProductMapper productMapper;
-
-    private final AtomicReference<List<String>> customerNamesCache = new AtomicReference<>();
-    private final AtomicReference<List<Product>> productNamesCache = new AtomicReference<>();
+    private final CatalogCache catalogCache;
+    private final ReferenceVersionService referenceVersionService;
 
     /**
      * LookupService 생성자입니다.
      *
-     * @param customerMapper 고객 매퍼
-     * @param productMapper 상품 매퍼
+     * @param catalogCache 고객/상품/메뉴 조회 캐시
+     * @param referenceVersionService 기준 정보 버전 서비스
      */
-    public LookupService(CustomerMapper customerMapper, ProductMapper productMapper) {
-        this.customerMapper = customerMapper;
-        this.productMapper = productMapper;
+    public LookupService(CatalogCache catalogCache, ReferenceVersionService referenceVersionService) {
+        this.catalogCache = catalogCache;
+        this.referenceVersionService = referenceVersionService;
     }
 
     /**
      * 모든 고객의 상호명 목록을 조회합니다.
      * 캐시된 데이터가 있으면 캐시를 반환하고, 없으면 DB에서 조회하여 캐시에 저장합니다.
+     * 동시에 여러 요청이 캐시를 채우려 해도 DB 조회는 한 번만 실행됩니다.
      *
-     * @return 전체 고객 상호명 목록
+     * @return 전체 고객 상호명 목록 (불변)
      */
     public List<String> getAllCustomerNames() {
-        List<String> current = customerNamesCache.get();
-        if (current == null) {
-            current = customerMapper.listAllCompanyNames();
-            customerNamesCache.set(current);
-        }
-        return current;
+        return catalogCache.customerNames();
     }
 
     /**
      * 모든 상품명 목록을 조회합니다.
      * 캐시된 데이터가 있으면 캐시를 반환하고, 없으면 DB에서 조회하여 캐시에 저장합니다.
+     * 동시에 여러 요청이 캐시를 채우려 해도 DB 조회는 한 번만 실행됩니다.
      *
-     * @return 전체 상품명 목록
+     * @return 전체 상품명 목록 (불변)
      */
     public List<Product> getAllProduct() {
-        List<Product> current = productNamesCache.get();
-        if (current == null) {
-            current = productMapper.getAllProducts();
-            productNamesCache.set(current);
+        return catalogCache.products();
+    }
+
+    /**
+     * 부트스트랩 데이터(고객 상호명, 상품 목록)를 조회합니다.
+     * since가 있으면 그 버전 이후 추가/변경/삭제된 항목만 반환하고, 이력으로 알 수 없으면 전체 목록을 반환합니다.
+     *
+     * @param since 클라이언트가 마지막으로 받은 version (없으면 전체)
+     * @return version, delta 여부와 목록 (delta이면 customers/products 각각 upserted, deleted)
+     */
+    public Map<String, Object> getBootstrap(Long since) {
+        // 버전을 먼저 읽어야 목록보다 오래된 버전이 나가더라도 다음 요청에서 다시 받음
+        long version = referenceVersionService.version(ReferenceTable.CUSTOMERS, ReferenceTable.PRODUCTS);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", true);
+        body.put("version", version);
+        if (since != null) {
+            ReferenceVersionService.Delta customers = referenceVersionService.changesSince(ReferenceTable.CUSTOMERS, since);
+            ReferenceVersionService.Delta products = referenceVersionService.changesSince(ReferenceTable.PRODUCTS, since);
+            if (!customers.full() && !products.full()) {
+                body.put("delta", true);
+                body.put("customers", customerDelta(customers.keys()));
+                body.put("products", productDelta(products.keys()));
+                return body;
+            }
+        }
+        body.put("delta", false);
+        body.put("customers", getAllCustomerNames());
+        body.put("products", getAllProduct());
+        return body;
+    }
+
+    // 변경된 상호명 중 현재 목록에 있으면 upserted, 없으면 deleted
+    private Map<String, Object> customerDelta(Set<String> changedNames) {
+        List<String> upserted = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        if (!changedNames.isEmpty()) {
+            Set<String> current = new HashSet<>(getAllCustomerNames());
+            for (String name : changedNames) {
+                (current.contains(name) ? upserted : deleted).add(name);
+            }
         }
-        return current;
+        return Map.of("upserted", upserted, "deleted", deleted);
+    }
+
+    // 변경된 PRODUCT_ID 중 현재 목록에 있으면 upserted(상품 정보), 없으면 deleted(ID)
+    private Map<String, Object> productDelta(Set<String> changedIds) {
+        List<Product> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        if (!changedIds.isEmpty()) {
+            Set<Long> remaining = new HashSet<>();
+            for (String id : changedIds) {
+                remaining.add(Long.valueOf(id));
+            }
+            for (Product product : getAllProduct()) {
+                if (remaining.remove(product.getProductId())) {
+                    upserted.add(product);
+                }
+            }
+            deleted.addAll(remaining);
+        }
+        return Map.of("upserted", upserted, "deleted", deleted);
     }
 
     /**
      * 고객 상호명 캐시를 무효화합니다.
      * 다음 조회 시 DB에서 새로운 데이터를 가져옵니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후에 한 번 더 무효화하여, 커밋 전에 다시 적재된 이전 데이터가 남지 않게 합니다.
      */
     public void invalidateCustomers() {
-        customerNamesCache.set(null);
+        catalogCache.invalidateCustomerNames();
     }
 
     /**
      * 상품명 캐시를 무효화합니다.
      * 다음 조회 시 DB에서 새로운 데이터를 가져옵니다.
+     * 트랜잭션 안에서 호출되면 커밋 이후에 한 번 더 무효화합니다.
      */
     public void invalidateProducts() {
-        productNamesCache.set(null);
+        catalogCache.invalidateProducts();
     }
 
     /**
      * 모든 캐시를 무효화합니다.
-     * 고객 상호명과 상품명 캐시를 모두 초기화합니다.
+     * 고객/상품/메뉴 캐시를 모두 초기화하고, DB를 직접 수정한 경우에 대비해 기준 정보 버전을 모두 올립니다.
      */
     public void invalidateAll() {
-        invalidateCustomers();
-        invalidateProducts();
+        // 캐시를 먼저 비워야 새 버전과 함께 이전 목록이 나가지 않음
+        catalogCache.invalidateAll();
+        for (ReferenceTable table : ReferenceTable.values()) {
+            referenceVersionService.recordReset(table);
+        }
+    }
+
+    /**
+     * 조회 캐시별 적중/실패/적재 통계를 반환합니다.
+     */
+    public Map<String, Map<String, Object>> getCacheStats() {
+        return catalogCache.stats();
     }
 }
\ No newline at end of file
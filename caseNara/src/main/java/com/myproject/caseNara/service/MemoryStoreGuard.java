@@ -0,0 +1,128 @@
+package com.myproject.caseNara.service;
+
+import org.slf4j.Logger;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * DB에서 적재한 뒤 커밋된 변경만 메모리에 반영하는 저장소(OpenOrderIndex, TopProductsStore, ReferenceVersionService)가
+ * 함께 쓰는 적재 잠금과 커밋 이후 갱신입니다.
+ *
+ * 전체 적재는 쓰기 잠금, 개별 갱신은 읽기 잠금에서 실행합니다. 갱신끼리는 동시에 진행되고,
+ * 적재 중에 커밋된 트랜잭션의 갱신은 적재가 끝난 뒤에 실행됩니다. 그 커밋은 적재가 이미 읽었을 수도 있으므로
+ * 갱신은 두 번 반영돼도 같은 결과여야 합니다 (증감분을 더하지 말고 DB에서 다시 읽거나 값을 덮어씀).
+ * 기동 시 적재가 실패하면 첫 사용 때(ensureLoaded) 다시 적재합니다.
+ */
+final class MemoryStoreGuard {
+
+    private final String name;
+    private final Logger log;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    /**
+     * @param name 로그에 쓰는 저장소 이름 (예: "열린 주문 인덱스")
+     * @param log 저장소 클래스의 로거
+     */
+    MemoryStoreGuard(String name, Logger log) {
+        this.name = name;
+        this.log = log;
+    }
+
+    /**
+     * 기동 시 적재를 실행합니다. 실패는 기록만 하고 기동은 계속합니다.
+     * 기동 완료 이벤트 전에 들어온 요청이 이미 적재했으면(ensureLoaded) 다시 적재하지 않습니다.
+     *
+     * @param load 적재 후 로그에 남길 요약을 반환
+     */
+    void loadOnStartup(Supplier<?> load) {
+        if (ready) {
+            log.info("{} 기동 전 요청에서 이미 적재됨", name);
+            return;
+        }
+        try {
+            log.info("{} 적재 완료: {}", name, load.get());
+        } catch (Exception e) {
+            log.error("{} 적재 실패: {}", name, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 쓰기 잠금에서 전체 적재를 실행하고 적재 완료로 표시합니다.
+     * 잠금을 잡은 뒤 읽기 전에 커밋된 트랜잭션은 적재 결과에 포함되면서 그 갱신도 적재 이후에 다시 실행됩니다.
+     */
+    <T> T reload(Supplier<T> load) {
+        lock.writeLock().lock();
+        try {
+            T result = load.get();
+            ready = true;
+            return result;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 아직 적재되지 않았으면 reload를 실행합니다.
+     */
+    void ensureLoaded(Runnable reload) {
+        if (!ready) {
+            reload.run();
+        }
+    }
+
+    /**
+     * 읽기 잠금에서 실행합니다 (적재와 겹치지 않아야 하는 즉시 갱신용).
+     */
+    <T> T underReadLock(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 이후에, 아니면 즉시 읽기 잠금에서 실행합니다.
+     */
+    void afterCommit(Runnable update) {
+        Runnable guarded = () -> underReadLock(() -> {
+            update.run();
+            return null;
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+
+    /**
+     * 트랜잭션이 끝나면(커밋/롤백) 읽기 잠금에서 커밋 여부를 넘겨 실행합니다. 트랜잭션 밖이면 아무것도 하지 않습니다.
+     */
+    void afterCompletion(Consumer<Boolean> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                underReadLock(() -> {
+                    action.accept(status == STATUS_COMMITTED);
+                    return null;
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,320 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.model.Sale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * (고객, 판매일자) → 열린 주문 SALE_ID(bill_status=0) 메모리 인덱스입니다.
+ * 시작 시 DB에서 적재하고, 이후에는 SalesService(주문 생성/일자 변경/청구 상태 초기화)와
+ * BillService(청구서 생성 시 주문 닫기)가 갱신합니다. 주문 등록은 이 인덱스만 보고 SALE_ID를 정하므로
+ * 열린 주문 조회 쿼리를 실행하지 않습니다.
+ *
+ * 트랜잭션 안에서 호출된 갱신은 커밋 이후에 반영됩니다. 단, 신규 SALE_ID 예약(findOrReserve)은
+ * 동시 등록이 같은 SALE_ID를 쓰도록 즉시 반영하고, 예약을 쓴 트랜잭션이 모두 끝났는데 하나도 커밋하지 않은 경우에만 해제합니다.
+ * DB 적재는 호출 측 트랜잭션과 분리된 별도 읽기 트랜잭션에서 합니다.
+ * 인덱스는 이 JVM 기준이므로 여러 인스턴스로 운영하거나 DB를 직접 수정한 경우 rebuild로 다시 적재합니다.
+ */
+@Component
+public class OpenOrderIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenOrderIndex.class);
+
+    /**
+     * 인덱스 키: 고객 ID와 판매일자
+     */
+    public static record Key(Long customerId, LocalDate day) {
+        @Override
+        public String toString() {
+            return customerId + "@" + day;
+        }
+    }
+
+    /**
+     * findOrReserve 결과: 사용할 SALE_ID와 이번 호출에서 새로 예약했는지 여부
+     */
+    public static record Reservation(Long saleId, boolean created) {}
+
+    /**
+     * DB와의 일치 여부 점검 결과
+     */
+    public static record ConsistencyReport(int indexed, int database, List<String> missing, List<String> stale) {
+        public boolean isConsistent() {
+            return missing.isEmpty() && stale.isEmpty();
+        }
+    }
+
+    private final SalesMapper salesMapper;
+    private final TransactionTemplate loadTransaction;
+
+    private final Map<Key, Long> saleIdByKey = new ConcurrentHashMap<>();
+    private final Map<Long, Key> keyBySaleId = new ConcurrentHashMap<>();
+
+    // 아직 커밋되지 않은 예약 SALE_ID → 그 예약을 쓰는 트랜잭션 수 (예약을 만든 트랜잭션 포함)
+    private final Map<Long, PendingSale> pendingBySaleId = new ConcurrentHashMap<>();
+
+    // rebuild가 두 맵을 비우고 다시 채우는 동안 예약/닫기가 끼어들어 한쪽 맵에만 남지 않도록 막음
+    private final MemoryStoreGuard guard = new MemoryStoreGuard("열린 주문 인덱스", log);
+
+    public OpenOrderIndex(SalesMapper salesMapper, PlatformTransactionManager transactionManager) {
+        this.salesMapper = salesMapper;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 애플리케이션 기동 완료 후 열린 주문을 적재합니다.
+     * 실패해도 첫 주문 등록(findOrReserve)이 다시 적재하므로, 그때까지 등록만 늦어집니다.
+     * 톰캣은 이 이벤트 전에도 요청을 받으므로, 그 요청이 이미 적재했으면 다시 적재하지 않습니다 (예약 유지).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        guard.loadOnStartup(() -> rebuild() + "건");
+    }
+
+    /**
+     * DB의 열린 주문으로 인덱스를 다시 만듭니다. 같은 키에 열린 주문이 여러 개면 가장 작은 SALE_ID를 씁니다.
+     * 아직 커밋되지 않은 예약은 DB에 보이지 않으므로, 적재 후 그 키에 열린 주문이 없으면 예약을 다시 넣습니다.
+     *
+     * @return 적재된 키 개수
+     */
+    public int rebuild() {
+        return guard.reload(() -> {
+            Map<Key, Long> loaded = loadFromDatabase();
+            saleIdByKey.clear();
+            keyBySaleId.clear();
+            loaded.forEach((key, saleId) -> {
+                saleIdByKey.put(key, saleId);
+                keyBySaleId.put(saleId, key);
+            });
+            // 완료 처리는 읽기 잠금에서 하므로 적재 중에는 예약 목록이 바뀌지 않음
+            pendingBySaleId.forEach((saleId, pending) -> {
+                if (saleIdByKey.putIfAbsent(pending.key, saleId) == null) {
+                    keyBySaleId.put(saleId, pending.key);
+                }
+            });
+            return loaded.size();
+        });
+    }
+
+    /**
+     * 고객/일자의 열린 주문 SALE_ID를 조회합니다.
+     *
+     * @return 열린 주문 SALE_ID (없으면 null)
+     */
+    public Long find(Long customerId, LocalDate day) {
+        ensureLoaded();
+        return saleIdByKey.get(new Key(customerId, day));
+    }
+
+    /**
+     * 고객/일자의 열린 주문 SALE_ID를 조회하고, 없으면 newSaleId로 새 SALE_ID를 발급해 예약합니다.
+     * 같은 키로 동시에 호출해도 하나의 SALE_ID만 예약됩니다. newSaleId는 맵 밖에서 호출하므로
+     * 동시 예약에서 진 쪽이 발급한 번호는 쓰이지 않고 버려집니다.
+     */
+    public Reservation findOrReserve(Long customerId, LocalDate day, Supplier<Long> newSaleId) {
+        ensureLoaded();
+        Key key = new Key(customerId, day);
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        return guard.underReadLock(() -> {
+            while (true) {
+                Long saleId = saleIdByKey.get(key);
+                if (saleId != null) {
+                    if (join(key, saleId, inTransaction)) {
+                        return new Reservation(saleId, false);
+                    }
+                    // 참여하기 직전에 롤백으로 해제된 예약이면 다시 조회
+                    continue;
+                }
+                Long candidate = newSaleId.get();
+                if (inTransaction) {
+                    // 다른 등록이 키를 보자마자 참여할 수 있도록 맵에 넣기 전에 사용 중으로 등록
+                    pendingBySaleId.put(candidate, new PendingSale(key));
+                }
+                if (saleIdByKey.putIfAbsent(key, candidate) == null) {
+                    keyBySaleId.put(candidate, key);
+                    releaseOnCompletion(key, candidate);
+                    return new Reservation(candidate, true);
+                }
+                pendingBySaleId.remove(candidate);
+            }
+        });
+    }
+
+    /**
+     * 청구서 생성 등으로 닫힌 주문들을 인덱스에서 제거합니다.
+     */
+    public void closed(Collection<Long> saleIds) {
+        if (saleIds == null || saleIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(saleIds);
+        guard.afterCommit(() -> {
+            for (Long saleId : ids) {
+                Key key = keyBySaleId.remove(saleId);
+                if (key != null) {
+                    saleIdByKey.remove(key, saleId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 주문을 (다시) 열린 상태로 등록합니다. 같은 키의 다른 열린 주문(absorbedSaleIds)은 이 주문으로 흡수된 것으로 보고 제거합니다.
+     */
+    public void reopened(Long saleId, Long customerId, LocalDate day, Collection<Long> absorbedSaleIds) {
+        List<Long> absorbed = absorbedSaleIds != null ? new ArrayList<>(absorbedSaleIds) : List.of();
+        guard.afterCommit(() -> {
+            for (Long otherId : absorbed) {
+                Key key = keyBySaleId.remove(otherId);
+                if (key != null) {
+                    saleIdByKey.remove(key, otherId);
+                }
+            }
+            Key key = new Key(customerId, day);
+            Long previous = saleIdByKey.put(key, saleId);
+            if (previous != null && !previous.equals(saleId)) {
+                keyBySaleId.remove(previous, key);
+            }
+            keyBySaleId.put(saleId, key);
+        });
+    }
+
+    /**
+     * 열린 주문의 판매일자가 바뀐 경우 키를 옮깁니다. 닫힌 주문이면 아무것도 하지 않습니다.
+     * 새 일자에 이미 다른 열린 주문이 있으면 그 주문을 유지합니다.
+     */
+    public void moved(Long saleId, LocalDate newDay) {
+        guard.afterCommit(() -> {
+            Key oldKey = keyBySaleId.get(saleId);
+            if (oldKey == null || oldKey.day().equals(newDay)) {
+                return;
+            }
+            saleIdByKey.remove(oldKey, saleId);
+            Key newKey = new Key(oldKey.customerId(), newDay);
+            if (saleIdByKey.putIfAbsent(newKey, saleId) == null) {
+                keyBySaleId.put(saleId, newKey);
+            } else {
+                keyBySaleId.remove(saleId);
+            }
+        });
+    }
+
+    /**
+     * 인덱스와 DB의 열린 주문을 비교합니다.
+     * missing: DB에는 열린 주문이 있으나 인덱스에 키가 없음 / stale: 인덱스의 SALE_ID가 DB에서 열린 주문이 아님
+     */
+    public ConsistencyReport verify() {
+        Map<Key, Set<Long>> database = new HashMap<>();
+        for (Sale head : listOpenSaleIds()) {
+            Key key = new Key(head.getCustomerId(), head.getSaleAt().toLocalDate());
+            database.computeIfAbsent(key, k -> new HashSet<>()).add(head.getSaleId());
+        }
+        Map<Key, Long> snapshot = new HashMap<>(saleIdByKey);
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        for (Key key : database.keySet()) {
+            if (!snapshot.containsKey(key)) {
+                missing.add(key.toString());
+            }
+        }
+        snapshot.forEach((key, saleId) -> {
+            Set<Long> open = database.get(key);
+            if (open == null || !open.contains(saleId)) {
+                stale.add(key + "=" + saleId);
+            }
+        });
+        return new ConsistencyReport(snapshot.size(), database.size(), missing, stale);
+    }
+
+    private void ensureLoaded() {
+        guard.ensureLoaded(this::rebuild);
+    }
+
+    private Map<Key, Long> loadFromDatabase() {
+        Map<Key, Long> loaded = new HashMap<>();
+        for (Sale head : listOpenSaleIds()) {
+            Key key = new Key(head.getCustomerId(), head.getSaleAt().toLocalDate());
+            loaded.merge(key, head.getSaleId(), Math::min);
+        }
+        return loaded;
+    }
+
+    private List<Sale> listOpenSaleIds() {
+        List<Sale> heads = loadTransaction.execute(status -> salesMapper.listOpenSaleIds());
+        return heads != null ? heads : List.of();
+    }
+
+    // 커밋되지 않은 예약이면 사용 트랜잭션 수를 늘리고 완료 시 줄임. 예약이 이미 해제되었으면 false
+    private boolean join(Key key, Long saleId, boolean inTransaction) {
+        PendingSale pending = pendingBySaleId.computeIfPresent(saleId, (id, p) -> {
+            p.users++;
+            return p;
+        });
+        if (!saleId.equals(saleIdByKey.get(key))) {
+            // 조회와 참여 사이에 해제되었거나 닫힘: 늘린 사용 수를 되돌림
+            if (pending != null) {
+                completed(key, saleId, false);
+            }
+            return false;
+        }
+        if (pending != null) {
+            if (inTransaction) {
+                releaseOnCompletion(key, saleId);
+            } else {
+                // 트랜잭션 밖의 등록은 바로 반영되므로 커밋된 사용으로 봄
+                completed(key, saleId, true);
+            }
+        }
+        return true;
+    }
+
+    // 예약을 쓴 트랜잭션이 모두 끝났는데 하나도 커밋하지 않았으면 주문 행이 없으므로 예약 해제
+    private void releaseOnCompletion(Key key, Long saleId) {
+        guard.afterCompletion(committed -> completed(key, saleId, committed));
+    }
+
+    private void completed(Key key, Long saleId, boolean committed) {
+        pendingBySaleId.computeIfPresent(saleId, (id, p) -> {
+            p.committed |= committed;
+            if (--p.users > 0) {
+                return p;
+            }
+            if (!p.committed && saleIdByKey.remove(key, saleId)) {
+                keyBySaleId.remove(saleId, key);
+            }
+            return null;
+        });
+    }
+
+    // 커밋 전 예약의 키와 사용 상태 (users/committed는 pendingBySaleId.compute 안에서만 읽고 씀)
+    private static final class PendingSale {
+        private final Key key;
+        private int users = 1;
+        private boolean committed = false;
+
+        PendingSale(Key key) {
+            this.key = key;
+        }
+    }
+}
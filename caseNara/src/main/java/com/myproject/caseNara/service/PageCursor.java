@@ -0,0 +1,57 @@
+package com.myproject.caseNara.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션용 불투명 커서를 만들고 해석합니다.
+ * 마지막 행의 정렬 키 값들을 '|'로 이어 URL-safe Base64로 인코딩합니다.
+ */
+final class PageCursor {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private PageCursor() {
+    }
+
+    static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                sb.append('|');
+            }
+            sb.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서를 정렬 키 값 배열로 해석합니다.
+     *
+     * @param cursor 이전 응답의 next 값
+     * @param expectedKeys 정렬 키 개수
+     * @return 정렬 키 문자열 배열
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않은 경우
+     */
+    static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\|", -1);
+            if (keys.length != expectedKeys) {
+                throw new IllegalArgumentException("커서 형식이 올바르지 않습니다.");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("커서 형식이 올바르지 않습니다.");
+        }
+    }
+
+    // 요청 limit을 [1, MAX_LIMIT] 범위로 보정 (없으면 DEFAULT_LIMIT)
+    static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
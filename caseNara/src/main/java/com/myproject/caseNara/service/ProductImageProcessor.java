@@ -0,0 +1,441 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.config.WorkerThreads;
+import com.myproject.caseNara.mapper.ProductMapper;
+import com.myproject.caseNara.model.Product;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 이미지의 썸네일/중간 크기 변환본을 만듭니다.
+ * 원본 /uploads/{경로}에 대해 /uploads/variants/{경로}.thumb.jpg, .medium.jpg 를 만들고
+ * 같은 IMAGE_URL을 가진 상품 행의 THUMBNAIL_URL, MEDIUM_URL에 기록합니다.
+ *
+ * 변환은 크기가 정해진 백그라운드 실행기(스레드 수, 대기열 길이 설정)에서 하며, 대기열이 가득 차면 건너뜁니다.
+ * 건너뛴 이미지는 상품을 저장할 때 다시 요청되고, POST /api/products/image-variants/backfill 로도 만들 수 있습니다.
+ * 변환본은 JDK ImageIO로 다시 인코딩하므로 EXIF 등 메타데이터가 남지 않습니다(EXIF 방향은 픽셀에 반영).
+ */
+@Component
+public class ProductImageProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImageProcessor.class);
+
+    private static final String UPLOAD_DIR = "uploads";
+    private static final String VARIANT_DIR = "variants";
+
+    // 썸네일: 정사각형 중앙 자르기 (상품 목록 카드), 중간: 긴 변 기준 맞춤 (상세/수정 화면)
+    private static final int THUMBNAIL_SIZE = 240;
+    private static final int MEDIUM_SIZE = 800;
+    private static final float JPEG_QUALITY = 0.8f;
+
+    // 압축 폭탄 방지: 디코딩 전에 픽셀 수 확인
+    private static final long MAX_PIXELS = 60_000_000L;
+
+    public enum Variant {
+        THUMBNAIL(".thumb.jpg"),
+        MEDIUM(".medium.jpg");
+
+        private final String suffix;
+
+        Variant(String suffix) {
+            this.suffix = suffix;
+        }
+    }
+
+    /**
+     * 원본 이미지의 변환본 URL
+     */
+    public static record Variants(String thumbnailUrl, String mediumUrl) {}
+
+    private final ProductMapper productMapper;
+    private final ReferenceVersionService referenceVersionService;
+    private final CatalogCache catalogCache;
+    private final TransactionTemplate recordTransaction;
+    private final ThreadPoolExecutor executor;
+
+    public ProductImageProcessor(ProductMapper productMapper,
+                                 ReferenceVersionService referenceVersionService,
+                                 CatalogCache catalogCache,
+                                 PlatformTransactionManager transactionManager,
+                                 Environment environment,
+                                 @Value("${caseNara.image.threads:2}") int threads,
+                                 @Value("${caseNara.image.queue-capacity:100}") int queueCapacity) {
+        this.productMapper = productMapper;
+        this.referenceVersionService = referenceVersionService;
+        this.catalogCache = catalogCache;
+        this.recordTransaction = new TransactionTemplate(transactionManager);
+        // 변환은 CPU/메모리를 쓰므로 가상 스레드 모드에서도 스레드 수를 제한
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                WorkerThreads.factory(environment, "image-variants-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 저장할 상품에 이미 만들어진 변환본 URL을 채웁니다.
+     * 아직 없으면 비워 두고 변환을 요청합니다(트랜잭션 안이면 커밋 이후). 변환이 끝나면 행에 기록됩니다.
+     */
+    public void attachVariants(Product product) {
+        Variants variants = existingVariants(product.getImageUrl());
+        product.setThumbnailUrl(variants != null ? variants.thumbnailUrl() : null);
+        product.setMediumUrl(variants != null ? variants.mediumUrl() : null);
+        if (variants == null && product.getImageUrl() != null) {
+            submitAfterCommit(product.getImageUrl());
+        }
+    }
+
+    /**
+     * 원본 이미지의 변환을 백그라운드 실행기에 요청합니다. 대기열이 가득 차면 건너뜁니다.
+     */
+    public void submit(String imageUrl) {
+        if (sourcePath(imageUrl) == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(imageUrl);
+                } catch (Exception e) {
+                    log.warn("이미지 변환 실패: {} ({})", imageUrl, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("이미지 변환 대기열이 가득 차 건너뜀: {}", imageUrl);
+        }
+    }
+
+    /**
+     * 변환본이 없는 상품 이미지를 호출한 스레드에서 차례로 변환합니다 (기존 이미지 일괄 처리용).
+     *
+     * @return 처리한 원본 이미지 수
+     */
+    public int backfill() {
+        int processed = 0;
+        for (String imageUrl : productMapper.listImageUrlsWithoutVariants()) {
+            try {
+                if (process(imageUrl) != null) {
+                    processed++;
+                }
+            } catch (Exception e) {
+                log.warn("이미지 변환 실패: {} ({})", imageUrl, e.getMessage());
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * 원본 이미지의 변환본이 모두 있으면 URL을, 하나라도 없으면 null을 반환합니다.
+     */
+    public Variants existingVariants(String imageUrl) {
+        Path source = sourcePath(imageUrl);
+        if (source == null) {
+            return null;
+        }
+        if (!Files.exists(variantPath(source, Variant.THUMBNAIL)) || !Files.exists(variantPath(source, Variant.MEDIUM))) {
+            return null;
+        }
+        return variantUrls(source);
+    }
+
+    /**
+     * 변환본 파일명(또는 경로)에서 변환 접미사를 뗀 원본 이름을 반환합니다. 변환본이 아니면 null.
+     */
+    public static String sourceName(String variantName) {
+        for (Variant variant : Variant.values()) {
+            if (variantName.endsWith(variant.suffix)) {
+                return variantName.substring(0, variantName.length() - variant.suffix.length());
+            }
+        }
+        return null;
+    }
+
+    // 변환본을 만들고(이미 있으면 생략) 같은 IMAGE_URL을 가진 상품 행에 기록
+    private Variants process(String imageUrl) throws IOException {
+        Path source = sourcePath(imageUrl);
+        if (source == null || !Files.isRegularFile(source)) {
+            return null;
+        }
+        Variants variants = existingVariants(imageUrl);
+        if (variants == null) {
+            long start = System.nanoTime();
+            generate(source);
+            variants = variantUrls(source);
+            log.debug("이미지 변환 완료: {} ({}ms)", imageUrl, (System.nanoTime() - start) / 1_000_000);
+        }
+        Variants recorded = variants;
+        recordTransaction.executeWithoutResult(status -> {
+            for (Product product : productMapper.listProductsByImageUrl(imageUrl)) {
+                if (Objects.equals(product.getThumbnailUrl(), recorded.thumbnailUrl())
+                        && Objects.equals(product.getMediumUrl(), recorded.mediumUrl())) {
+                    continue;
+                }
+                productMapper.updateImageVariants(product.getProductId(), recorded.thumbnailUrl(), recorded.mediumUrl());
+                catalogCache.invalidateProduct(product.getProductId(), product.getProductName());
+                referenceVersionService.recordChange(ReferenceTable.PRODUCTS, String.valueOf(product.getProductId()));
+            }
+        });
+        return variants;
+    }
+
+    private void generate(Path source) throws IOException {
+        BufferedImage image = read(source, exifOrientation(source));
+
+        // 썸네일: 짧은 변 기준 정사각형 중앙 자르기 후 축소
+        int side = Math.min(image.getWidth(), image.getHeight());
+        BufferedImage square = image.getSubimage((image.getWidth() - side) / 2, (image.getHeight() - side) / 2, side, side);
+        int thumbnailSide = Math.min(side, THUMBNAIL_SIZE);
+        write(scaleDown(square, thumbnailSide, thumbnailSide), variantPath(source, Variant.THUMBNAIL));
+
+        // 중간: 긴 변이 MEDIUM_SIZE를 넘지 않게 비율 유지 축소 (작은 이미지는 확대하지 않음)
+        double ratio = Math.min(1.0, (double) MEDIUM_SIZE / Math.max(image.getWidth(), image.getHeight()));
+        int mediumWidth = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int mediumHeight = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        write(scaleDown(image, mediumWidth, mediumHeight), variantPath(source, Variant.MEDIUM));
+    }
+
+    // 필요한 크기의 2배 이상을 남기는 범위에서 서브샘플링하여 디코딩하고, 방향을 바로잡아 RGB로 변환
+    private static BufferedImage read(Path source, int orientation) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                throw new IOException("이미지를 열 수 없습니다");
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_PIXELS) {
+                    throw new IOException("이미지가 너무 큽니다: " + width + "x" + height);
+                }
+                int factor = Math.max(1, Math.min(
+                        Math.max(width, height) / (MEDIUM_SIZE * 2),
+                        Math.min(width, height) / (THUMBNAIL_SIZE * 2)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return orient(reader.read(0, param), orientation);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // EXIF 방향(1~8)을 픽셀에 반영하고 흰 배경의 RGB 이미지로 변환 (투명 PNG 대응)
+    private static BufferedImage orient(BufferedImage src, int orientation) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        AffineTransform tx = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> new AffineTransform();
+        };
+        boolean swap = orientation >= 5 && orientation <= 8;
+        BufferedImage dest = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dest.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, dest.getWidth(), dest.getHeight());
+            g.drawImage(src, tx, null);
+        } finally {
+            g.dispose();
+        }
+        return dest;
+    }
+
+    // 절반씩 단계적으로 줄여 한 번에 크게 줄일 때의 계단 현상을 줄임
+    private static BufferedImage scaleDown(BufferedImage src, int targetWidth, int targetHeight) {
+        BufferedImage current = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        do {
+            w = Math.max(targetWidth, w / 2);
+            h = Math.max(targetHeight, h / 2);
+            if (w < targetWidth * 2 && h < targetHeight * 2) {
+                w = targetWidth;
+                h = targetHeight;
+            }
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, w, h, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (w != targetWidth || h != targetHeight);
+        return current;
+    }
+
+    // 메타데이터 없이 JPEG로 기록. 임시 파일에 쓴 뒤 옮겨서 반쯤 쓴 파일이 제공되지 않게 함
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // JPEG APP1(Exif) 세그먼트의 IFD0에서 방향 태그(0x0112)를 읽음. 없거나 JPEG가 아니면 1
+    static int exifOrientation(Path source) {
+        byte[] b;
+        try (InputStream in = Files.newInputStream(source)) {
+            b = in.readNBytes(128 * 1024);
+        } catch (IOException e) {
+            return 1;
+        }
+        if (b.length < 4 || (b[0] & 0xFF) != 0xFF || (b[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+        int pos = 2;
+        while (pos + 4 <= b.length && (b[pos] & 0xFF) == 0xFF) {
+            int marker = b[pos + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) {
+                break; // 영상 데이터 시작 이후에는 Exif가 없음
+            }
+            int length = ((b[pos + 2] & 0xFF) << 8) | (b[pos + 3] & 0xFF);
+            int end = pos + 2 + length;
+            if (marker == 0xE1 && length >= 16 && end <= b.length
+                    && b[pos + 4] == 'E' && b[pos + 5] == 'x' && b[pos + 6] == 'i' && b[pos + 7] == 'f'
+                    && b[pos + 8] == 0 && b[pos + 9] == 0) {
+                return tiffOrientation(b, pos + 10, end);
+            }
+            pos = end;
+        }
+        return 1;
+    }
+
+    private static int tiffOrientation(byte[] b, int start, int end) {
+        boolean little = b[start] == 'I' && b[start + 1] == 'I';
+        if (!little && !(b[start] == 'M' && b[start + 1] == 'M')) {
+            return 1;
+        }
+        long ifd = start + readUnsigned(b, start + 4, 4, little);
+        if (ifd + 2 > end) {
+            return 1;
+        }
+        int count = (int) readUnsigned(b, (int) ifd, 2, little);
+        for (int i = 0; i < count; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > end) {
+                break;
+            }
+            if (readUnsigned(b, entry, 2, little) == 0x0112) {
+                int value = (int) readUnsigned(b, entry + 8, 2, little);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static long readUnsigned(byte[] b, int offset, int length, boolean little) {
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            int shift = little ? 8 * i : 8 * (length - 1 - i);
+            value |= (long) (b[offset + i] & 0xFF) << shift;
+        }
+        return value;
+    }
+
+    // /uploads/ 아래의 로컬 파일 경로 (외부 URL이나 uploads 밖을 가리키면 null)
+    private static Path sourcePath(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith("/" + UPLOAD_DIR + "/")) {
+            return null;
+        }
+        Path root = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
+        Path path = root.resolve(imageUrl.substring(UPLOAD_DIR.length() + 2)).normalize();
+        if (!path.startsWith(root) || path.startsWith(root.resolve(VARIANT_DIR))) {
+            return null;
+        }
+        return path;
+    }
+
+    private static Path variantPath(Path source, Variant variant) {
+        Path root = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
+        Path relative = root.relativize(source);
+        return root.resolve(VARIANT_DIR).resolve(relative.toString() + variant.suffix);
+    }
+
+    private static Variants variantUrls(Path source) {
+        return new Variants(variantUrl(source, Variant.THUMBNAIL), variantUrl(source, Variant.MEDIUM));
+    }
+
+    private static String variantUrl(Path source, Variant variant) {
+        Path root = Paths.get(UPLOAD_DIR).toAbsolutePath().normalize();
+        return "/" + UPLOAD_DIR + "/" + root.relativize(variantPath(source, variant)).toString().replace('\\', '/');
+    }
+
+    private void submitAfterCommit(String imageUrl) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(imageUrl);
+                }
+            });
+        } else {
+            submit(imageUrl);
+        }
+    }
+}
@@ -2,29 +2,61 @@ package com.myproject.caseNara.service;
 
 import com.myproject.caseNara.mapper.ProductMapper;
 import com.myproject.caseNara.model.Product;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.UUID;
 
 @Service
 public class ProductService {
 
+    private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+
     @Autowired
     private ProductMapper productMapper;
     
-    @Autowired(required = false)
-    private LookupService lookupService;
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    @Autowired
+    private ReferenceVersionService referenceVersionService;
+
+    @Autowired
+    private ProductImageProcessor productImageProcessor;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 이미지 이전은 원본 URL 하나 단위로 커밋
+    private TransactionTemplate migrationTransaction;
+
+    @PostConstruct
+    void initMigrationTransaction() {
+        this.migrationTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 기존 업로드 이전 결과: 이전한 원본 URL 수, 파일이 없어 건너뛴 URL 수
+     */
+    public static record ImageMigrationResult(int migrated, int missing) {}
 
     /**
      * 새로운 상품을 등록합니다.
@@ -32,11 +64,14 @@ public class ProductService {
      * @param product 등록할 상품 정보
      * @return 등록된 상품 정보
      */
+    @Transactional
     public Product insertProduct(Product product) {
+        product.setProductId(idAllocator.nextId(IdSequence.PRODUCTS));
+        productImageProcessor.attachVariants(product);
         productMapper.insertProduct(product);
-        if (lookupService != null) {
-            lookupService.invalidateProducts();
-        }
+        // 커밋 후 캐시가 먼저 비워지도록 무효화를 버전 기록보다 먼저 등록 (반대 순서면 새 버전이 이전 상품 목록과 함께 나갈 수 있음)
+        catalogCache.invalidateProduct(product.getProductId(), product.getProductName());
+        referenceVersionService.recordChange(ReferenceTable.PRODUCTS, String.valueOf(product.getProductId()));
         return product;
     }
 
@@ -52,27 +87,58 @@ public class ProductService {
             throw new IllegalArgumentException("상품명이 필요합니다.");
         }
         
-        Product existingProduct = productMapper.getProductByName(productName.trim());
+        Product existingProduct = catalogCache.findProductByName(productName.trim());
         return existingProduct != null;
     }
 
     /**
      * 상품 이미지를 업로드하고 이미지 URL을 반환합니다.
+     * 내용(SHA-256) 기준으로 저장하므로 같은 이미지를 다시 올리면 기존 파일과 URL을 재사용합니다.
+     * 썸네일/중간 크기 변환본은 백그라운드에서 만들어지고, 상품에 연결되면 THUMBNAIL_URL/MEDIUM_URL에 기록됩니다.
      *
      * @param image 업로드할 이미지 파일
-     * @return 업로드된 이미지의 URL
+     * @return 업로드된 이미지의 URL (/uploads/cas/...)
      * @throws IOException 파일 처리 중 오류 발생 시
      */
     public String uploadProductImage(MultipartFile image) throws IOException {
-        String fileName = UUID.randomUUID().toString() + "_" + image.getOriginalFilename();
-        Path uploadPath = Paths.get("uploads");
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+        String imageUrl;
+        try (InputStream in = image.getInputStream()) {
+            imageUrl = imageStore.store(in, image.getOriginalFilename());
         }
-        Path filePath = uploadPath.resolve(fileName);
-        Files.copy(image.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-        
-        return "/uploads/" + fileName;
+        productImageProcessor.submit(imageUrl);
+        return imageUrl;
+    }
+
+    /**
+     * 기존 /uploads/{UUID_이름} 이미지를 내용 주소 저장소로 옮기고 상품의 IMAGE_URL을 바꿉니다.
+     * 같은 내용의 파일은 하나로 합쳐지며, 옮긴 원본 파일은 고아 파일 정리 때 삭제됩니다.
+     * 변환본은 새 URL 기준으로 다시 만들며, 대기열이 가득 차 건너뛴 이미지는 변환본 일괄 생성으로 처리합니다.
+     *
+     * @return 이전 결과
+     * @throws IOException 파일 처리 중 오류 발생 시
+     */
+    public ImageMigrationResult migrateImagesToContentStore() throws IOException {
+        int migrated = 0;
+        int missing = 0;
+        for (String oldUrl : productMapper.listLegacyImageUrls()) {
+            Path file = legacyUploadPath(oldUrl);
+            if (file == null || !Files.isRegularFile(file)) {
+                log.warn("이전할 이미지 파일이 없습니다: {}", oldUrl);
+                missing++;
+                continue;
+            }
+            String newUrl = imageStore.store(file, file.getFileName().toString());
+            migrationTransaction.executeWithoutResult(status -> {
+                for (Product product : productMapper.listProductsByImageUrl(oldUrl)) {
+                    productMapper.updateImageUrl(product.getProductId(), newUrl);
+                    catalogCache.invalidateProduct(product.getProductId(), product.getProductName());
+                    referenceVersionService.recordChange(ReferenceTable.PRODUCTS, String.valueOf(product.getProductId()));
+                }
+            });
+            productImageProcessor.submit(newUrl);
+            migrated++;
+        }
+        return new ImageMigrationResult(migrated, missing);
     }
 
     /**
@@ -91,7 +157,7 @@ public class ProductService {
      * @return 조회된 상품 정보
      */
     public Product getProductById(Long productId) {
-        return productMapper.getProductById(productId);
+        return catalogCache.findProductById(productId);
     }
 
     /**
@@ -101,7 +167,7 @@ public class ProductService {
      * @return 조회된 상품 정보
      */
     public Product getProductByName(String productName) {
-        return productMapper.getProductByName(productName);
+        return catalogCache.findProductByName(productName);
     }
 
     /**
@@ -110,10 +176,13 @@ public class ProductService {
      * @param productId 삭제할 상품의 ID
      * @return 삭제된 레코드 수
      */
+    @Transactional
     public int deleteProduct(Long productId) {
+        Product existingProduct = catalogCache.findProductById(productId);
         int result = productMapper.deleteProduct(productId);
-        if (result > 0 && lookupService != null) {
-            lookupService.invalidateProducts();
+        if (result > 0) {
+            catalogCache.invalidateProduct(productId, existingProduct != null ? existingProduct.getProductName() : null);
+            referenceVersionService.recordChange(ReferenceTable.PRODUCTS, String.valueOf(productId));
         }
         return result;
     }
@@ -125,6 +194,7 @@ public class ProductService {
      * @param product 수정할 상품 정보
      * @return 수정된 레코드 수
      */
+    @Transactional
     public int updateProduct(Long productId, Product product) {
         if (product == null || product.getProductName() == null || product.getProductName().trim().isEmpty()) {
             throw new IllegalArgumentException("상품 정보가 올바르지 않습니다.");
@@ -144,54 +214,32 @@ public class ProductService {
         }
 
         product.setProductId(productId);
+        productImageProcessor.attachVariants(product);
         int result = productMapper.updateProduct(product);
-        if (result > 0 && lookupService != null) {
-            lookupService.invalidateProducts();
+        if (result > 0) {
+            catalogCache.invalidateProduct(productId, existingProduct.getProductName(), product.getProductName());
+            referenceVersionService.recordChange(ReferenceTable.PRODUCTS, String.valueOf(productId));
         }
         return result;
     }
 
+    // /uploads/ 바로 아래의 기존 업로드 파일 경로 (그 밖을 가리키면 null)
+    private static Path legacyUploadPath(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith("/uploads/")) {
+            return null;
+        }
+        Path root = Paths.get("uploads").toAbsolutePath().normalize();
+        Path path = root.resolve(imageUrl.substring("/uploads/".length())).normalize();
+        return root.equals(path.getParent()) ? path : null;
+    }
+
     /**
-     * 로컬 uploads 폴더에서 DB에 매핑되지 않은(참조되지 않는) 고아 파일을 삭제합니다.
+     * 변환본이 없는 기존 상품 이미지의 썸네일/중간 크기 변환본을 만듭니다.
      *
-     * @return 삭제된 파일 개수
-     * @throws IOException 파일 처리 중 오류 발생 시
+     * @return 처리한 원본 이미지 수
      */
-    public int cleanupUnmappedLocalUploads() throws IOException {
-        // DB에 저장된 이미지 URL 목록을 수집 (삭제되지 않은 상품만 대상)
-        List<String> urls = productMapper.listAllImageUrls();
-        Set<String> referencedFileNames = urls.stream()
-                .filter(Objects::nonNull)
-                .map(u -> {
-                    String s = u;
-                    // 선행 슬래시 제거
-                    if (s.startsWith("/")) s = s.substring(1);
-                    // /uploads/ 접두사 제거
-                    if (s.startsWith("uploads/")) s = s.substring("uploads/".length());
-                    // 경로에서 파일명만 추출
-                    return Paths.get(s).getFileName().toString();
-                })
-                .collect(Collectors.toSet());
-
-        Path uploadPath = Paths.get("uploads");
-        if (!Files.exists(uploadPath)) {
-            return 0; // 폴더가 없으면 삭제할 것이 없음
-        }
-
-        int deleted = 0;
-        try (var files = Files.list(uploadPath)) {
-            for (Path p : (Iterable<Path>) files::iterator) {
-                if (Files.isRegularFile(p)) {
-                    String name = p.getFileName().toString();
-                    if (!referencedFileNames.contains(name)) {
-                        Files.deleteIfExists(p);
-                        deleted++;
-                    }
-                }
-            }
-        }
-
-        return deleted;
+    public int backfillImageVariants() {
+        return productImageProcessor.backfill();
     }
 
 }
\ No newline at end of file
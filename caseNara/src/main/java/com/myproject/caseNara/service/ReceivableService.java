@@ -0,0 +1,102 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.ReceivableMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 고객별 미수금(receivables) 집계를 관리합니다.
+ * 청구서가 바뀔 때 BillService가 같은 트랜잭션 안에서 해당 고객만 다시 집계하므로,
+ * 잔액/경과일 조회는 BILLS를 훑지 않고 집계 테이블만 읽습니다.
+ */
+@Service
+public class ReceivableService {
+
+    private static final String[] AGING_BUCKETS = {"days0To30", "days31To60", "days61To90", "daysOver90"};
+
+    @Autowired
+    private ReceivableMapper receivableMapper;
+
+    /**
+     * 한 고객의 일자별 미수 잔액과 미수 총액을 BILLS 기준으로 다시 집계합니다.
+     * 호출한 쪽의 트랜잭션에 참여합니다.
+     */
+    @Transactional
+    public void refreshCustomer(Long customerId) {
+        if (customerId == null) {
+            return;
+        }
+        receivableMapper.deleteDaily(customerId);
+        receivableMapper.insertDailyFromBills(customerId);
+        receivableMapper.upsertBalance(customerId);
+    }
+
+    /**
+     * 전체 고객의 미수 집계를 BILLS 기준으로 다시 만듭니다.
+     *
+     * @return 미수 잔액이 있는 고객 수
+     */
+    @Transactional
+    public int rebuild() {
+        receivableMapper.deleteDaily(null);
+        receivableMapper.insertDailyFromBills(null);
+        receivableMapper.deleteAllBalances();
+        return receivableMapper.insertAllBalances();
+    }
+
+    /**
+     * 미수 잔액이 있는 고객 목록을 미수 총액 내림차순으로 조회합니다.
+     */
+    public List<Map<String, Object>> listBalances() {
+        return receivableMapper.listBalances();
+    }
+
+    /**
+     * 고객 한 명의 미수 잔액을 조회합니다. 집계된 적이 없으면 null입니다.
+     */
+    public Map<String, Object> getBalance(Long customerId) {
+        if (customerId == null) {
+            throw new IllegalArgumentException("customerId가 필요합니다");
+        }
+        return receivableMapper.findBalance(customerId);
+    }
+
+    /**
+     * 기준일(미지정 시 한국 시간 기준 오늘) 대비 경과일 구간별 고객 미수 잔액과 구간별 합계를 조회합니다.
+     */
+    public Map<String, Object> getAging(String asOfDate) {
+        LocalDate asOf;
+        try {
+            asOf = (asOfDate == null || asOfDate.isBlank())
+                    ? LocalDate.now(ZoneId.of("Asia/Seoul"))
+                    : LocalDate.parse(asOfDate);
+        } catch (java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("기준일 형식이 올바르지 않습니다: " + asOfDate);
+        }
+        List<Map<String, Object>> rows = receivableMapper.listAging(asOf);
+        Map<String, Long> totals = new LinkedHashMap<>();
+        totals.put("outstanding", 0L);
+        for (String bucket : AGING_BUCKETS) {
+            totals.put(bucket, 0L);
+        }
+        for (Map<String, Object> row : rows) {
+            totals.replaceAll((key, sum) -> sum + toLong(row.get(key)));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("asOf", asOf.toString());
+        result.put("rows", rows);
+        result.put("totals", totals);
+        return result;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+}
@@ -0,0 +1,11 @@
+package com.myproject.caseNara.service;
+
+/**
+ * 버전을 관리하는 기준 정보 테이블 목록입니다.
+ * REFERENCE_CHANGES 테이블의 TABLE_NAME 값으로 상수 이름을 사용합니다.
+ */
+public enum ReferenceTable {
+    CUSTOMERS,
+    PRODUCTS,
+    MENUS
+}
@@ -0,0 +1,232 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.IdSequenceMapper;
+import com.myproject.caseNara.mapper.ReferenceChangeMapper;
+import com.myproject.caseNara.model.ReferenceChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 기준 정보(고객/상품/메뉴) 테이블별 버전을 관리합니다.
+ * 변경 메서드가 recordChange로 REFERENCE_CHANGES에 이력을 남기면 CHANGE_ID가 새 버전이 되고,
+ * 조회 API는 버전으로 ETag를 만들며 /api/lookup/bootstrap?since= 는 이력으로 변경분만 돌려줍니다.
+ *
+ * CHANGE_ID는 ID_SEQUENCES의 REFERENCE_CHANGES 행을 잠가 발급하므로 기준 정보 변경은 커밋까지 직렬화되고,
+ * 번호 순서와 커밋 순서가 같아 since 이후 변경을 빠뜨리지 않습니다. 메모리의 버전은 커밋 이후에 올립니다.
+ * 버전은 이 JVM 기준이므로 여러 인스턴스로 운영하거나 DB를 직접 수정한 경우 POST /api/lookup/refresh 로 올립니다.
+ */
+@Service
+public class ReferenceVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceVersionService.class);
+
+    private static final String SEQ_NAME = "REFERENCE_CHANGES";
+
+    // 변경 이력 보관 기간
+    private static final int RETENTION_DAYS = 30;
+
+    /**
+     * since 이후 변경분. full이면 이력만으로 알 수 없으므로 전체 목록을 다시 보내야 합니다.
+     */
+    public static record Delta(boolean full, Set<String> keys) {}
+
+    private final ReferenceChangeMapper referenceChangeMapper;
+    private final IdSequenceMapper idSequenceMapper;
+    private final TransactionTemplate loadTransaction;
+
+    private final Map<ReferenceTable, Long> versions = new EnumMap<>(ReferenceTable.class);
+
+    // 버전은 올리기만 하므로(merge max) 적재와 커밋 이후 반영이 겹쳐도 값은 맞지만,
+    // 적재 중에 커밋된 변경이 적재 완료 전 ETag로 나가지 않도록 적재 동안 반영을 미룸
+    private final MemoryStoreGuard guard = new MemoryStoreGuard("기준 정보 버전", log);
+
+    public ReferenceVersionService(ReferenceChangeMapper referenceChangeMapper,
+                                   IdSequenceMapper idSequenceMapper,
+                                   PlatformTransactionManager transactionManager) {
+        this.referenceChangeMapper = referenceChangeMapper;
+        this.idSequenceMapper = idSequenceMapper;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 애플리케이션 기동 완료 후 테이블별 버전을 적재합니다.
+     * 실패하면 첫 ETag 계산이 다시 적재하며, 그 전에 버전 0으로 ETag를 내보내지는 않습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        guard.loadOnStartup(() -> {
+            reload();
+            return snapshot();
+        });
+    }
+
+    /**
+     * 보관 기간이 지난 변경 이력을 삭제합니다 (매일 오전 4시).
+     */
+    @Scheduled(cron = "0 0 4 * * *", zone = "Asia/Seoul")
+    public void purgeOldChanges() {
+        try {
+            int deleted = referenceChangeMapper.deleteChangesBefore(LocalDateTime.now().minusDays(RETENTION_DAYS));
+            log.info("기준 정보 변경 이력 정리 완료. 삭제된 이력 수: {}", deleted);
+        } catch (Exception e) {
+            log.error("기준 정보 변경 이력 정리 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 행 변경을 기록합니다. 호출한 트랜잭션에 참여하며(없으면 새로 시작), 버전은 커밋 이후에 올라갑니다.
+     * 커밋 이후 작업은 등록 순서대로 실행되므로 조회 캐시 무효화(CatalogCache)는 이 메서드보다 먼저 호출해야
+     * 새 버전이 이전 캐시 목록과 함께 응답되지 않습니다.
+     *
+     * @param table 변경된 테이블
+     * @param rowKey 변경된 행의 키 (고객: 상호명, 상품: PRODUCT_ID)
+     */
+    @Transactional
+    public void recordChange(ReferenceTable table, String rowKey) {
+        long changeId = nextChangeId();
+        referenceChangeMapper.insertChange(new ReferenceChange(changeId, table.name(), rowKey, null));
+        afterCommit(table, changeId);
+    }
+
+    /**
+     * 테이블 전체 변경을 기록합니다. 이후 since 요청은 전체 목록을 받습니다.
+     */
+    @Transactional
+    public void recordReset(ReferenceTable table) {
+        recordChange(table, null);
+    }
+
+    /**
+     * 테이블의 현재 버전을 반환합니다 (변경 이력이 없으면 0).
+     */
+    public long version(ReferenceTable table) {
+        ensureLoaded();
+        synchronized (versions) {
+            return versions.getOrDefault(table, 0L);
+        }
+    }
+
+    /**
+     * 여러 테이블을 묶은 응답의 버전(가장 큰 테이블 버전)을 반환합니다.
+     */
+    public long version(ReferenceTable... tables) {
+        long max = 0;
+        for (ReferenceTable table : tables) {
+            max = Math.max(max, version(table));
+        }
+        return max;
+    }
+
+    /**
+     * 테이블 버전으로 만든 강한 ETag를 반환합니다. 예: "products-42", "customers-40.products-42"
+     */
+    public String etag(ReferenceTable... tables) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < tables.length; i++) {
+            if (i > 0) {
+                sb.append('.');
+            }
+            sb.append(tables[i].name().toLowerCase()).append('-').append(version(tables[i]));
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * since 이후 변경된 행 키 목록을 반환합니다.
+     * 전체 변경 이력이 있거나, since 이후 이력 일부가 이미 정리되었을 수 있으면 full입니다.
+     */
+    public Delta changesSince(ReferenceTable table, long since) {
+        // since가 현재 버전보다 크면(다른 인스턴스/초기화된 DB 기준) 이력으로 맞출 수 없음
+        if (since < 0 || since > version(ReferenceTable.values())) {
+            return new Delta(true, Set.of());
+        }
+        return loadTransaction.execute(status -> {
+            List<ReferenceChange> changes = referenceChangeMapper.listChangesSince(table.name(), since);
+            if (!changes.isEmpty()) {
+                // 정리(purge)는 오래된 이력부터 지우므로 since가 남은 이력보다 앞서면 빠진 이력이 있을 수 있음
+                Long oldest = referenceChangeMapper.findOldestChangeId(table.name());
+                if (oldest != null && since < oldest - 1) {
+                    return new Delta(true, Set.of());
+                }
+            }
+            Set<String> keys = new LinkedHashSet<>();
+            for (ReferenceChange change : changes) {
+                if (change.getRowKey() == null) {
+                    return new Delta(true, Set.of());
+                }
+                keys.add(change.getRowKey());
+            }
+            return new Delta(false, keys);
+        });
+    }
+
+    // REFERENCE_CHANGES 시퀀스 행을 잠그고(커밋까지 유지) 다음 번호를 발급
+    private long nextChangeId() {
+        Long next = idSequenceMapper.lockNextValue(SEQ_NAME);
+        if (next == null) {
+            // 시퀀스 행이 없으면 현재 이력의 MAX + 1로 1회 초기화
+            idSequenceMapper.insertSequenceIfAbsent(SEQ_NAME, SEQ_NAME, "CHANGE_ID");
+            next = idSequenceMapper.lockNextValue(SEQ_NAME);
+        }
+        idSequenceMapper.advance(SEQ_NAME, 1);
+        return next;
+    }
+
+    private void reload() {
+        guard.reload(() -> {
+            loadVersions();
+            return null;
+        });
+    }
+
+    private void loadVersions() {
+        List<ReferenceChange> latest = loadTransaction.execute(status -> referenceChangeMapper.listLatestVersions());
+        synchronized (versions) {
+            if (latest != null) {
+                for (ReferenceChange row : latest) {
+                    try {
+                        versions.merge(ReferenceTable.valueOf(row.getTableName()), row.getChangeId(), Math::max);
+                    } catch (IllegalArgumentException e) {
+                        log.warn("알 수 없는 기준 정보 테이블 이력: {}", row.getTableName());
+                    }
+                }
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        guard.ensureLoaded(this::reload);
+    }
+
+    private Map<ReferenceTable, Long> snapshot() {
+        synchronized (versions) {
+            return new EnumMap<>(versions);
+        }
+    }
+
+    // 트랜잭션 안이면 커밋 이후에, 아니면 즉시 버전 반영
+    private void afterCommit(ReferenceTable table, long changeId) {
+        guard.afterCommit(() -> {
+            synchronized (versions) {
+                versions.merge(table, changeId, Math::max);
+            }
+        });
+    }
+}
@@ -0,0 +1,202 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.SalesRollupMapper;
+import com.myproject.caseNara.model.SalesDayKey;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 일별 판매 집계(sales_daily_rollup)를 관리합니다.
+ * 주문이 바뀌면 SalesService가 같은 트랜잭션 안에서 바뀐 (고객, 판매일자)만 다시 집계하고,
+ * 요약 조회는 SALES 대신 집계 행만 읽습니다.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private static final Set<String> GROUP_BY = Set.of("day", "customer", "product");
+
+    @Autowired
+    private SalesRollupMapper salesRollupMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // backfill은 하루 단위로 커밋하여 긴 트랜잭션을 피함
+    private TransactionTemplate dayTransaction;
+
+    @PostConstruct
+    void initDayTransaction() {
+        this.dayTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 일자 범위 점검 결과: 집계 테이블과 SALES 원본의 일자별 합계가 다른 날짜 목록
+     */
+    public static record VerifyResult(String startDate, String endDate, int days, List<String> mismatchedDays) {
+        public boolean isConsistent() {
+            return mismatchedDays.isEmpty();
+        }
+    }
+
+    /**
+     * (고객, 판매일자) 목록의 집계를 SALES 기준으로 다시 만듭니다. 호출한 쪽의 트랜잭션에 참여합니다.
+     */
+    public void refresh(Collection<SalesDayKey> keys) {
+        refresh(keys, salesRollupMapper);
+    }
+
+    /**
+     * refresh와 같으나 지정한 매퍼(예: BATCH 세션 매퍼)로 실행합니다.
+     */
+    public void refresh(Collection<SalesDayKey> keys, SalesRollupMapper mapper) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<SalesDayKey> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        mapper.deleteByKeys(distinct);
+        mapper.insertByKeys(distinct);
+    }
+
+    /**
+     * 판매일자 범위의 집계를 하루씩 다시 만듭니다. 날짜를 지정하지 않으면 SALES 전체 기간을 대상으로 합니다.
+     *
+     * @return 처리한 일수
+     */
+    public int backfill(String startDate, String endDate) {
+        LocalDate[] range = resolveRange(startDate, endDate);
+        long started = System.nanoTime();
+        int days = 0;
+        for (LocalDate day = range[0]; day.isBefore(range[1]); day = day.plusDays(1)) {
+            LocalDate current = day;
+            dayTransaction.executeWithoutResult(status -> {
+                salesRollupMapper.deleteByRange(current, current.plusDays(1));
+                salesRollupMapper.insertByRange(current.atStartOfDay(), current.plusDays(1).atStartOfDay());
+            });
+            days++;
+        }
+        log.info("일별 판매 집계 backfill 완료: {} ~ {} ({}일, {}ms)",
+                range[0], range[1].minusDays(1), days, (System.nanoTime() - started) / 1_000_000);
+        return days;
+    }
+
+    /**
+     * 판매일자 범위의 집계를 다시 만든 뒤 SALES 원본과 일자별 합계를 비교합니다.
+     */
+    public VerifyResult rebuildAndVerify(String startDate, String endDate) {
+        backfill(startDate, endDate);
+        return verify(startDate, endDate);
+    }
+
+    /**
+     * 집계 테이블과 SALES 원본의 일자별 수량/금액/항목 수를 비교합니다.
+     */
+    @Transactional(readOnly = true)
+    public VerifyResult verify(String startDate, String endDate) {
+        LocalDate[] range = resolveRange(startDate, endDate);
+        Map<String, Map<String, Object>> rollup = byDay(salesRollupMapper.listRollupDailyTotals(range[0], range[1]));
+        Map<String, Map<String, Object>> sales = byDay(salesRollupMapper.listSalesDailyTotals(
+                range[0].atStartOfDay(), range[1].atStartOfDay()));
+        Set<String> days = new LinkedHashSet<>(sales.keySet());
+        days.addAll(rollup.keySet());
+        List<String> mismatched = new ArrayList<>();
+        for (String day : days) {
+            if (!sameTotals(rollup.get(day), sales.get(day))) {
+                mismatched.add(day);
+            }
+        }
+        if (!mismatched.isEmpty()) {
+            log.warn("일별 판매 집계 불일치 {}일: {}", mismatched.size(), mismatched);
+        }
+        return new VerifyResult(range[0].toString(), range[1].minusDays(1).toString(), days.size(), mismatched);
+    }
+
+    /**
+     * 기간 요약을 집계 테이블에서 조회합니다.
+     *
+     * @param groupBy day(일자별, 기본값) | customer(고객별) | product(상품별)
+     * @param customerId 특정 고객만 조회 (선택)
+     */
+    public List<Map<String, Object>> summary(String startDate, String endDate, String groupBy, Long customerId) {
+        String group = (groupBy == null || groupBy.isBlank()) ? "day" : groupBy;
+        if (!GROUP_BY.contains(group)) {
+            throw new IllegalArgumentException("groupBy는 day, customer, product 중 하나여야 합니다.");
+        }
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        return salesRollupMapper.listSummary(range.startAt().toLocalDate(), range.endAt().toLocalDate(), group, customerId);
+    }
+
+    // [시작일, 종료일 다음날) 범위. 미지정 시 SALES의 최초/최종 판매일
+    private LocalDate[] resolveRange(String startDate, String endDate) {
+        if (startDate != null && endDate != null) {
+            DateRange range = DateRange.ofDays(startDate, endDate);
+            return new LocalDate[]{range.startAt().toLocalDate(), range.endAt().toLocalDate()};
+        }
+        Map<String, Object> bounds = salesRollupMapper.findSalesBounds();
+        LocalDate min = toDate(bounds != null ? bounds.get("minSaleAt") : null);
+        LocalDate max = toDate(bounds != null ? bounds.get("maxSaleAt") : null);
+        if (min == null || max == null) {
+            LocalDate today = LocalDate.now();
+            return new LocalDate[]{today, today};
+        }
+        return new LocalDate[]{min, max.plusDays(1)};
+    }
+
+    private static LocalDate toDate(Object value) {
+        if (value instanceof LocalDateTime dt) {
+            return dt.toLocalDate();
+        }
+        if (value instanceof java.sql.Timestamp ts) {
+            return ts.toLocalDateTime().toLocalDate();
+        }
+        return null;
+    }
+
+    private static Map<String, Map<String, Object>> byDay(List<Map<String, Object>> rows) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Map<String, Object> row : rows) {
+            result.put(String.valueOf(row.get("saleDate")), row);
+        }
+        return result;
+    }
+
+    private static boolean sameTotals(Map<String, Object> a, Map<String, Object> b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        for (String column : List.of("quantity", "amount", "lineCount")) {
+            if (toDecimal(a.get(column)).compareTo(toDecimal(b.get(column))) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal d) {
+            return d;
+        }
+        if (value instanceof Number n) {
+            return new BigDecimal(n.toString());
+        }
+        return BigDecimal.ZERO;
+    }
+}
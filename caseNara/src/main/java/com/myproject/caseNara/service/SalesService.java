@@ -3,26 +3,72 @@ package com.myproject.caseNara.service;
 import com.myproject.caseNara.mapper.CustomerMapper;
 import com.myproject.caseNara.mapper.ProductMapper;
 import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.mapper.SalesRollupMapper;
+import com.myproject.caseNara.mapper.TopProductsMapper;
+import com.myproject.caseNara.model.CursorPage;
 import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.CustomerProductCount;
 import com.myproject.caseNara.model.Product;
 import com.myproject.caseNara.model.Sale;
+import com.myproject.caseNara.model.SaleMerge;
+import com.myproject.caseNara.model.SalesDayKey;
+import jakarta.annotation.PostConstruct;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class SalesService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesService.class);
+
+    // multi-row upsert 한 번에 보낼 최대 행 수
+    private static final int INSERT_CHUNK_SIZE = 500;
     
     @Autowired
     private SalesMapper salesMapper;
     
     @Autowired
-    private CustomerMapper customerMapper;
-    
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private IdAllocator idAllocator;
+
+    @Autowired
+    private OpenOrderIndex openOrderIndex;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private TopProductsStore topProductsStore;
+
     @Autowired
-    private ProductMapper productMapper;
+    private SqlSessionFactory sqlSessionFactory;
+
+    // 대량 등록 전용 BATCH 실행기 세션 (트랜잭션 내에서 JDBC 배치로 전송)
+    private SqlSessionTemplate batchSqlSession;
+
+    @PostConstruct
+    void initBatchSqlSession() {
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
 
     /**
      * 주문 상품 항목을 나타내는 레코드 클래스입니다.
@@ -30,23 +76,64 @@ public class SalesService {
     public static record CreateOrderItem(String productName, Integer quantity) {}
 
     /**
-     * 주문 생성 요청을 나타내는 레코드 클래스입니다.
+     * 주문 생성/수정 요청을 나타내는 레코드 클래스입니다.
+     * version은 주문 수정 시 화면이 읽은 주문 버전이며, 주문 생성에서는 사용하지 않습니다.
+     */
+    public static record OrderRequest(String customerName, String saleDate, List<CreateOrderItem> items, Long version) {
+        public OrderRequest(String customerName, String saleDate, List<CreateOrderItem> items) {
+            this(customerName, saleDate, items, null);
+        }
+    }
+
+    /**
+     * 주문과 그 버전입니다. 주문 수정 화면은 이 버전을 수정 요청에 함께 보냅니다.
      */
-    public static record OrderRequest(String customerName, String saleDate, List<CreateOrderItem> items) {}
+    public static record OrderSnapshot(long version, List<Sale> items) {}
+
+    /**
+     * 주문 수정 요청의 버전이 저장된 주문 버전과 다를 때 발생합니다 (그 사이 다른 수정이 반영됨).
+     * 트랜잭션은 롤백되며, 호출한 쪽은 현재 주문(getOrderSnapshot)을 다시 읽어 새 버전으로 재시도합니다.
+     */
+    public static class OrderVersionConflictException extends IllegalStateException {
+        private final long expectedVersion;
+
+        public OrderVersionConflictException(Long saleId, long expectedVersion) {
+            super("다른 사용자가 먼저 주문을 수정했습니다. 최신 주문을 확인한 뒤 다시 저장하세요. (주문 " + saleId + ")");
+            this.expectedVersion = expectedVersion;
+        }
+
+        public long getExpectedVersion() {
+            return expectedVersion;
+        }
+    }
+
+    /**
+     * 대량 주문 등록 시 주문별 처리 결과를 나타내는 레코드 클래스입니다.
+     */
+    public static record OrderResult(int index, String customerName, boolean success, Long saleId, int lines, String message) {}
+
+    /**
+     * 대량 주문 등록 결과(주문별 결과 및 처리량)를 나타내는 레코드 클래스입니다.
+     */
+    public static record BatchOrderResult(List<OrderResult> results, int totalLines, long elapsedMs, double linesPerSecond) {}
+
+    // 대량 등록에서 검증을 통과한 주문 (상품별 수량/금액 합산)
+    private static record PreparedOrder(int index, Customer customer, LocalDateTime saleAt, Map<Long, int[]> lines) {}
 
     /**
      * 새로운 주문을 생성합니다.
      *
      * @param request 주문 생성 요청 정보 (고객명, 판매일자, 주문 상품 목록)
-     * @return 생성된 주문 항목 수
+     * @return 반영된 주문 항목 수
      * @throws IllegalArgumentException 주문 정보가 없거나, 고객 또는 상품을 찾을 수 없는 경우
      */
+    @Transactional
     public int createOrder(OrderRequest request) {
         if (request == null || request.items() == null || request.items().isEmpty()) {
             throw new IllegalArgumentException("상품 항목이 필요합니다.");
         }
 
-        Customer customer = customerMapper.findByCompanyName(request.customerName());
+        Customer customer = catalogCache.findCustomerByName(request.customerName());
         if (customer == null) {
             throw new IllegalArgumentException("상호명을 찾을 수 없습니다.");
         }
@@ -57,11 +144,25 @@ public class SalesService {
         }
         LocalDateTime saleAt = LocalDateTime.parse(request.saleDate() + "T00:00:00");
 
-        // 동일 날짜/고객에 대해 하나의 SALE_ID로 묶기: 열린 주문이 있으면 재사용, 없으면 첫 항목 삽입 시 생성
-        Long saleIdToUse = salesMapper.findOpenSaleId(customer.getCustomerId(), saleAt);
+        // 동일 날짜/고객에 대해 하나의 SALE_ID로 묶기: 열린 주문 인덱스에서 재사용하거나 새로 예약
+        OpenOrderIndex.Reservation reservation = openOrderIndex.findOrReserve(
+                customer.getCustomerId(), saleAt.toLocalDate(), () -> idAllocator.nextId(IdSequence.SALES));
+        Long saleIdToUse = reservation.saleId();
+        // 주문 버전 +1 (수정 화면에서 이전 버전으로 저장하려는 요청은 409)
+        salesMapper.bumpSaleVersions(List.of(saleIdToUse));
+        // 추천 상품 주문 횟수: 이 주문에 처음 들어가는 상품만 +1
+        Set<Long> orderedProducts = new HashSet<>();
+        if (!reservation.created()) {
+            for (Sale existing : salesMapper.findSalesById(saleIdToUse)) {
+                orderedProducts.add(existing.getProductId());
+            }
+        }
+        List<CustomerProductCount> countDeltas = new ArrayList<>();
+        // 같은 상품은 한 행으로 합산해 multi-row upsert 한 구문으로 기록 (항목 수와 관계없이 구문 수 고정)
+        Map<Long, Sale> lines = new LinkedHashMap<>();
         int inserted = 0;
         for (CreateOrderItem item : request.items()) {
-            Product product = productMapper.getProductByName(item.productName());
+            Product product = catalogCache.findProductByName(item.productName());
             if (product == null) {
                 throw new IllegalArgumentException("상품을 찾을 수 없습니다: " + item.productName());
             }
@@ -76,43 +177,230 @@ public class SalesService {
             }
             int unitPrice = salePrice * item.quantity();
 
-            if (saleIdToUse == null) {
-                // 첫 항목: SALE_ID가 없으면 삽입하며 selectKey로 SALE_ID를 생성/재사용
-                Sale sale = Sale.builder()
+            // 동일 SALE_ID의 상품 항목에 가산 (없거나 삭제된 항목이면 새로 활성화)
+            Sale line = lines.get(product.getProductId());
+            if (line == null) {
+                lines.put(product.getProductId(), Sale.builder()
+                        .saleId(saleIdToUse)
                         .customerId(customer.getCustomerId())
                         .productId(product.getProductId())
                         .quantity(item.quantity())
                         .unitPrice(unitPrice)
                         .saleAt(saleAt)
                         .deleted(0)
-                        .build();
-                inserted += salesMapper.insertSale(sale);
-                saleIdToUse = sale.getSaleId();
+                        .build());
+            } else {
+                line.setQuantity(line.getQuantity() + item.quantity());
+                line.setUnitPrice(line.getUnitPrice() + unitPrice);
+            }
+            inserted++;
+            if (orderedProducts.add(product.getProductId())) {
+                countDeltas.add(new CustomerProductCount(customer.getCustomerId(), product.getProductId(), 1));
+            }
+        }
+        List<Sale> lineRows = new ArrayList<>(lines.values());
+        for (int from = 0; from < lineRows.size(); from += INSERT_CHUNK_SIZE) {
+            salesMapper.upsertSaleLines(lineRows.subList(from, Math.min(from + INSERT_CHUNK_SIZE, lineRows.size())));
+        }
+
+        // 일별 판매 집계, 추천 상품 주문 횟수 갱신 (같은 트랜잭션)
+        salesRollupService.refresh(List.of(new SalesDayKey(customer.getCustomerId(), saleAt.toLocalDate())));
+        topProductsStore.apply(countDeltas);
+        return inserted;
+    }
+
+    /**
+     * 여러 고객의 주문을 한 번에 등록합니다.
+     * 고객/상품은 이름 목록으로 한 번에 조회하고, (고객, 일자)별 열린 SALE_ID는 열린 주문 인덱스에서 구한 뒤
+     * 모든 항목을 하나의 트랜잭션에서 multi-row upsert(기존 항목은 수량 가산, 신규 항목은 추가)로 기록합니다.
+     * 검증에 실패한 주문은 건너뛰고 주문별 결과에 사유를 남깁니다.
+     *
+     * @param requests 주문 생성 요청 목록
+     * @return 주문별 결과와 처리량(초당 항목 수)
+     * @throws IllegalArgumentException 요청 목록이 비어 있는 경우
+     */
+    @Transactional
+    public BatchOrderResult createOrders(List<OrderRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("주문 목록이 필요합니다.");
+        }
+        long started = System.nanoTime();
+
+        // 트랜잭션 내 모든 구문은 BATCH 세션으로 실행 (동일 트랜잭션에서 실행기 혼용 불가)
+        SalesMapper batchSalesMapper = batchSqlSession.getMapper(SalesMapper.class);
+        CustomerMapper batchCustomerMapper = batchSqlSession.getMapper(CustomerMapper.class);
+        ProductMapper batchProductMapper = batchSqlSession.getMapper(ProductMapper.class);
+
+        // 1) 고객/상품을 이름 목록으로 한 번에 조회
+        Set<String> customerNames = new LinkedHashSet<>();
+        Set<String> productNames = new LinkedHashSet<>();
+        for (OrderRequest request : requests) {
+            if (request == null) {
                 continue;
             }
+            if (request.customerName() != null) {
+                customerNames.add(request.customerName());
+            }
+            if (request.items() != null) {
+                for (CreateOrderItem item : request.items()) {
+                    if (item != null && item.productName() != null) {
+                        productNames.add(item.productName());
+                    }
+                }
+            }
+        }
+        Map<String, Customer> customersByName = new HashMap<>();
+        if (!customerNames.isEmpty()) {
+            for (Customer c : batchCustomerMapper.findByCompanyNames(new ArrayList<>(customerNames))) {
+                customersByName.put(c.getCompanyName(), c);
+            }
+        }
+        Map<String, Product> productsByName = new HashMap<>();
+        if (!productNames.isEmpty()) {
+            for (Product p : batchProductMapper.getProductsByNames(new ArrayList<>(productNames))) {
+                productsByName.put(p.getProductName(), p);
+            }
+        }
 
-            // 이후 항목: 동일 SALE_ID로 병합 시도, 없으면 동일 SALE_ID로 신규 추가
-            int updated = salesMapper.updateSaleQuantity(
-                    saleIdToUse,
-                    product.getProductId(),
-                    item.quantity(),
-                    unitPrice
-            );
-            if (updated == 0) {
-                Sale newSale = Sale.builder()
-                        .saleId(saleIdToUse)
-                        .customerId(customer.getCustomerId())
-                        .productId(product.getProductId())
-                        .quantity(item.quantity())
-                        .unitPrice(unitPrice)
-                        .saleAt(saleAt)
-                        .deleted(0)
-                        .build();
-                inserted += salesMapper.insertSaleWithId(newSale);
+        // 2) 주문별 검증 (createOrder와 동일한 규칙), 실패한 주문은 결과에만 기록
+        OrderResult[] results = new OrderResult[requests.size()];
+        List<PreparedOrder> prepared = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequest request = requests.get(i);
+            String customerName = request != null ? request.customerName() : null;
+            try {
+                prepared.add(prepareOrder(i, request, customersByName, productsByName));
+            } catch (IllegalArgumentException e) {
+                results[i] = new OrderResult(i, customerName, false, null, 0, e.getMessage());
             }
         }
 
-        return inserted;
+        // 3) (고객, 일자)별 열린 SALE_ID를 인덱스에서 재사용하거나 새로 예약
+        Map<String, Long> openSaleIds = new HashMap<>();
+        List<Long> reusedSaleIds = new ArrayList<>();
+        for (PreparedOrder order : prepared) {
+            Long customerId = order.customer().getCustomerId();
+            LocalDate day = order.saleAt().toLocalDate();
+            openSaleIds.computeIfAbsent(openOrderKey(customerId, day), k -> {
+                OpenOrderIndex.Reservation reservation = openOrderIndex.findOrReserve(
+                        customerId, day, () -> idAllocator.nextId(IdSequence.SALES));
+                if (!reservation.created()) {
+                    reusedSaleIds.add(reservation.saleId());
+                }
+                return reservation.saleId();
+            });
+        }
+        // 재사용하는 주문에 이미 있는 상품 (추천 상품 주문 횟수는 주문에 처음 들어가는 상품만 +1)
+        Set<String> existingLines = new HashSet<>();
+        if (!reusedSaleIds.isEmpty()) {
+            for (Sale existing : batchSalesMapper.listSaleProductsBySaleIds(reusedSaleIds)) {
+                existingLines.add(existing.getSaleId() + ":" + existing.getProductId());
+            }
+        }
+
+        // 4) (SALE_ID, PRODUCT_ID)별 합산
+        Map<String, Sale> lines = new LinkedHashMap<>();
+        List<CustomerProductCount> countDeltas = new ArrayList<>();
+        int totalLines = 0;
+        for (PreparedOrder order : prepared) {
+            Long customerId = order.customer().getCustomerId();
+            Long saleId = openSaleIds.get(openOrderKey(customerId, order.saleAt().toLocalDate()));
+            for (Map.Entry<Long, int[]> line : order.lines().entrySet()) {
+                String lineKey = saleId + ":" + line.getKey();
+                Sale sale = lines.get(lineKey);
+                if (sale == null) {
+                    if (!existingLines.contains(lineKey)) {
+                        countDeltas.add(new CustomerProductCount(customerId, line.getKey(), 1));
+                    }
+                    lines.put(lineKey, Sale.builder()
+                            .saleId(saleId)
+                            .customerId(customerId)
+                            .productId(line.getKey())
+                            .quantity(line.getValue()[0])
+                            .unitPrice(line.getValue()[1])
+                            .saleAt(order.saleAt())
+                            .deleted(0)
+                            .build());
+                } else {
+                    sale.setQuantity(sale.getQuantity() + line.getValue()[0]);
+                    sale.setUnitPrice(sale.getUnitPrice() + line.getValue()[1]);
+                }
+            }
+            totalLines += order.lines().size();
+            results[order.index()] = new OrderResult(order.index(), order.customer().getCompanyName(), true, saleId, order.lines().size(), null);
+        }
+
+        // 5) 모든 항목을 multi-row upsert로 기록 (기존 항목은 수량 가산, 신규/삭제된 항목은 활성화)
+        //    먼저 등록되는 주문들의 버전을 한 구문으로 +1
+        if (!openSaleIds.isEmpty()) {
+            batchSalesMapper.bumpSaleVersions(openSaleIds.values().stream().sorted().toList());
+        }
+        List<Sale> lineRows = new ArrayList<>(lines.values());
+        for (int from = 0; from < lineRows.size(); from += INSERT_CHUNK_SIZE) {
+            batchSalesMapper.upsertSaleLines(lineRows.subList(from, Math.min(from + INSERT_CHUNK_SIZE, lineRows.size())));
+        }
+        // 6) 등록된 (고객, 일자)의 일별 판매 집계 갱신 (BATCH 세션으로 함께 전송)
+        Set<SalesDayKey> rollupKeys = new LinkedHashSet<>();
+        for (PreparedOrder order : prepared) {
+            rollupKeys.add(new SalesDayKey(order.customer().getCustomerId(), order.saleAt().toLocalDate()));
+        }
+        salesRollupService.refresh(rollupKeys, batchSqlSession.getMapper(SalesRollupMapper.class));
+        // 7) 추천 상품 주문 횟수 갱신 (BATCH 세션으로 함께 전송)
+        topProductsStore.apply(countDeltas, batchSqlSession.getMapper(TopProductsMapper.class));
+        batchSqlSession.flushStatements();
+
+        long elapsedNanos = System.nanoTime() - started;
+        long elapsedMs = elapsedNanos / 1_000_000;
+        double linesPerSecond = elapsedNanos > 0 ? totalLines * 1_000_000_000d / elapsedNanos : 0d;
+        log.info("대량 주문 등록 완료. 주문 {}건 (성공 {}건), 항목 {}건, {}ms, {} lines/s",
+                requests.size(), prepared.size(), totalLines, elapsedMs, String.format("%.1f", linesPerSecond));
+        return new BatchOrderResult(List.of(results), totalLines, elapsedMs, linesPerSecond);
+    }
+
+    // 대량 등록용 주문 검증: 조회된 고객/상품으로 createOrder와 동일한 규칙을 적용하고 상품별로 합산
+    private PreparedOrder prepareOrder(int index, OrderRequest request,
+                                       Map<String, Customer> customersByName,
+                                       Map<String, Product> productsByName) {
+        if (request == null || request.items() == null || request.items().isEmpty()) {
+            throw new IllegalArgumentException("상품 항목이 필요합니다.");
+        }
+        Customer customer = customersByName.get(request.customerName());
+        if (customer == null) {
+            throw new IllegalArgumentException("상호명을 찾을 수 없습니다.");
+        }
+        if (request.saleDate() == null || request.saleDate().isBlank()) {
+            throw new IllegalArgumentException("판매일자가 필요합니다.");
+        }
+        LocalDateTime saleAt;
+        try {
+            saleAt = LocalDateTime.parse(request.saleDate() + "T00:00:00");
+        } catch (java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("판매일자 형식이 올바르지 않습니다: " + request.saleDate());
+        }
+
+        Map<Long, int[]> lines = new LinkedHashMap<>();
+        for (CreateOrderItem item : request.items()) {
+            String productName = item != null ? item.productName() : null;
+            Product product = productsByName.get(productName);
+            if (product == null) {
+                throw new IllegalArgumentException("상품을 찾을 수 없습니다: " + productName);
+            }
+            if (item.quantity() == null || item.quantity() <= 0) {
+                throw new IllegalArgumentException("수량이 올바르지 않습니다: " + productName);
+            }
+            Integer salePrice = product.getSalePrice();
+            if (salePrice == null || salePrice <= 0) {
+                throw new IllegalArgumentException("상품 단가가 설정되지 않았습니다: " + productName);
+            }
+            int[] line = lines.computeIfAbsent(product.getProductId(), k -> new int[2]);
+            line[0] += item.quantity();
+            line[1] += salePrice * item.quantity();
+        }
+        return new PreparedOrder(index, customer, saleAt, lines);
+    }
+
+    private static String openOrderKey(Long customerId, LocalDate day) {
+        return customerId + "|" + day;
     }
 
     /**
@@ -134,19 +422,81 @@ public class SalesService {
      * @return 판매 목록
      */
     public List<Sale> listSales(String startDate, String endDate) {
-        return salesMapper.listSales(startDate, endDate);
+        if (startDate == null || endDate == null) {
+            return List.of();
+        }
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        return salesMapper.listSales(range.startAt(), range.endAt());
+    }
+
+    /**
+     * 판매 목록을 키셋(커서) 방식으로 한 페이지씩 조회합니다.
+     * (SALE_AT, SALE_ID, PRODUCT_ID) 순으로 정렬하며, 커서 위치부터 바로 이어서 읽으므로
+     * 뒤쪽 페이지도 앞쪽 페이지와 같은 비용으로 조회됩니다.
+     *
+     * @param startDate 시작 날짜
+     * @param endDate 종료 날짜
+     * @param cursor 이전 페이지 응답의 next 값 (첫 페이지는 null)
+     * @param limit 페이지 크기 (최대 1000)
+     * @return 페이지 행 목록과 다음 커서
+     */
+    public CursorPage<Sale> listSalesPage(String startDate, String endDate, String cursor, Integer limit) {
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        int pageSize = PageCursor.normalizeLimit(limit);
+        LocalDateTime afterSaleAt = null;
+        Long afterSaleId = null;
+        Long afterProductId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = PageCursor.decode(cursor, 3);
+            try {
+                afterSaleAt = LocalDateTime.parse(keys[0]);
+                afterSaleId = Long.valueOf(keys[1]);
+                afterProductId = Long.valueOf(keys[2]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("커서 형식이 올바르지 않습니다.");
+            }
+        }
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        List<Sale> rows = salesMapper.listSalesPage(range.startAt(), range.endAt(),
+                afterSaleAt, afterSaleId, afterProductId, pageSize + 1);
+        String next = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Sale last = rows.get(pageSize - 1);
+            next = PageCursor.encode(last.getSaleAt(), last.getSaleId(), last.getProductId());
+        }
+        return new CursorPage<>(rows, next);
     }
 
     public List<Sale>  findSalesById(Long saleId) {
         return salesMapper.findSalesById(saleId);
     }
 
+    /**
+     * 주문 항목과 현재 주문 버전을 조회합니다 (항목이 모두 삭제된 주문도 버전은 반환).
+     */
+    public OrderSnapshot getOrderSnapshot(Long saleId) {
+        List<Sale> items = salesMapper.findSalesById(saleId);
+        Long version = items.isEmpty() ? salesMapper.findSaleVersion(saleId) : items.get(0).getVersion();
+        return new OrderSnapshot(version != null ? version : 0L, items);
+    }
+
     /**
      * 기존 주문을 수정합니다. 목록에서 제외된 상품은 삭제 처리하고,
-     * 수량이 변경된 상품은 증감하여 반영하며, 신규 상품은 추가합니다.
+     * 수량이 변경된 상품과 신규 상품은 항목별 upsert 한 구문으로 반영합니다.
      * 또한 주문일자 변경 시 동일 SALE_ID의 모든 항목의 날짜를 업데이트합니다.
+     *
+     * 요청에 version이 있으면 저장된 주문 버전과 비교해 같을 때만 버전을 올리고 반영합니다 (낙관적 동시성).
+     * 버전 행 하나만 트랜잭션 동안 잠그며, 항목은 버전을 올린 뒤 다시 읽은 값으로 계산하므로
+     * 동시에 들어온 수정 중 하나만 반영되고 나머지는 OrderVersionConflictException으로 거절됩니다.
+     * 요청 항목은 주문 전체의 최종 상태이므로 같은 요청을 새 버전으로 다시 보내도 결과가 같습니다.
+     * version이 없으면 비교 없이 버전만 올립니다 (서버 내부 호출용, 수정 API는 version을 필수로 받음).
+     *
+     * @return 반영 후 주문 버전
+     * @throws OrderVersionConflictException 요청 버전이 저장된 버전과 다른 경우
      */
-    public void updateOrder(Long saleId, OrderRequest request) {
+    @Transactional
+    public long updateOrder(Long saleId, OrderRequest request) {
         if (saleId == null) {
             throw new IllegalArgumentException("saleId가 필요합니다.");
         }
@@ -154,22 +504,19 @@ public class SalesService {
             throw new IllegalArgumentException("요청 본문이 올바르지 않습니다.");
         }
 
-        Customer customer = customerMapper.findByCompanyName(request.customerName());
+        Customer customer = catalogCache.findCustomerByName(request.customerName());
         if (customer == null) {
             throw new IllegalArgumentException("상호명을 찾을 수 없습니다.");
         }
 
         LocalDateTime saleAt = LocalDateTime.parse(request.saleDate() + "T00:00:00");
 
+        // 주문 버전 확인 및 증가 (항목을 읽기 전에 버전 행을 잠가 이후 읽는 항목이 요청 버전의 상태임을 보장)
+        long version = claimVersion(saleId, request.version());
+
         // 현재 저장된 항목 조회 (삭제되지 않은 항목만)
         List<Sale> currentSales = salesMapper.findSalesById(saleId);
 
-        // productId -> 현재 Sale 매핑
-        java.util.Map<Long, Sale> currentByProduct = new java.util.HashMap<>();
-        for (Sale s : currentSales) {
-            currentByProduct.put(s.getProductId(), s);
-        }
-
         // 요청 항목을 productId로 변환 및 수량 맵 구성
         java.util.Map<Long, Integer> requestedQty = new java.util.HashMap<>();
         java.util.Map<Long, Integer> productSalePrice = new java.util.HashMap<>();
@@ -177,7 +524,7 @@ public class SalesService {
             if (item == null || item.productName() == null || item.productName().isBlank()) {
                 continue;
             }
-            Product product = productMapper.getProductByName(item.productName());
+            Product product = catalogCache.findProductByName(item.productName());
             if (product == null) {
                 throw new IllegalArgumentException("상품을 찾을 수 없습니다: " + item.productName());
             }
@@ -185,83 +532,136 @@ public class SalesService {
             productSalePrice.put(product.getProductId(), product.getSalePrice());
         }
 
+        LineDiff diff = diffLines(saleId, customer.getCustomerId(), saleAt, currentSales, requestedQty, productSalePrice);
+        for (Long pid : diff.deletes()) {
+            salesMapper.deleteSaleItem(saleId, pid);
+        }
+        // 항목 추가/변경 모두 (SALE_ID, PRODUCT_ID) 한 행을 지정 값으로 upsert (기존 saleId 유지)
+        for (Sale line : diff.lines()) {
+            salesMapper.setSaleLine(line);
+        }
+
+        // 주문일자 변경 반영 (SALE_ID 전체 항목에 적용)
+        salesMapper.updateSaleDateBySaleId(saleId, saleAt);
+        openOrderIndex.moved(saleId, saleAt.toLocalDate());
+
+        // 일별 판매 집계 갱신: 변경 전 (고객, 일자)와 변경 후 (고객, 일자)
+        List<SalesDayKey> rollupKeys = new ArrayList<>();
+        if (!currentSales.isEmpty()) {
+            rollupKeys.add(new SalesDayKey(currentSales.get(0).getCustomerId(), currentSales.get(0).getSaleAt().toLocalDate()));
+        }
+        rollupKeys.add(new SalesDayKey(customer.getCustomerId(), saleAt.toLocalDate()));
+        salesRollupService.refresh(rollupKeys);
+        topProductsStore.apply(diff.countDeltas());
+        return version;
+    }
+
+    // 요청 버전과 같을 때만 주문 버전을 올리고 새 버전을 반환 (expected가 null이면 비교 없이 증가)
+    private long claimVersion(Long saleId, Long expected) {
+        if (expected == null) {
+            salesMapper.bumpSaleVersions(List.of(saleId));
+            Long bumped = salesMapper.findSaleVersion(saleId);
+            return bumped != null ? bumped : 1L;
+        }
+        if (salesMapper.compareAndBumpSaleVersion(saleId, expected) == 1) {
+            return expected + 1;
+        }
+        // 버전 행이 없는 주문은 버전 0 (마이그레이션 이전 주문)
+        if (expected == 0 && salesMapper.insertFirstSaleVersion(saleId) == 1) {
+            return 1L;
+        }
+        throw new OrderVersionConflictException(saleId, expected);
+    }
+
+    /**
+     * 주문 수정 시 현재 항목과 요청 수량의 차이입니다.
+     *
+     * @param deletes 삭제 처리할 상품 ID (요청에서 빠졌거나 수량이 0 이하)
+     * @param lines 지정 값으로 upsert할 항목 (추가 또는 수량 변경)
+     * @param countDeltas 추천 상품 주문 횟수 증감
+     */
+    static record LineDiff(List<Long> deletes, List<Sale> lines, List<CustomerProductCount> countDeltas) {}
+
+    /**
+     * 현재 항목과 요청 수량(상품 ID별)을 비교해 삭제/upsert할 항목을 계산합니다. DB를 읽거나 쓰지 않습니다.
+     * 기존 항목은 증감분만 현재 단가로 반영한 금액, 신규 항목은 현재 단가 기준 금액으로 설정합니다.
+     */
+    static LineDiff diffLines(Long saleId, Long customerId, LocalDateTime saleAt, List<Sale> currentSales,
+                              Map<Long, Integer> requestedQty, Map<Long, Integer> productSalePrice) {
+        Map<Long, Sale> currentByProduct = new HashMap<>();
+        for (Sale s : currentSales) {
+            currentByProduct.put(s.getProductId(), s);
+        }
+        List<Long> deletes = new ArrayList<>();
+        List<Sale> lines = new ArrayList<>();
+        // 추천 상품 주문 횟수: 주문에서 빠진 상품 -1, 새로 들어간 상품 +1
+        List<CustomerProductCount> countDeltas = new ArrayList<>();
+
         // 삭제: 현재에는 있지만 요청에는 없는 상품
-        for (Long pid : currentByProduct.keySet()) {
-            if (!requestedQty.containsKey(pid)) {
-                // 업데이트 전 중복 병합 후 삭제 처리
-                mergeDuplicateItems(saleId, pid);
-                salesMapper.deleteSaleItem(saleId, pid);
+        for (Map.Entry<Long, Sale> entry : currentByProduct.entrySet()) {
+            if (!requestedQty.containsKey(entry.getKey())) {
+                deletes.add(entry.getKey());
+                countDeltas.add(new CustomerProductCount(entry.getValue().getCustomerId(), entry.getKey(), -1));
             }
         }
 
         // 업데이트/추가 처리
-        for (java.util.Map.Entry<Long, Integer> entry : requestedQty.entrySet()) {
+        for (Map.Entry<Long, Integer> entry : requestedQty.entrySet()) {
             Long pid = entry.getKey();
             Integer newQty = entry.getValue();
             Integer salePrice = productSalePrice.get(pid);
+            Sale curr = currentByProduct.get(pid);
             if (newQty == null || newQty <= 0) {
-                // 0 이하 수량은 삭제로 간주 (중복 병합 후 삭제)
-                mergeDuplicateItems(saleId, pid);
-                salesMapper.deleteSaleItem(saleId, pid);
+                // 0 이하 수량은 삭제로 간주
+                deletes.add(pid);
+                if (curr != null) {
+                    countDeltas.add(new CustomerProductCount(curr.getCustomerId(), pid, -1));
+                }
                 continue;
             }
 
-            if (currentByProduct.containsKey(pid)) {
-                // 기존 항목의 수량과 비교하여 증감 적용
-                Sale curr = currentByProduct.get(pid);
+            int newPrice = salePrice * newQty;
+            if (curr != null) {
                 int deltaQty = newQty - curr.getQuantity();
-                if (deltaQty != 0) {
-                    int deltaPrice = salePrice * deltaQty;
-                    salesMapper.updateSaleQuantity(saleId, pid, deltaQty, deltaPrice);
+                if (deltaQty == 0) {
+                    continue;
                 }
+                newPrice = curr.getUnitPrice() + salePrice * deltaQty;
             } else {
-                // 신규 항목 추가 (기존 saleId 유지)
-                Sale newSale = Sale.builder()
-                        .saleId(saleId)
-                        .customerId(customer.getCustomerId())
-                        .productId(pid)
-                        .quantity(newQty)
-                        .unitPrice(salePrice * newQty)
-                        .saleAt(saleAt)
-                        .deleted(0)
-                        .build();
-                salesMapper.insertSaleWithId(newSale);
+                countDeltas.add(new CustomerProductCount(customerId, pid, 1));
             }
+            lines.add(Sale.builder()
+                    .saleId(saleId)
+                    .customerId(customerId)
+                    .productId(pid)
+                    .quantity(newQty)
+                    .unitPrice(newPrice)
+                    .saleAt(saleAt)
+                    .deleted(0)
+                    .build());
         }
-
-        // 주문일자 변경 반영 (SALE_ID 전체 항목에 적용)
-        salesMapper.updateSaleDateBySaleId(saleId, saleAt);
+        return new LineDiff(deletes, lines, countDeltas);
     }
 
     /**
      * 주문에서 특정 상품을 삭제(소프트 삭제)합니다.
      */
+    @Transactional
     public void deleteOrderItem(Long saleId, Long productId) {
         if (saleId == null || productId == null) {
             throw new IllegalArgumentException("saleId와 productId가 필요합니다.");
         }
-        // 삭제 전에 중복을 병합하여 유니크 제약 충돌을 방지
-        mergeDuplicateItems(saleId, productId);
-        // 활성 레코드만 삭제 상태로 변경
+        salesMapper.bumpSaleVersions(List.of(saleId));
+        List<Sale> currentSales = salesMapper.findSalesById(saleId);
+        // 활성 레코드만 삭제 상태로 변경 ((SALE_ID, PRODUCT_ID) 유일 키이므로 한 구문)
         salesMapper.deleteSaleItem(saleId, productId);
-    }
-
-    /**
-     * 중복 레코드 병합: 동일한 (SALE_ID, PRODUCT_ID) 활성 레코드를 하나로 합치고
-     * 나머지 활성/삭제 레코드는 하드 삭제합니다.
-     */
-    public void mergeDuplicateItems(Long saleId, Long productId) {
-        // 대표 활성 행에 합계 반영 (MYSQL 호환 방식)
-        java.util.Map<String, java.math.BigDecimal> sums = salesMapper.sumActiveSaleProduct(saleId, productId);
-        java.math.BigDecimal qtyBd = (sums != null) ? sums.get("totalQty") : java.math.BigDecimal.ZERO;
-        java.math.BigDecimal priceBd = (sums != null) ? sums.get("totalPrice") : java.math.BigDecimal.ZERO;
-        Integer totalQty = (qtyBd != null) ? qtyBd.intValue() : 0;
-        Integer totalPrice = (priceBd != null) ? priceBd.intValue() : 0;
-        salesMapper.updateCanonicalRowWithAggregates(saleId, productId, totalQty, totalPrice);
-        // 대표 행 외 활성 중복 하드 삭제
-        salesMapper.deleteOtherActiveDuplicates(saleId, productId);
-        // 삭제된 레코드도 모두 제거하여 향후 제약 충돌 방지
-        salesMapper.deleteAllDeletedRowsForSaleProduct(saleId, productId);
+        if (!currentSales.isEmpty()) {
+            Sale head = currentSales.get(0);
+            salesRollupService.refresh(List.of(new SalesDayKey(head.getCustomerId(), head.getSaleAt().toLocalDate())));
+            if (currentSales.stream().anyMatch(s -> productId.equals(s.getProductId()))) {
+                topProductsStore.apply(List.of(new CustomerProductCount(head.getCustomerId(), productId, -1)));
+            }
+        }
     }
 
     public void updateBillSatus(List<Long> salesIds) {
@@ -271,11 +671,71 @@ public class SalesService {
         }
     }
 
+    /**
+     * 청구서 취소 시 SALE_ID 목록을 한 번에 다시 열린 주문으로 되돌립니다.
+     * 청구 상태를 초기화한 뒤 (고객, 일자)마다 가장 작은 청구 SALE_ID로 같은 날의 다른 열린 주문을 흡수하며,
+     * 주문 수와 관계없이 고정된 개수의 집합 단위 구문으로 처리합니다.
+     *
+     * @param saleIds 청구서에 포함된 SALE_ID 목록
+     * @return 흡수되어 삭제된 주문 수
+     */
+    @Transactional
+    public int reopenSales(List<Long> saleIds) {
+        if (saleIds == null || saleIds.isEmpty()) {
+            return 0;
+        }
+        // 1) 청구 상태 일괄 초기화 (주문 버전 +1, 주문 수정과 같은 순서로 버전 행을 항목보다 먼저 잠금)
+        salesMapper.bumpSaleVersions(saleIds.stream().distinct().sorted().toList());
+        salesMapper.resetBillStatusBySaleIds(saleIds);
+
+        // 2) 같은 고객/날짜의 열린 주문을 묶어 대상(청구 SALE_ID 중 최소)과 흡수 대상 결정
+        Set<Long> billed = new HashSet<>(saleIds);
+        Map<String, List<Sale>> groups = new LinkedHashMap<>();
+        for (Sale head : salesMapper.listOpenSaleHeadsSameDay(saleIds)) {
+            groups.computeIfAbsent(openOrderKey(head.getCustomerId(), head.getSaleAt().toLocalDate()), k -> new ArrayList<>())
+                    .add(head);
+        }
+        List<SaleMerge> merges = new ArrayList<>();
+        List<SalesDayKey> rollupKeys = new ArrayList<>();
+        for (List<Sale> heads : groups.values()) {
+            Sale target = heads.stream().filter(h -> billed.contains(h.getSaleId())).findFirst().orElse(null);
+            if (target == null) {
+                continue;
+            }
+            List<Long> absorbed = new ArrayList<>();
+            for (Sale head : heads) {
+                if (!head.getSaleId().equals(target.getSaleId())) {
+                    absorbed.add(head.getSaleId());
+                    merges.add(new SaleMerge(head.getSaleId(), target.getSaleId(), target.getSaleAt()));
+                }
+            }
+            openOrderIndex.reopened(target.getSaleId(), target.getCustomerId(), target.getSaleAt().toLocalDate(), absorbed);
+            if (!absorbed.isEmpty()) {
+                rollupKeys.add(new SalesDayKey(target.getCustomerId(), target.getSaleAt().toLocalDate()));
+            }
+        }
+        if (merges.isEmpty()) {
+            return 0;
+        }
+
+        // 3) 흡수 대상 항목을 상품별로 합산해 대상 주문에 반영한 뒤 원본 주문 소프트 삭제
+        List<Long> sourceIds = merges.stream().map(SaleMerge::getSourceSaleId).toList();
+        salesMapper.bumpSaleVersions(sourceIds.stream().sorted().toList());
+        salesMapper.mergeSalesInto(merges);
+        salesMapper.softDeleteBySaleIds(sourceIds);
+        salesRollupService.refresh(rollupKeys);
+        // 병합된 주문은 상품이 겹칠 수 있어 해당 고객의 주문 횟수를 다시 집계
+        topProductsStore.recount(rollupKeys.stream().map(SalesDayKey::getCustomerId).toList());
+        return sourceIds.size();
+    }
+
+    @Transactional
     public void resetBillStatusForSaleId(Long saleId) {
         if (saleId == null) {
             throw new IllegalArgumentException("saleId가 필요합니다.");
         }
-        // 1) 대상 saleId 청구 상태 리셋
+        // 1) 대상 saleId 청구 상태 리셋 (주문 버전 +1)
+        salesMapper.bumpSaleVersions(java.util.List.of(saleId));
         salesMapper.resetBillStatusBySaleIds(java.util.List.of(saleId));
 
         // 2) 같은 날짜/고객의 다른 열린 주문들을 대상 saleId로 흡수 병합
@@ -287,44 +747,24 @@ public class SalesService {
         Long customerId = currentSales.get(0).getCustomerId();
         java.time.LocalDateTime saleAt = currentSales.get(0).getSaleAt();
 
-        // 같은 날짜/고객의 다른 열린 saleId 조회
-        java.util.List<Long> others = salesMapper.findOtherOpenSaleIds(customerId, saleAt, saleId);
-        if (others == null || others.isEmpty()) {
+        // 같은 날짜/고객의 다른 열린 saleId는 열린 주문 인덱스에서 확인
+        Long openSaleId = openOrderIndex.find(customerId, saleAt.toLocalDate());
+        java.util.List<Long> others = (openSaleId != null && !openSaleId.equals(saleId))
+                ? java.util.List.of(openSaleId)
+                : java.util.List.of();
+        openOrderIndex.reopened(saleId, customerId, saleAt.toLocalDate(), others);
+        if (others.isEmpty()) {
             return; // 병합 대상 없음
         }
 
-        // 각 다른 saleId의 모든 활성 항목을 대상 saleId로 이동
-        for (Long otherId : others) {
-            java.util.List<Sale> items = salesMapper.listActiveItemsBySaleId(otherId);
-            if (items == null || items.isEmpty()) {
-                continue;
-            }
-            for (Sale item : items) {
-                Long productId = item.getProductId();
-                Integer qty = item.getQuantity();
-                Integer price = item.getUnitPrice();
-                if (productId == null || qty == null || qty <= 0 || price == null || price < 0) {
-                    continue; // 방어: 비정상 데이터는 스킵
-                }
-                int updated = salesMapper.updateSaleQuantity(saleId, productId, qty, price);
-                if (updated == 0) {
-                    // 대상에 동일 상품 행이 없으면 동일 saleId로 신규 추가
-                    Sale newRow = Sale.builder()
-                            .saleId(saleId)
-                            .customerId(customerId)
-                            .productId(productId)
-                            .quantity(qty)
-                            .unitPrice(price)
-                            .saleAt(saleAt)
-                            .deleted(0)
-                            .build();
-                    salesMapper.insertSaleWithId(newRow);
-                }
-                // 대상 saleId 내 중복 정리(있을 경우)를 위한 병합
-                mergeDuplicateItems(saleId, productId);
-            }
-            // 원본 saleId의 모든 항목을 소프트 삭제하여 흡수 완료
-            salesMapper.softDeleteBySaleId(otherId);
-        }
+        // 다른 saleId의 활성 항목을 대상 saleId로 상품별 가산 upsert 후 원본 소프트 삭제
+        java.util.List<SaleMerge> merges = others.stream()
+                .map(otherId -> new SaleMerge(otherId, saleId, saleAt))
+                .toList();
+        salesMapper.bumpSaleVersions(others);
+        salesMapper.mergeSalesInto(merges);
+        salesMapper.softDeleteBySaleIds(others);
+        salesRollupService.refresh(List.of(new SalesDayKey(customerId, saleAt.toLocalDate())));
+        topProductsStore.recount(List.of(customerId));
     }
 }
\ No newline at end of file
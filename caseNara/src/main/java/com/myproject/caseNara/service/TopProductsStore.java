@@ -0,0 +1,292 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.CustomerMapper;
+import com.myproject.caseNara.mapper.TopProductsMapper;
+import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.CustomerProductCount;
+import com.myproject.caseNara.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 고객별 추천 상품(주문 횟수 상위 상품) 저장소입니다.
+ * 고객/상품별 주문 횟수를 메모리에 두고 고객마다 상위 TOP_K개를 미리 정렬해 두므로,
+ * 추천 조회는 DB를 거치지 않고 맵 조회만 합니다.
+ *
+ * 주문 횟수는 customer_product_counts 테이블에 같은 트랜잭션에서 증감분으로 기록하며,
+ * 메모리는 커밋 이후 바뀐 고객의 행을 테이블에서 다시 읽어 바꿉니다. 시작 시 테이블에서 적재하고, rebuild로 SALES 기준 재집계합니다.
+ */
+@Component
+public class TopProductsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TopProductsStore.class);
+
+    // 응답하는 추천 상품 수
+    private static final int SUGGESTION_SIZE = 5;
+
+    // 고객별로 유지하는 상위 상품 수 (삭제된 상품을 건너뛰어도 SUGGESTION_SIZE를 채우도록 여유를 둠)
+    private static final int TOP_K = 10;
+
+    private static final Comparator<Map.Entry<Long, Integer>> RANK =
+            Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue)
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    private final TopProductsMapper topProductsMapper;
+    private final CustomerMapper customerMapper;
+    private final LookupService lookupService;
+    private final TransactionTemplate loadTransaction;
+    private final TransactionTemplate rebuildTransaction;
+
+    private final Map<Long, CustomerCounts> countsByCustomer = new ConcurrentHashMap<>();
+    private final AtomicReference<Map<String, Long>> customerIdsByName = new AtomicReference<>();
+    private final AtomicReference<ProductNames> productNames = new AtomicReference<>();
+
+    // 커밋 이후 갱신은 증감분을 더하지 않고 테이블을 다시 읽으므로, 적재와 겹쳐도 같은 변경이 두 번 반영되지 않음
+    private final MemoryStoreGuard guard = new MemoryStoreGuard("추천 상품 주문 횟수", log);
+
+    // 커밋 이후 다시 읽기를 한 번에 하나씩 실행 (먼저 읽은 이전 상태가 나중에 읽은 상태를 덮어쓰지 않도록)
+    private final Object refreshLock = new Object();
+
+    // 상품 목록 캐시(LookupService)와 그로부터 만든 ID → 상품명 맵
+    private static record ProductNames(List<Product> source, Map<Long, String> names) {}
+
+    // 고객 한 명의 상품별 주문 횟수와 상위 TOP_K 상품 (갱신 시 새 객체로 바꾸며, 조회는 불변 리스트만 읽음)
+    private static final class CustomerCounts {
+        private final Map<Long, Integer> counts = new HashMap<>();
+        private volatile List<Long> top = List.of();
+
+        // 크기 TOP_K의 최소 힙으로 상위 상품만 추림 (O(n log K))
+        private void recomputeTop() {
+            PriorityQueue<Map.Entry<Long, Integer>> heap = new PriorityQueue<>(TOP_K + 1, RANK);
+            for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+                heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+                if (heap.size() > TOP_K) {
+                    heap.poll();
+                }
+            }
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(heap);
+            ranked.sort(RANK.reversed());
+            top = ranked.stream().map(Map.Entry::getKey).toList();
+        }
+    }
+
+    public TopProductsStore(TopProductsMapper topProductsMapper,
+                            CustomerMapper customerMapper,
+                            LookupService lookupService,
+                            PlatformTransactionManager transactionManager) {
+        this.topProductsMapper = topProductsMapper;
+        this.customerMapper = customerMapper;
+        this.lookupService = lookupService;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 애플리케이션 기동 완료 후 customer_product_counts를 적재합니다.
+     * 실패해도 추천은 부가 기능이므로 기동을 막지 않고, 첫 추천 조회가 다시 적재합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        guard.loadOnStartup(() -> "고객 " + reload() + "명");
+    }
+
+    /**
+     * 상호명의 추천 상품명(주문 횟수 상위, 최대 5개)을 반환합니다. 없는 상호명이면 빈 목록입니다.
+     */
+    public List<String> suggest(String companyName) {
+        String name = (companyName == null) ? "" : companyName.trim();
+        if (name.isEmpty()) {
+            return List.of();
+        }
+        ensureLoaded();
+        Long customerId = customerIdsByName().get(name);
+        CustomerCounts counts = customerId != null ? countsByCustomer.get(customerId) : null;
+        if (counts == null) {
+            return List.of();
+        }
+        Map<Long, String> names = productNames();
+        List<String> result = new ArrayList<>(SUGGESTION_SIZE);
+        for (Long productId : counts.top) {
+            // 삭제된 상품은 상품 목록 캐시에 없으므로 건너뜀
+            String productName = names.get(productId);
+            if (productName != null) {
+                result.add(productName);
+                if (result.size() == SUGGESTION_SIZE) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 주문 횟수 증감분을 기록합니다. 테이블에는 호출한 트랜잭션에서 기록하고, 메모리는 커밋 이후 해당 고객의 행을 다시 읽어 반영합니다.
+     *
+     * @param deltas 고객/상품별 증감분 (orderCount가 증감분)
+     */
+    public void apply(Collection<CustomerProductCount> deltas) {
+        apply(deltas, topProductsMapper);
+    }
+
+    /**
+     * apply와 같으나 지정한 매퍼(예: BATCH 세션 매퍼)로 기록합니다.
+     */
+    public void apply(Collection<CustomerProductCount> deltas, TopProductsMapper mapper) {
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        // 같은 고객/상품의 증감분은 합산
+        Map<String, CustomerProductCount> merged = new LinkedHashMap<>();
+        for (CustomerProductCount delta : deltas) {
+            merged.merge(delta.getCustomerId() + ":" + delta.getProductId(),
+                    new CustomerProductCount(delta.getCustomerId(), delta.getProductId(), delta.getOrderCount()),
+                    (a, b) -> {
+                        a.setOrderCount(a.getOrderCount() + b.getOrderCount());
+                        return a;
+                    });
+        }
+        List<CustomerProductCount> increments = new ArrayList<>();
+        LinkedHashSet<Long> changedCustomers = new LinkedHashSet<>();
+        for (CustomerProductCount delta : merged.values()) {
+            if (delta.getOrderCount() > 0) {
+                increments.add(delta);
+            } else if (delta.getOrderCount() < 0) {
+                mapper.decrementCount(delta.getCustomerId(), delta.getProductId(), -delta.getOrderCount());
+            }
+            if (delta.getOrderCount() != 0) {
+                changedCustomers.add(delta.getCustomerId());
+            }
+        }
+        if (!increments.isEmpty()) {
+            mapper.incrementCounts(increments);
+        }
+        if (!changedCustomers.isEmpty()) {
+            List<Long> ids = new ArrayList<>(changedCustomers);
+            guard.afterCommit(() -> refresh(ids));
+        }
+    }
+
+    /**
+     * 고객들의 주문 횟수를 SALES 기준으로 다시 집계합니다 (주문 병합처럼 증감분을 따지기 어려운 변경용).
+     * 테이블은 호출한 트랜잭션에서, 메모리는 커밋 이후 테이블에서 다시 읽어 반영합니다.
+     */
+    public void recount(Collection<Long> customerIds) {
+        if (customerIds == null || customerIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(customerIds));
+        topProductsMapper.deleteCounts(ids);
+        topProductsMapper.insertCountsFromSales(ids);
+        guard.afterCommit(() -> refresh(ids));
+    }
+
+    /**
+     * 전체 주문 횟수를 SALES 기준으로 다시 집계하고 메모리에 다시 적재합니다.
+     *
+     * @return 적재된 고객 수
+     */
+    public int rebuild() {
+        rebuildTransaction.executeWithoutResult(status -> {
+            topProductsMapper.deleteCounts(null);
+            topProductsMapper.insertCountsFromSales(null);
+        });
+        return reload();
+    }
+
+    /**
+     * 고객 정보가 바뀌면 상호명 → 고객 ID 맵을 다시 만들도록 무효화합니다.
+     */
+    public void invalidateCustomers() {
+        customerIdsByName.set(null);
+    }
+
+    private int reload() {
+        return guard.reload(() -> {
+            Map<Long, CustomerCounts> loaded = load(null);
+            countsByCustomer.clear();
+            countsByCustomer.putAll(loaded);
+            return loaded.size();
+        });
+    }
+
+    // 고객들의 주문 횟수를 테이블에서 다시 읽어 바꿈 (커밋 이후 갱신)
+    private void refresh(List<Long> customerIds) {
+        synchronized (refreshLock) {
+            Map<Long, CustomerCounts> loaded = load(customerIds);
+            for (Long customerId : customerIds) {
+                CustomerCounts counts = loaded.get(customerId);
+                if (counts != null) {
+                    countsByCustomer.put(customerId, counts);
+                } else {
+                    countsByCustomer.remove(customerId);
+                }
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        guard.ensureLoaded(this::reload);
+    }
+
+    private Map<Long, CustomerCounts> load(List<Long> customerIds) {
+        List<CustomerProductCount> rows = loadTransaction.execute(status -> topProductsMapper.listCounts(customerIds));
+        Map<Long, CustomerCounts> loaded = new HashMap<>();
+        if (rows != null) {
+            for (CustomerProductCount row : rows) {
+                loaded.computeIfAbsent(row.getCustomerId(), k -> new CustomerCounts())
+                        .counts.put(row.getProductId(), row.getOrderCount());
+            }
+        }
+        loaded.values().forEach(CustomerCounts::recomputeTop);
+        return loaded;
+    }
+
+    private Map<String, Long> customerIdsByName() {
+        Map<String, Long> current = customerIdsByName.get();
+        if (current == null) {
+            Map<String, Long> built = new HashMap<>();
+            for (Customer customer : customerMapper.getAllCustomers()) {
+                built.put(customer.getCompanyName(), customer.getCustomerId());
+            }
+            current = Map.copyOf(built);
+            customerIdsByName.set(current);
+        }
+        return current;
+    }
+
+    // LookupService의 상품 목록 캐시가 바뀐 경우에만 ID → 상품명 맵을 다시 만듦
+    private Map<Long, String> productNames() {
+        List<Product> products = lookupService.getAllProduct();
+        ProductNames current = productNames.get();
+        if (current == null || current.source() != products) {
+            Map<Long, String> names = new HashMap<>();
+            for (Product product : products) {
+                names.put(product.getProductId(), product.getProductName());
+            }
+            current = new ProductNames(products, names);
+            productNames.set(current);
+        }
+        return current.names();
+    }
+}
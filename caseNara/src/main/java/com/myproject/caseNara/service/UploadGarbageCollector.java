@@ -0,0 +1,350 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.config.WorkerThreads;
+import com.myproject.caseNara.mapper.ProductMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * uploads 폴더에서 어떤 상품도 참조하지 않는 이미지를 지우는 mark-and-sweep 정리기입니다.
+ *
+ * mark: PRODUCTS의 IMAGE_URL을 커서로 읽어 경로 지문(64비트 해시)의 정렬 배열을 만듭니다.
+ *       소프트 삭제된 상품의 이미지도 참조로 보며, 지문이 충돌하면 고아 파일을 남길 뿐 참조 파일을 지우지는 않습니다.
+ * sweep: 디렉터리 샤드(uploads 최상위, cas/ab, variants 최상위, variants/cas/ab 등)를 여러 스레드가 나눠 훑습니다.
+ *        유예 기간보다 최근에 수정된 파일(아직 상품에 저장되지 않은 업로드)은 건너뛰고,
+ *        변환본은 원본이 참조되는지로 판단합니다.
+ * 한 번의 실행은 시간 예산 안에서 샤드 단위로 끝나며, 마치지 못한 샤드부터 다음 실행이 이어갑니다(uploads/.gc-cursor).
+ * dry-run은 파일을 지우지 않고 지울 대상만 보고하며 커서도 옮기지 않습니다.
+ */
+@Service
+public class UploadGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    private static final Path UPLOAD_ROOT = Paths.get("uploads");
+    private static final Path CURSOR_FILE = UPLOAD_ROOT.resolve(".gc-cursor");
+    private static final String VARIANT_DIR = "variants";
+    private static final String CAS_DIR = "cas";
+
+    // 보고서에 담을 삭제(대상) 파일 예시 수
+    private static final int SAMPLE_LIMIT = 100;
+
+    /**
+     * 정리 결과
+     *
+     * @param shardsTotal 전체 샤드 수
+     * @param shardsSwept 이번 실행에서 훑은 샤드 수
+     * @param cycleComplete 전체 샤드를 한 바퀴 다 돌았는지 여부 (false면 다음 실행이 이어감)
+     * @param references 참조 이미지 URL 수
+     * @param scanned 확인한 파일 수
+     * @param young 유예 기간 안이라 건너뛴 파일 수
+     * @param deleted 삭제한(dry-run이면 삭제 대상) 파일 수
+     * @param failed 삭제에 실패한 파일 수
+     */
+    public static record Report(boolean dryRun, int shardsTotal, int shardsSwept, boolean cycleComplete,
+                                long references, long scanned, long young, long deleted, long deletedBytes,
+                                long failed, long elapsedMs, List<String> samples) {}
+
+    // 샤드: 최상위 폴더는 파일만, cas/ab 는 하위 전체
+    private static record Shard(String key, Path dir, boolean recursive) {}
+
+    private final ProductMapper productMapper;
+    private final TransactionTemplate markTransaction;
+    private final Duration gracePeriod;
+    private final Duration timeBudget;
+    private final int parallelism;
+    private final Environment environment;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public UploadGarbageCollector(ProductMapper productMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  Environment environment,
+                                  @Value("${caseNara.upload-gc.grace-period:24h}") Duration gracePeriod,
+                                  @Value("${caseNara.upload-gc.time-budget:5m}") Duration timeBudget,
+                                  @Value("${caseNara.upload-gc.parallelism:4}") int parallelism) {
+        this.productMapper = productMapper;
+        this.markTransaction = new TransactionTemplate(transactionManager);
+        this.markTransaction.setReadOnly(true);
+        this.gracePeriod = gracePeriod;
+        this.timeBudget = timeBudget;
+        this.parallelism = Math.max(1, parallelism);
+        this.environment = environment;
+    }
+
+    /**
+     * 고아 업로드 파일을 정리합니다. 동시에 한 번만 실행됩니다.
+     *
+     * @param dryRun true면 지우지 않고 대상만 보고
+     * @return 정리 결과
+     * @throws IOException 샤드 목록을 읽지 못한 경우
+     */
+    public Report collect(boolean dryRun) throws IOException {
+        // synchronized 대신 ReentrantLock: mark 중 JDBC 대기에서 가상 스레드가 캐리어에 고정되지 않게 함
+        lock.lock();
+        try {
+            return collectLocked(dryRun);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Report collectLocked(boolean dryRun) throws IOException {
+        long startNanos = System.nanoTime();
+        if (!Files.isDirectory(UPLOAD_ROOT)) {
+            return new Report(dryRun, 0, 0, true, 0, 0, 0, 0, 0, 0, 0, List.of());
+        }
+        // 유예 기준 시각은 mark 이전으로 잡아, mark 이후 업로드된 파일이 반드시 건너뛰어지게 함
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        long[] references = mark();
+
+        List<Shard> shards = shards();
+        int startIndex = startIndex(shards, readCursor());
+        long deadline = startNanos + timeBudget.toNanos();
+
+        Counters counters = new Counters();
+        boolean[] done = new boolean[shards.size()];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, shards.size())),
+                WorkerThreads.factory(environment, "upload-gc-"));
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                workers.add(() -> {
+                    // 시간 예산이 남아 있는 동안 다음 샤드를 가져감 (진행 중인 샤드는 끝까지, 예산과 관계없이 첫 샤드는 처리)
+                    while (next.get() == 0 || System.nanoTime() - deadline < 0) {
+                        int k = next.getAndIncrement();
+                        if (k >= shards.size()) {
+                            break;
+                        }
+                        sweep(shards.get((startIndex + k) % shards.size()), references, cutoff, dryRun, counters);
+                        done[k] = true;
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IOException("업로드 정리 중 오류: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // 앞에서부터 연속으로 끝난 샤드까지만 완료로 보고 다음 시작 위치를 정함
+        int swept = 0;
+        while (swept < done.length && done[swept]) {
+            swept++;
+        }
+        boolean cycleComplete = swept == shards.size();
+        if (!dryRun) {
+            writeCursor(cycleComplete || shards.isEmpty() ? null : shards.get((startIndex + swept) % shards.size()).key());
+        }
+
+        Report report = new Report(dryRun, shards.size(), swept, cycleComplete, references.length,
+                counters.scanned.sum(), counters.young.sum(), counters.deleted.sum(), counters.deletedBytes.sum(),
+                counters.failed.sum(), (System.nanoTime() - startNanos) / 1_000_000, counters.samples());
+        log.info("업로드 정리{}: 샤드 {}/{}, 확인 {}, 유예 {}, {} {} ({} bytes), 실패 {}, {}ms",
+                dryRun ? "(dry-run)" : "", report.shardsSwept(), report.shardsTotal(), report.scanned(), report.young(),
+                dryRun ? "삭제 대상" : "삭제", report.deleted(), report.deletedBytes(), report.failed(), report.elapsedMs());
+        return report;
+    }
+
+    // 참조 이미지 경로(uploads 기준 상대 경로)의 지문을 정렬된 배열로 수집
+    private long[] mark() {
+        return markTransaction.execute(status -> {
+            long[] fingerprints = new long[1024];
+            int size = 0;
+            try (Cursor<String> cursor = productMapper.streamImageUrls()) {
+                for (String url : cursor) {
+                    String relative = relativeOf(url);
+                    if (relative == null) {
+                        continue;
+                    }
+                    if (size == fingerprints.length) {
+                        fingerprints = Arrays.copyOf(fingerprints, size * 2);
+                    }
+                    fingerprints[size++] = fingerprint(relative);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            long[] sorted = Arrays.copyOf(fingerprints, size);
+            Arrays.sort(sorted);
+            return sorted;
+        });
+    }
+
+    private void sweep(Shard shard, long[] references, Instant cutoff, boolean dryRun, Counters counters) throws IOException {
+        if (!Files.isDirectory(shard.dir())) {
+            return;
+        }
+        try (Stream<Path> files = shard.recursive() ? Files.walk(shard.dir()) : Files.list(shard.dir())) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    continue; // 목록 이후 다른 곳에서 지워진 파일
+                }
+                if (!attrs.isRegularFile() || file.equals(CURSOR_FILE)) {
+                    continue;
+                }
+                counters.scanned.increment();
+                if (attrs.lastModifiedTime().toInstant().isAfter(cutoff)) {
+                    counters.young.increment();
+                    continue;
+                }
+                String source = sourceOf(file);
+                if (source != null && Arrays.binarySearch(references, fingerprint(source)) >= 0) {
+                    continue;
+                }
+                if (!dryRun) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        counters.failed.increment();
+                        log.warn("업로드 파일 삭제 실패: {} ({})", file, e.getMessage());
+                        continue;
+                    }
+                }
+                counters.deleted.increment();
+                counters.deletedBytes.add(attrs.size());
+                counters.sample(UPLOAD_ROOT.relativize(file).toString().replace('\\', '/'));
+            }
+        }
+    }
+
+    private static List<Shard> shards() throws IOException {
+        List<Shard> shards = new ArrayList<>();
+        shards.add(new Shard(".", UPLOAD_ROOT, false));
+        addCasShards(shards, CAS_DIR);
+        shards.add(new Shard(VARIANT_DIR, UPLOAD_ROOT.resolve(VARIANT_DIR), false));
+        addCasShards(shards, VARIANT_DIR + "/" + CAS_DIR);
+        shards.sort(Comparator.comparing(Shard::key));
+        return shards;
+    }
+
+    // cas 최상위(중단된 업로드 임시 파일)와, cas/ab 처럼 해시 앞 2자리 디렉터리 하나씩을 샤드로 추가
+    private static void addCasShards(List<Shard> shards, String casDir) throws IOException {
+        Path dir = UPLOAD_ROOT.resolve(casDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        shards.add(new Shard(casDir, dir, false));
+        try (Stream<Path> children = Files.list(dir)) {
+            children.filter(Files::isDirectory)
+                    .forEach(child -> shards.add(new Shard(casDir + "/" + child.getFileName(), child, true)));
+        }
+    }
+
+    private static int startIndex(List<Shard> shards, String cursor) {
+        if (cursor == null) {
+            return 0;
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (shards.get(i).key().compareTo(cursor) >= 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static String readCursor() {
+        try {
+            return Files.exists(CURSOR_FILE) ? Files.readString(CURSOR_FILE, StandardCharsets.UTF_8).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeCursor(String key) {
+        try {
+            if (key == null) {
+                Files.deleteIfExists(CURSOR_FILE);
+            } else {
+                Files.writeString(CURSOR_FILE, key, StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            log.warn("업로드 정리 커서 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    // 이미지 URL의 uploads 기준 상대 경로 (/uploads/ 밖이면 null)
+    private static String relativeOf(String url) {
+        if (url == null || !url.startsWith("/uploads/") || url.contains("..")) {
+            return null;
+        }
+        return url.substring("/uploads/".length());
+    }
+
+    // 파일이 속한 원본의 상대 경로: 변환본이면 원본 경로, 아니면 자기 자신
+    private static String sourceOf(Path file) {
+        String relative = UPLOAD_ROOT.relativize(file).toString().replace('\\', '/');
+        if (relative.startsWith(VARIANT_DIR + "/")) {
+            return ProductImageProcessor.sourceName(relative.substring(VARIANT_DIR.length() + 1));
+        }
+        return relative;
+    }
+
+    // FNV-1a 64비트
+    private static long fingerprint(String path) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < path.length(); i++) {
+            hash ^= path.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static final class Counters {
+        final LongAdder scanned = new LongAdder();
+        final LongAdder young = new LongAdder();
+        final LongAdder deleted = new LongAdder();
+        final LongAdder deletedBytes = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        private final List<String> samples = new ArrayList<>();
+
+        synchronized void sample(String path) {
+            if (samples.size() < SAMPLE_LIMIT) {
+                samples.add(path);
+            }
+        }
+
+        synchronized List<String> samples() {
+            return Collections.unmodifiableList(new ArrayList<>(samples));
+        }
+    }
+}
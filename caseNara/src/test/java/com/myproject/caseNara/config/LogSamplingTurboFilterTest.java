@@ -0,0 +1,89 @@
+package com.myproject.caseNara.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매퍼 SQL 로그가 구문 단위로 샘플링되어, 남는 구문은 Preparing/Parameters/Total이 모두 남고
+ * 버리는 구문은 모두 버려지는지 확인합니다.
+ */
+class LogSamplingTurboFilterTest {
+
+    private static final int RATE = 3;
+
+    private final LoggerContext context = new LoggerContext();
+    private LogSamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LogSamplingTurboFilter();
+        filter.setContext(context);
+        filter.addCategory("org.springframework.web");
+        filter.addStatementCategory("com.myproject.caseNara.mapper");
+        filter.setRate(RATE);
+        filter.start();
+    }
+
+    @Test
+    void mapperLogsAreSampledPerStatement() {
+        Logger statement = debugLogger("com.myproject.caseNara.mapper.SalesMapper.findSalesById");
+        List<List<FilterReply>> replies = new ArrayList<>();
+        for (int i = 0; i < RATE * 4; i++) {
+            replies.add(List.of(
+                    decide(statement, "==>  Preparing: SELECT * FROM SALES WHERE SALE_ID = ?"),
+                    decide(statement, "==> Parameters: 1(Long)"),
+                    decide(statement, "<==      Total: 2")));
+        }
+
+        // 구문의 세 줄은 모두 같은 결과이고, RATE개 중 1개 구문만 남음
+        assertThat(replies).allMatch(lines -> lines.stream().distinct().count() == 1);
+        assertThat(replies).filteredOn(lines -> lines.get(0) == FilterReply.NEUTRAL).hasSize(4);
+    }
+
+    @Test
+    void nestedSelectFollowsOuterStatement() {
+        Logger statement = debugLogger("com.myproject.caseNara.mapper.BillMapper.getBillById");
+        for (int i = 0; i < RATE; i++) {
+            FilterReply outer = decide(statement, "==>  Preparing: SELECT * FROM BILLS WHERE BILL_ID = ?");
+            assertThat(decide(statement, "====>  Preparing: SELECT * FROM BILLS_SALES WHERE BILL_ID = ?")).isEqualTo(outer);
+            assertThat(decide(statement, "<====      Total: 3")).isEqualTo(outer);
+        }
+    }
+
+    @Test
+    void otherCategoriesAreSampledPerEvent() {
+        Logger web = debugLogger("org.springframework.web.servlet.DispatcherServlet");
+        List<FilterReply> replies = new ArrayList<>();
+        for (int i = 0; i < RATE * 2; i++) {
+            replies.add(decide(web, "GET \"/api/sales\", parameters={}"));
+        }
+        assertThat(replies).filteredOn(reply -> reply == FilterReply.NEUTRAL).hasSize(2);
+    }
+
+    @Test
+    void warningsAreNeverSampled() {
+        Logger statement = debugLogger("com.myproject.caseNara.mapper.SalesMapper.findSalesById");
+        decide(statement, "==>  Preparing: SELECT 1");
+        decide(statement, "==>  Preparing: SELECT 1");
+        assertThat(filter.decide(null, statement, Level.WARN, "느린 구문", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    private Logger debugLogger(String name) {
+        Logger logger = context.getLogger(name);
+        logger.setLevel(Level.DEBUG);
+        return logger;
+    }
+
+    private FilterReply decide(Logger logger, String message) {
+        return filter.decide(null, logger, Level.DEBUG, message, null, null);
+    }
+}
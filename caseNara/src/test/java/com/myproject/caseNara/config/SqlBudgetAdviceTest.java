@@ -0,0 +1,69 @@
+package com.myproject.caseNara.config;
+
+import com.myproject.caseNara.controller.SalesController;
+import com.myproject.caseNara.model.Sale;
+import com.myproject.caseNara.service.OpenOrderIndex;
+import com.myproject.caseNara.service.SalesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * caseNara.sql.budget.enforce=true(통합 테스트 설정)에서 @SqlBudget(statements = 1)인 GET /api/sales/byId/{saleId}가
+ * 예산 안이면 X-Sql-Count와 함께 성공하고, 예산을 넘으면 요청이 실패하는지 확인합니다.
+ * 매퍼 대신 서비스 목이 SqlMetricsInterceptor처럼 SqlRequestStats에 구문 실행을 기록합니다.
+ */
+@WebMvcTest(SalesController.class)
+@TestPropertySource(properties = "caseNara.sql.budget.enforce=true")
+class SqlBudgetAdviceTest {
+
+    private static final String FIND_SALES = "com.myproject.caseNara.mapper.SalesMapper.findSalesById";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SalesService salesService;
+    @MockitoBean
+    private OpenOrderIndex openOrderIndex;
+
+    @Test
+    void withinBudgetSucceedsWithStatementCountHeader() throws Exception {
+        when(salesService.findSalesById(1L)).thenAnswer(inv -> executes(1));
+
+        mockMvc.perform(get("/api/sales/byId/{saleId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlBudgetAdvice.COUNT_HEADER, "1"))
+                .andExpect(header().exists(SqlBudgetAdvice.TIME_HEADER));
+    }
+
+    @Test
+    void overBudgetFailsTheRequestWhenEnforced() {
+        when(salesService.findSalesById(1L)).thenAnswer(inv -> executes(2));
+
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/sales/byId/{saleId}", 1L)))
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("SQL 예산 초과 GET /api/sales/byId/1")
+                .hasMessageContaining("구문 2건 (예산 1)");
+    }
+
+    // 요청 스레드에서 매퍼 구문 n건이 실행된 것으로 기록
+    private static List<Sale> executes(int statements) {
+        for (int i = 0; i < statements; i++) {
+            SqlRequestStats.record(FIND_SALES, 1_000_000L);
+        }
+        return List.of(Sale.builder().saleId(1L).build());
+    }
+}
@@ -0,0 +1,122 @@
+package com.myproject.caseNara.config;
+
+import com.myproject.caseNara.controller.SalesController;
+import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.model.Sale;
+import com.myproject.caseNara.service.OpenOrderIndex;
+import com.myproject.caseNara.service.SalesService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 실제 매퍼 구문(SalesMapper.findSalesById, H2 메모리 DB)이 SqlMetricsInterceptor를 거쳐 SqlRequestStats에 기록되고,
+ * GET /api/sales/byId/{saleId}의 X-Sql-Count 헤더와 @SqlBudget(statements = 1) 확인까지 이어지는지 확인합니다.
+ * 매퍼 XML은 애플리케이션과 같은 mapper/SalesMapper.xml을 읽고, 서비스 목이 요청 스레드에서 매퍼를 호출합니다.
+ */
+@WebMvcTest(SalesController.class)
+@TestPropertySource(properties = "caseNara.sql.budget.enforce=true")
+class SqlMetricsInterceptorTest {
+
+    private static final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private static SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SalesService salesService;
+    @MockitoBean
+    private OpenOrderIndex openOrderIndex;
+
+    @BeforeAll
+    static void setUpDatabase() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sql-metrics;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE CUSTOMERS (CUSTOMER_ID BIGINT PRIMARY KEY, COMPANY_NAME VARCHAR(100), DELETED INT DEFAULT 0)");
+            statement.execute("CREATE TABLE PRODUCTS (PRODUCT_ID BIGINT PRIMARY KEY, PRODUCT_NAME VARCHAR(100), SALE_PRICE INT, DELETED INT DEFAULT 0)");
+            statement.execute("CREATE TABLE SALES (SALE_ID BIGINT, CUSTOMER_ID BIGINT, PRODUCT_ID BIGINT, QUANTITY INT, UNIT_PRICE INT,"
+                    + " SALE_AT TIMESTAMP, CREATED_AT TIMESTAMP, UPDATED_AT TIMESTAMP, DELETED INT DEFAULT 0)");
+            statement.execute("CREATE TABLE SALE_VERSIONS (SALE_ID BIGINT PRIMARY KEY, VERSION BIGINT)");
+            statement.execute("INSERT INTO CUSTOMERS (CUSTOMER_ID, COMPANY_NAME) VALUES (1, '케이스나라')");
+            statement.execute("INSERT INTO PRODUCTS (PRODUCT_ID, PRODUCT_NAME, SALE_PRICE) VALUES (10, '투명 케이스', 5000), (11, '강화유리', 3000)");
+            statement.execute("INSERT INTO SALES (SALE_ID, CUSTOMER_ID, PRODUCT_ID, QUANTITY, UNIT_PRICE, SALE_AT)"
+                    + " VALUES (100, 1, 10, 2, 10000, TIMESTAMP '2025-03-02 00:00:00'), (100, 1, 11, 1, 3000, TIMESTAMP '2025-03-02 00:00:00')");
+        }
+
+        Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("com.myproject.caseNara.model");
+        try (InputStream mapperXml = Resources.getResourceAsStream("mapper/SalesMapper.xml")) {
+            new XMLMapperBuilder(mapperXml, configuration, "mapper/SalesMapper.xml", configuration.getSqlFragments()).parse();
+        }
+        configuration.addInterceptor(new SqlMetricsInterceptor(registry, Duration.ofSeconds(5), List.of("password")));
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    @Test
+    void mappedStatementIsCountedInResponseHeader() throws Exception {
+        when(salesService.findSalesById(100L)).thenAnswer(inv -> findSalesById(1));
+
+        mockMvc.perform(get("/api/sales/byId/{saleId}", 100L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlBudgetAdvice.COUNT_HEADER, "1"))
+                .andExpect(header().exists(SqlBudgetAdvice.TIME_HEADER))
+                .andExpect(jsonPath("$.length()").value(2));
+
+        assertThat(registry.find("caseNara.sql")
+                .tags("statement", "SalesMapper.findSalesById", "type", "select", "outcome", "success")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void repeatedMappedStatementExceedsBudget() {
+        when(salesService.findSalesById(100L)).thenAnswer(inv -> findSalesById(2));
+
+        assertThatThrownBy(() -> mockMvc.perform(get("/api/sales/byId/{saleId}", 100L)))
+                .rootCause()
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("구문 2건 (예산 1)");
+    }
+
+    // 요청 스레드에서 실제 매퍼로 times번 조회
+    private static List<Sale> findSalesById(int times) {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            SalesMapper mapper = session.getMapper(SalesMapper.class);
+            List<Sale> sales = List.of();
+            for (int i = 0; i < times; i++) {
+                sales = mapper.findSalesById(100L);
+            }
+            return sales;
+        }
+    }
+}
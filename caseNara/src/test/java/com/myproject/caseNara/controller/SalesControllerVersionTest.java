@@ -0,0 +1,183 @@
+package com.myproject.caseNara.controller;
+
+import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.model.Customer;
+import com.myproject.caseNara.model.Product;
+import com.myproject.caseNara.model.Sale;
+import com.myproject.caseNara.service.CatalogCache;
+import com.myproject.caseNara.service.OpenOrderIndex;
+import com.myproject.caseNara.service.SalesRollupService;
+import com.myproject.caseNara.service.SalesService;
+import com.myproject.caseNara.service.TopProductsStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PUT /api/sales/{saleId} 주문 버전 계약: 같은 버전으로 동시에 보낸 두 수정 중 하나만 반영(200)되고
+ * 나머지는 409와 현재 주문을 받으며, 버전 없이 보내면 428을 받습니다.
+ * SalesService는 실제 코드를 쓰고, SALE_VERSIONS의 비교 후 증가(한 행 UPDATE)는 AtomicLong 비교 교환으로 대신합니다.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SalesControllerVersionTest {
+
+    private static final long SALE_ID = 100L;
+    private static final Customer CUSTOMER = Customer.builder().customerId(7L).companyName("가나상사").build();
+    private static final Product PRODUCT = Product.builder().productId(11L).productName("케이스A").salePrice(1000).build();
+
+    @Mock
+    private SalesMapper salesMapper;
+    @Mock
+    private CatalogCache catalogCache;
+    @Mock
+    private OpenOrderIndex openOrderIndex;
+    @Mock
+    private SalesRollupService salesRollupService;
+    @Mock
+    private TopProductsStore topProductsStore;
+
+    @InjectMocks
+    private SalesService salesService;
+
+    private final AtomicLong storedVersion = new AtomicLong(3);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SalesController controller = new SalesController();
+        ReflectionTestUtils.setField(controller, "salesService", salesService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(catalogCache.findCustomerByName(CUSTOMER.getCompanyName())).thenReturn(CUSTOMER);
+        when(catalogCache.findProductByName(PRODUCT.getProductName())).thenReturn(PRODUCT);
+        when(salesMapper.findSalesById(SALE_ID)).thenAnswer(inv -> List.of(line(2, storedVersion.get())));
+        when(salesMapper.findSaleVersion(SALE_ID)).thenAnswer(inv -> storedVersion.get());
+        when(salesMapper.compareAndBumpSaleVersion(eq(SALE_ID), anyLong())).thenAnswer(inv -> {
+            long expected = inv.getArgument(1);
+            return storedVersion.compareAndSet(expected, expected + 1) ? 1 : 0;
+        });
+    }
+
+    @Test
+    void concurrentEditsOnSameVersionGetOneOkAndOneConflict() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<MvcResult>> futures = new ArrayList<>();
+        try {
+            for (int quantity : new int[] {5, 9}) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(put("/api/sales/{saleId}", SALE_ID)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body(quantity, "3")))
+                            .andReturn();
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<MvcResult> future : futures) {
+                statuses.add(future.get().getResponse().getStatus());
+            }
+            assertThat(statuses).containsExactlyInAnyOrder(200, 409);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 이긴 수정만 항목을 썼고, 버전은 한 번만 올라감
+        assertThat(storedVersion.get()).isEqualTo(4);
+        verify(salesMapper, times(1)).setSaleLine(any(Sale.class));
+    }
+
+    @Test
+    void staleVersionReturnsConflictWithCurrentOrder() throws Exception {
+        storedVersion.set(4);
+
+        mockMvc.perform(put("/api/sales/{saleId}", SALE_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(5, "3")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.conflict").value(true))
+                .andExpect(jsonPath("$.version").value(4))
+                .andExpect(jsonPath("$.items[0].productId").value(PRODUCT.getProductId()))
+                .andExpect(jsonPath("$.items[0].quantity").value(2));
+
+        verify(salesMapper, never()).setSaleLine(any(Sale.class));
+    }
+
+    @Test
+    void successReturnsNewVersionForTheNextEdit() throws Exception {
+        mockMvc.perform(put("/api/sales/{saleId}", SALE_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(5, "3")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void missingVersionReturnsPreconditionRequiredWithCurrentOrder() throws Exception {
+        mockMvc.perform(put("/api/sales/{saleId}", SALE_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(5, null)))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.conflict").value(false))
+                .andExpect(jsonPath("$.version").value(3))
+                .andExpect(jsonPath("$.items[0].quantity").value(2));
+
+        verify(salesMapper, never()).compareAndBumpSaleVersion(anyLong(), anyLong());
+        verify(salesMapper, never()).setSaleLine(any(Sale.class));
+    }
+
+    private static String body(int quantity, String version) {
+        return "{\"customerName\":\"" + CUSTOMER.getCompanyName() + "\",\"saleDate\":\"2025-03-02\","
+                + "\"items\":[{\"productName\":\"" + PRODUCT.getProductName() + "\",\"quantity\":" + quantity + "}]"
+                + (version != null ? ",\"version\":" + version : "") + "}";
+    }
+
+    private static Sale line(int quantity, long version) {
+        return Sale.builder()
+                .saleId(SALE_ID)
+                .customerId(CUSTOMER.getCustomerId())
+                .productId(PRODUCT.getProductId())
+                .quantity(quantity)
+                .unitPrice(PRODUCT.getSalePrice() * quantity)
+                .saleAt(LocalDateTime.of(2025, 3, 2, 0, 0))
+                .customerName(CUSTOMER.getCompanyName())
+                .productName(PRODUCT.getProductName())
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.SalesMapper;
+import com.myproject.caseNara.model.NameFrequency;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 자동완성 검색: 초성 검색, 중간 일치, 앞부분 일치 우선 정렬과 주문 빈도 순서,
+ * 목록이 바뀐 뒤 이전 인덱스로 응답하다가 백그라운드에서 새 인덱스로 바뀌는지 확인합니다.
+ */
+class AutocompleteIndexTest {
+
+    private static final List<String> CUSTOMERS = List.of("케이스나라", "나라케이스", "케이블", "아이폰 케이스", "갤럭시 케이스");
+
+    private LookupService lookupService;
+    private SalesMapper salesMapper;
+    private AutocompleteIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lookupService = mock(LookupService.class);
+        salesMapper = mock(SalesMapper.class);
+        when(lookupService.getAllCustomerNames()).thenReturn(CUSTOMERS);
+        when(lookupService.getAllProduct()).thenReturn(List.of());
+        index = new AutocompleteIndex(lookupService, salesMapper, new MockEnvironment());
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void choseongKeyKeepsOnlyInitialConsonantsOfHangulSyllables() {
+        assertThat(AutocompleteIndex.choseongKey("A 케이스")).isEqualTo("aㅋㅇㅅ");
+        assertThat(AutocompleteIndex.choseongKey("까치 ABC-1")).isEqualTo("ㄲㅊabc-1");
+    }
+
+    @Test
+    void hasConsonantJamoDetectsChoseongQueries() {
+        assertThat(AutocompleteIndex.hasConsonantJamo("ㅋㅇㅅ")).isTrue();
+        assertThat(AutocompleteIndex.hasConsonantJamo("케이ㅅ")).isTrue();
+        assertThat(AutocompleteIndex.hasConsonantJamo("케이스")).isFalse();
+        assertThat(AutocompleteIndex.hasConsonantJamo("case")).isFalse();
+    }
+
+    @Test
+    void prefixMatchesComeBeforeInfixMatches() {
+        assertThat(index.suggestCustomers("케이", null))
+                .containsExactly("케이블", "케이스나라", "갤럭시 케이스", "나라케이스", "아이폰 케이스");
+    }
+
+    @Test
+    void choseongQueryMatchesPrefixAndInfix() {
+        assertThat(index.suggestCustomers("ㅋㅇㅅ", null))
+                .containsExactly("케이스나라", "갤럭시 케이스", "나라케이스", "아이폰 케이스");
+        assertThat(index.suggestCustomers("ㅋ ㅇ ㅂ", null)).containsExactly("케이블");
+    }
+
+    @Test
+    void queryIgnoresWhitespaceAndLimitApplies() {
+        assertThat(index.suggestCustomers("폰케", null)).containsExactly("아이폰 케이스");
+        assertThat(index.suggestCustomers("케이", 2)).containsExactly("케이블", "케이스나라");
+        assertThat(index.suggestCustomers("  ", null)).isEmpty();
+    }
+
+    @Test
+    void frequentNamesRankFirstWithinEachGroup() {
+        when(salesMapper.listRecentCustomerFrequency(any())).thenReturn(List.of(frequency("아이폰 케이스", 5), frequency("케이스나라", 3)));
+        when(salesMapper.listRecentProductFrequency(any())).thenReturn(List.of());
+        index.refreshFrequencies();
+
+        assertThat(index.suggestCustomers("케이", null))
+                .containsExactly("케이스나라", "케이블", "아이폰 케이스", "갤럭시 케이스", "나라케이스");
+    }
+
+    @Test
+    void changedListIsServedFromPreviousIndexUntilRebuilt() throws InterruptedException {
+        assertThat(index.suggestCustomers("케이블", null)).containsExactly("케이블");
+
+        when(lookupService.getAllCustomerNames()).thenReturn(List.of("케이스나라", "케이블몰"));
+        // 재생성을 요청한 조회는 이전 인덱스로 응답
+        assertThat(index.suggestCustomers("케이블", null)).containsExactly("케이블");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!index.suggestCustomers("케이블", null).equals(List.of("케이블몰")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(index.suggestCustomers("케이블", null)).containsExactly("케이블몰");
+    }
+
+    private static NameFrequency frequency(String name, int count) {
+        NameFrequency row = new NameFrequency();
+        row.setName(name);
+        row.setFrequency(count);
+        return row;
+    }
+}
@@ -0,0 +1,123 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.IdSequenceMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 32개 스레드가 동시에 채번할 때 ID가 겹치지 않고, 블록 예약(ID_SEQUENCES 행 잠금 구간)이
+ * 시퀀스별로 한 번에 하나씩만 실행되는지 확인합니다. DB 대신 메모리 IdSequenceMapper를 사용합니다.
+ */
+class BlockIdAllocatorTest {
+
+    private static final int WRITERS = 32;
+    private static final int IDS_PER_WRITER = 500;
+    private static final int BLOCK_SIZE = 50;
+
+    @Test
+    void concurrentWritersGetUniqueIdsAndRefillsAreSerializedPerSequence() throws Exception {
+        InMemoryIdSequenceMapper mapper = new InMemoryIdSequenceMapper();
+        BlockIdAllocator allocator = new BlockIdAllocator(mapper, mock(PlatformTransactionManager.class), BLOCK_SIZE);
+
+        // 스레드마다 SALES, BILLS를 번갈아 채번 (두 시퀀스의 블록 예약이 서로 다른 잠금으로 진행)
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        List<Future<Map<IdSequence, List<Long>>>> futures = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                futures.add(executor.submit(() -> {
+                    Map<IdSequence, List<Long>> ids = new EnumMap<>(IdSequence.class);
+                    start.await();
+                    for (int i = 0; i < IDS_PER_WRITER; i++) {
+                        IdSequence sequence = i % 2 == 0 ? IdSequence.SALES : IdSequence.BILLS;
+                        ids.computeIfAbsent(sequence, k -> new ArrayList<>()).add(allocator.nextId(sequence));
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Map<IdSequence, Set<Long>> issued = new EnumMap<>(IdSequence.class);
+            int total = 0;
+            for (Future<Map<IdSequence, List<Long>>> future : futures) {
+                for (Map.Entry<IdSequence, List<Long>> entry : future.get().entrySet()) {
+                    issued.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).addAll(entry.getValue());
+                    total += entry.getValue().size();
+                }
+            }
+
+            int perSequence = WRITERS * IDS_PER_WRITER / 2;
+            assertThat(total).isEqualTo(WRITERS * IDS_PER_WRITER);
+            for (IdSequence sequence : List.of(IdSequence.SALES, IdSequence.BILLS)) {
+                // 중복 없음: 발급 수와 서로 다른 ID 수가 같고, 예약한 블록을 빈틈없이 사용
+                assertThat(issued.get(sequence)).hasSize(perSequence);
+                assertThat(issued.get(sequence)).allMatch(id -> id >= 1 && id <= perSequence);
+                assertThat(mapper.reservations(sequence)).isEqualTo(perSequence / BLOCK_SIZE);
+                assertThat(mapper.maxConcurrentReservations(sequence)).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * ID_SEQUENCES 대신 쓰는 메모리 시퀀스입니다. 시퀀스 행이 없는 상태에서 시작하며,
+     * lockNextValue부터 advance까지를 예약 구간으로 보고 시퀀스별 동시 실행 수를 기록합니다.
+     */
+    private static final class InMemoryIdSequenceMapper implements IdSequenceMapper {
+
+        private final Map<String, Long> nextValues = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> maxInFlight = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> reservations = new ConcurrentHashMap<>();
+
+        @Override
+        public Long lockNextValue(String seqName) {
+            Long next = nextValues.get(seqName);
+            if (next != null) {
+                int now = inFlight.computeIfAbsent(seqName, k -> new AtomicInteger()).incrementAndGet();
+                maxInFlight.computeIfAbsent(seqName, k -> new AtomicInteger()).accumulateAndGet(now, Math::max);
+                // 잠금 구간을 넓혀 동시 예약이 있으면 드러나게 함
+                Thread.yield();
+            }
+            return next;
+        }
+
+        @Override
+        public int advance(String seqName, int blockSize) {
+            nextValues.merge(seqName, (long) blockSize, Long::sum);
+            reservations.computeIfAbsent(seqName, k -> new AtomicInteger()).incrementAndGet();
+            inFlight.get(seqName).decrementAndGet();
+            return 1;
+        }
+
+        @Override
+        public int insertSequenceIfAbsent(String seqName, String tableName, String columnName) {
+            return nextValues.putIfAbsent(seqName, 1L) == null ? 1 : 0;
+        }
+
+        int reservations(IdSequence sequence) {
+            return reservations.getOrDefault(sequence.name(), new AtomicInteger()).get();
+        }
+
+        int maxConcurrentReservations(IdSequence sequence) {
+            return maxInFlight.getOrDefault(sequence.name(), new AtomicInteger()).get();
+        }
+    }
+}
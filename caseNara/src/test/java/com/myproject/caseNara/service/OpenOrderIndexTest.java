@@ -0,0 +1,138 @@
+package com.myproject.caseNara.service;
+
+import com.myproject.caseNara.mapper.SalesMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * findOrReserve 예약 해제: 예약을 만든 트랜잭션이 롤백돼도 같은 SALE_ID를 쓴 다른 트랜잭션이 커밋했거나
+ * 아직 진행 중이면 예약을 유지하고, 쓴 트랜잭션이 모두 롤백된 경우에만 해제하는지 확인합니다.
+ * rebuild와 기동 시 적재가 진행 중인 예약을 지우지 않는지도 확인합니다.
+ * 트랜잭션은 TransactionSynchronizationManager에 등록된 동기화를 직접 완료시켜 흉내 냅니다.
+ */
+class OpenOrderIndexTest {
+
+    private static final Long CUSTOMER_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 2);
+
+    private final AtomicLong nextSaleId = new AtomicLong(100);
+    private SalesMapper salesMapper;
+    private OpenOrderIndex index;
+
+    @BeforeEach
+    void setUp() {
+        salesMapper = mock(SalesMapper.class);
+        when(salesMapper.listOpenSaleIds()).thenReturn(List.of());
+        index = new OpenOrderIndex(salesMapper, mock(PlatformTransactionManager.class));
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rollbackOfCreatorKeepsReservationUsedByCommittedTransaction() {
+        Transaction creator = reserveIn(true);
+        Transaction reuser = reserveIn(false);
+        assertThat(reuser.saleId).isEqualTo(creator.saleId);
+
+        reuser.complete(TransactionSynchronization.STATUS_COMMITTED);
+        creator.complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.find(CUSTOMER_ID, DAY)).isEqualTo(creator.saleId);
+    }
+
+    @Test
+    void rollbackOfCreatorKeepsReservationWhileReuserIsInFlight() {
+        Transaction creator = reserveIn(true);
+        Transaction reuser = reserveIn(false);
+
+        creator.complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(index.find(CUSTOMER_ID, DAY)).isEqualTo(creator.saleId);
+
+        // 마지막 사용자도 롤백하면 주문 행이 없으므로 해제
+        reuser.complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(index.find(CUSTOMER_ID, DAY)).isNull();
+    }
+
+    @Test
+    void rollbackOfOnlyUserReleasesReservation() {
+        Transaction creator = reserveIn(true);
+
+        creator.complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.find(CUSTOMER_ID, DAY)).isNull();
+        assertThat(reserveIn(true).saleId).isNotEqualTo(creator.saleId);
+    }
+
+    @Test
+    void reuseDoesNotAllocateSaleId() {
+        Transaction creator = reserveIn(true);
+        reserveIn(false);
+        creator.complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(nextSaleId.get()).isEqualTo(creator.saleId + 1);
+    }
+
+    @Test
+    void rebuildKeepsUncommittedReservation() {
+        Transaction creator = reserveIn(true);
+
+        // 커밋 전이라 DB에는 아직 주문 행이 없음
+        index.rebuild();
+
+        assertThat(index.find(CUSTOMER_ID, DAY)).isEqualTo(creator.saleId);
+        Transaction reuser = reserveIn(false);
+        assertThat(reuser.saleId).isEqualTo(creator.saleId);
+
+        creator.complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        reuser.complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(index.find(CUSTOMER_ID, DAY)).isNull();
+    }
+
+    @Test
+    void startupLoadSkipsWhenAlreadyLoaded() {
+        Transaction creator = reserveIn(true);
+
+        index.loadOnStartup();
+
+        verify(salesMapper, times(1)).listOpenSaleIds();
+        assertThat(index.find(CUSTOMER_ID, DAY)).isEqualTo(creator.saleId);
+    }
+
+    // 트랜잭션 하나에서 findOrReserve를 호출하고, 등록된 동기화를 보관한 뒤 스레드에서 분리
+    private Transaction reserveIn(boolean expectCreated) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            OpenOrderIndex.Reservation reservation = index.findOrReserve(CUSTOMER_ID, DAY, nextSaleId::getAndIncrement);
+            assertThat(reservation.created()).isEqualTo(expectCreated);
+            return new Transaction(reservation.saleId(), TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private record Transaction(Long saleId, List<TransactionSynchronization> synchronizations) {
+        void complete(int status) {
+            synchronizations.forEach(s -> s.afterCompletion(status));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import apiClient from './client';
+
+// 부트스트랩 데이터(고객 상호명, 상품 목록) 로컬 캐시 키
+const STORAGE_KEY = 'caseNara.bootstrap';
+
+const readCache = () => {
+  try {
+    const cached = JSON.parse(localStorage.getItem(STORAGE_KEY));
+    if (cached && typeof cached.version === 'number'
+        && Array.isArray(cached.customers) && Array.isArray(cached.products)) {
+      return cached;
+    }
+  } catch (e) {
+    // 손상된 캐시는 무시하고 전체 목록을 다시 받음
+  }
+  return null;
+};
+
+const writeCache = (data) => {
+  try {
+    localStorage.setItem(STORAGE_KEY, JSON.stringify(data));
+  } catch (e) {
+    // 저장 공간 부족 등은 무시 (다음에 전체 목록을 다시 받음)
+  }
+};
+
+/**
+ * 고객 상호명/상품 목록을 불러옵니다.
+ * 마지막으로 받은 version을 since로 보내 변경분만 받고, 로컬 캐시에 반영합니다.
+ * @returns {Promise<{customers: string[], products: object[]}>}
+ */
+export const loadBootstrap = async () => {
+  const cached = readCache();
+  const params = cached ? { since: cached.version } : {};
+  const { data } = await apiClient.get('/lookup/bootstrap', { params });
+  if (!data.success) {
+    throw new Error(data.message || '데이터 로딩 실패');
+  }
+
+  let customers;
+  let products;
+  if (data.delta && cached) {
+    // 변경분 반영: 삭제/변경 항목을 빼고 새 값 추가
+    const customerChanges = new Set([...data.customers.deleted, ...data.customers.upserted]);
+    customers = cached.customers.filter(name => !customerChanges.has(name))
+      .concat(data.customers.upserted)
+      .sort((a, b) => a.localeCompare(b));
+
+    const productChanges = new Set([...data.products.deleted, ...data.products.upserted.map(p => p.productId)]);
+    products = cached.products.filter(p => !productChanges.has(p.productId))
+      .concat(data.products.upserted)
+      .sort((a, b) => (a.productName || '').localeCompare(b.productName || ''));
+  } else {
+    customers = Array.isArray(data.customers) ? data.customers : [];
+    products = Array.isArray(data.products) ? data.products : [];
+  }
+
+  writeCache({ version: data.version, customers, products });
+  return { customers, products };
+};
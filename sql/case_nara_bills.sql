@@ -29,7 +29,10 @@ CREATE TABLE `bills` (
   `remain_cost` int DEFAULT NULL,
   `status` int DEFAULT NULL,
   `created_at` datetime DEFAULT NULL,
-  PRIMARY KEY (`bill_id`)
+  PRIMARY KEY (`bill_id`),
+  KEY `bills_status_idx` (`status`),
+  KEY `bills_created_at_idx` (`created_at`),
+  KEY `bills_customer_id_idx` (`customer_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
@@ -0,0 +1,13 @@
+-- 고객별 상품 주문 횟수 (주문 입력 추천 상품용, TopProductsStore)
+-- order_count는 해당 상품이 들어 있는 삭제되지 않은 주문(SALE_ID) 수이며,
+-- 주문 변경 시 증감분으로 갱신되고 메모리 인덱스 적재/재적재의 원본이 됩니다.
+
+DROP TABLE IF EXISTS `customer_product_counts`;
+CREATE TABLE `customer_product_counts` (
+  `customer_id` bigint NOT NULL,
+  `product_id` bigint NOT NULL,
+  `order_count` int NOT NULL DEFAULT '0',
+  PRIMARY KEY (`customer_id`, `product_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- 초기값은 seed/customer_product_counts.sql (다른 테이블을 읽으므로 sql/의 모든 테이블을 만든 뒤 실행)
@@ -29,7 +29,7 @@ CREATE TABLE `customers` (
   `ADDRESS` varchar(400) DEFAULT NULL,
   `CREATED_AT` datetime DEFAULT CURRENT_TIMESTAMP,
   `UPDATED_AT` datetime DEFAULT CURRENT_TIMESTAMP,
-  `DELETED` tinyint(1) DEFAULT '0',
+  `DELETED` tinyint(1) NOT NULL DEFAULT '0',
   PRIMARY KEY (`CUSTOMER_ID`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -0,0 +1,11 @@
+-- ID 채번용 시퀀스 테이블 (BlockIdAllocator)
+-- 각 행의 NEXT_VAL은 아직 예약되지 않은 다음 ID이며, 애플리케이션이 블록 단위로 전진시킵니다.
+
+DROP TABLE IF EXISTS `id_sequences`;
+CREATE TABLE `id_sequences` (
+  `SEQ_NAME` varchar(50) NOT NULL,
+  `NEXT_VAL` bigint NOT NULL,
+  PRIMARY KEY (`SEQ_NAME`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- 초기값은 seed/id_sequences.sql (다른 테이블을 읽으므로 sql/의 모든 테이블을 만든 뒤 실행)
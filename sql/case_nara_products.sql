@@ -30,9 +30,11 @@ CREATE TABLE `products` (
   `IMAGE_URL` varchar(1000) DEFAULT NULL,
   `CREATED_AT` datetime DEFAULT CURRENT_TIMESTAMP,
   `UPDATED_AT` datetime DEFAULT CURRENT_TIMESTAMP,
-  `DELETED` tinyint(1) DEFAULT '0',
+  `DELETED` tinyint(1) NOT NULL DEFAULT '0',
   `SUPPLIER` varchar(20) DEFAULT NULL,
   `DISPLAY_LOCATION` varchar(100) DEFAULT NULL,
+  `THUMBNAIL_URL` varchar(1100) DEFAULT NULL,
+  `MEDIUM_URL` varchar(1100) DEFAULT NULL,
   PRIMARY KEY (`PRODUCT_ID`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -43,7 +45,7 @@ CREATE TABLE `products` (
 
 LOCK TABLES `products` WRITE;
 /*!40000 ALTER TABLE `products` DISABLE KEYS */;
-INSERT INTO `products` VALUES (1,'이정희',150.00,50.00,'/uploads/9611856f-dc48-4f78-9b98-3181248d682f_cloth_canmart_3.png','2025-11-05 14:29:25','2025-11-05 14:29:25',0,'aa','10'),(2,'쏴버렸죠',12312.00,123123.00,'/uploads/51378a44-ab6c-4290-a6f7-0c5177c56b74_localhost_9090_bts_board_list.bts(iPhone 12 Pro).png','2025-11-05 14:31:40','2025-11-05 14:31:40',0,'123123','123123'),(3,'12312',10.00,123123.00,'/uploads/4fa84519-9d6f-47c3-9e6e-f281241c1cc5_berkelekle덩크04 (1).jpg','2025-11-05 14:38:20','2025-11-05 14:38:20',0,'123123','123123'),(4,'쉐보레',1.00,1.00,'/uploads/1c463867-beea-4cd7-b331-a521dc42d2fc_쉐보레전면.jpg','2025-11-05 14:39:44','2025-11-05 14:39:44',0,'1','1'),(5,'엑셀',100.00,40.00,'/uploads/158999af-c9c8-4b02-95d7-96594bbe1f73_KakaoTalk_20220504_103330399.png','2025-11-06 14:38:57','2025-11-06 14:38:57',0,'1','1'),(6,'프로',100.00,340.00,'/uploads/c930db55-f771-41ae-9451-1d79483417ab_KakaoTalk_20220602_181109337.png','2025-11-06 14:39:11','2025-11-06 14:39:11',0,'12','21');
+INSERT INTO `products` VALUES (1,'이정희',150.00,50.00,'/uploads/9611856f-dc48-4f78-9b98-3181248d682f_cloth_canmart_3.png','2025-11-05 14:29:25','2025-11-05 14:29:25',0,'aa','10',NULL,NULL),(2,'쏴버렸죠',12312.00,123123.00,'/uploads/51378a44-ab6c-4290-a6f7-0c5177c56b74_localhost_9090_bts_board_list.bts(iPhone 12 Pro).png','2025-11-05 14:31:40','2025-11-05 14:31:40',0,'123123','123123',NULL,NULL),(3,'12312',10.00,123123.00,'/uploads/4fa84519-9d6f-47c3-9e6e-f281241c1cc5_berkelekle덩크04 (1).jpg','2025-11-05 14:38:20','2025-11-05 14:38:20',0,'123123','123123',NULL,NULL),(4,'쉐보레',1.00,1.00,'/uploads/1c463867-beea-4cd7-b331-a521dc42d2fc_쉐보레전면.jpg','2025-11-05 14:39:44','2025-11-05 14:39:44',0,'1','1',NULL,NULL),(5,'엑셀',100.00,40.00,'/uploads/158999af-c9c8-4b02-95d7-96594bbe1f73_KakaoTalk_20220504_103330399.png','2025-11-06 14:38:57','2025-11-06 14:38:57',0,'1','1',NULL,NULL),(6,'프로',100.00,340.00,'/uploads/c930db55-f771-41ae-9451-1d79483417ab_KakaoTalk_20220602_181109337.png','2025-11-06 14:39:11','2025-11-06 14:39:11',0,'12','21',NULL,NULL);
 /*!40000 ALTER TABLE `products` ENABLE KEYS */;
 UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
@@ -0,0 +1,26 @@
+-- 미수금(receivables) 집계 테이블
+-- receivables_daily: 고객/청구일자별 미수 잔액과 청구서 수 (REMAIN_COST > 0인 청구서만)
+-- customer_receivables: 고객별 미수 총액, 미수 청구서 수, 가장 오래된 미수 청구일자
+-- 두 테이블은 BillService의 청구서 변경 시 해당 고객 기준으로 함께 갱신됩니다 (ReceivableService).
+
+DROP TABLE IF EXISTS `receivables_daily`;
+CREATE TABLE `receivables_daily` (
+  `customer_id` int NOT NULL,
+  `bill_date` date NOT NULL,
+  `outstanding` bigint NOT NULL DEFAULT '0',
+  `bill_count` int NOT NULL DEFAULT '0',
+  PRIMARY KEY (`customer_id`, `bill_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+DROP TABLE IF EXISTS `customer_receivables`;
+CREATE TABLE `customer_receivables` (
+  `customer_id` int NOT NULL,
+  `outstanding` bigint NOT NULL DEFAULT '0',
+  `open_bill_count` int NOT NULL DEFAULT '0',
+  `oldest_unpaid_date` date DEFAULT NULL,
+  `updated_at` datetime DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`customer_id`),
+  KEY `customer_receivables_outstanding_idx` (`outstanding`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- 초기값은 seed/receivables.sql (다른 테이블을 읽으므로 sql/의 모든 테이블을 만든 뒤 실행)
@@ -0,0 +1,17 @@
+-- 기준 정보(고객/상품/메뉴) 변경 이력 (ReferenceVersionService)
+-- CHANGE_ID는 전체 기준 정보에 걸친 버전 번호이며, 테이블별 버전은 해당 테이블의 최대 CHANGE_ID입니다.
+-- ROW_KEY는 변경된 행의 키(고객: 상호명, 상품: PRODUCT_ID)이고, NULL이면 테이블 전체 변경(전체 재동기화)입니다.
+-- CHANGE_ID는 ID_SEQUENCES의 REFERENCE_CHANGES 행을 잠가 발급하므로 커밋 순서와 번호 순서가 같습니다.
+
+DROP TABLE IF EXISTS `reference_changes`;
+CREATE TABLE `reference_changes` (
+  `CHANGE_ID` bigint NOT NULL,
+  `TABLE_NAME` varchar(30) NOT NULL,
+  `ROW_KEY` varchar(255) DEFAULT NULL,
+  `CHANGED_AT` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`CHANGE_ID`),
+  KEY `reference_changes_table_idx` (`TABLE_NAME`, `CHANGE_ID`),
+  KEY `reference_changes_changed_at_idx` (`CHANGED_AT`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- 변경 번호 시퀀스(id_sequences의 REFERENCE_CHANGES 행) 초기값은 seed/id_sequences.sql
@@ -0,0 +1,13 @@
+-- 주문(SALE_ID)별 버전 (주문 수정의 낙관적 동시성 확인용)
+-- SALES는 항목마다 한 행이고 주문 머리 행이 없으므로 주문당 한 행을 따로 둡니다.
+-- 주문 항목을 바꾸는 모든 구문은 같은 트랜잭션에서 이 행의 VERSION을 올립니다.
+-- 주문 수정(PUT /api/sales/{saleId})은 화면이 읽은 VERSION과 같을 때만 올리고, 다르면 409로 거절합니다.
+-- 행이 없는 주문은 버전 0으로 봅니다 (기존 DB는 migration/004_sale_versions.sql로 채움).
+
+DROP TABLE IF EXISTS `sale_versions`;
+CREATE TABLE `sale_versions` (
+  `SALE_ID` bigint NOT NULL,
+  `VERSION` bigint NOT NULL DEFAULT '0',
+  `UPDATED_AT` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`SALE_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
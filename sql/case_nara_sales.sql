@@ -32,10 +32,11 @@ CREATE TABLE `sales` (
   `CREATED_AT` datetime DEFAULT CURRENT_TIMESTAMP,
   `UPDATED_AT` datetime DEFAULT CURRENT_TIMESTAMP,
   `DELETED` tinyint(1) NOT NULL DEFAULT '0',
-  `bill_status` tinyint(1) DEFAULT '0',
-  PRIMARY KEY (`SALE_ID`,`PRODUCT_ID`,`DELETED`,`CUSTOMER_ID`),
+  `bill_status` tinyint(1) NOT NULL DEFAULT '0',
+  PRIMARY KEY (`SALE_ID`,`PRODUCT_ID`),
   KEY `product_id_idx` (`PRODUCT_ID`),
-  KEY `customer_id_idx` (`CUSTOMER_ID`),
+  KEY `sales_customer_sale_at_idx` (`CUSTOMER_ID`,`SALE_AT`,`bill_status`,`DELETED`),
+  KEY `sales_sale_at_idx` (`SALE_AT`),
   CONSTRAINT `customer_id` FOREIGN KEY (`CUSTOMER_ID`) REFERENCES `customers` (`CUSTOMER_ID`),
   CONSTRAINT `product_id` FOREIGN KEY (`PRODUCT_ID`) REFERENCES `products` (`PRODUCT_ID`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
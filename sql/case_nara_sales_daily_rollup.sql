@@ -0,0 +1,17 @@
+-- 일별 판매 집계 (sales_daily_rollup)
+-- (판매일자, 고객, 상품)별 수량/금액/항목 수. 삭제되지 않은 SALES 행만 집계합니다.
+-- SalesService가 주문 변경과 같은 트랜잭션에서 해당 (고객, 판매일자)만 다시 집계하며,
+-- 기존 데이터는 POST /api/sales/rollup/backfill 로 채웁니다.
+
+DROP TABLE IF EXISTS `sales_daily_rollup`;
+CREATE TABLE `sales_daily_rollup` (
+  `SALE_DATE` date NOT NULL,
+  `CUSTOMER_ID` bigint NOT NULL,
+  `PRODUCT_ID` bigint NOT NULL,
+  `QUANTITY` bigint NOT NULL DEFAULT '0',
+  `AMOUNT` decimal(18,2) NOT NULL DEFAULT '0.00',
+  `LINE_COUNT` int NOT NULL DEFAULT '0',
+  PRIMARY KEY (`SALE_DATE`, `CUSTOMER_ID`, `PRODUCT_ID`),
+  KEY `sales_daily_rollup_customer_idx` (`CUSTOMER_ID`, `SALE_DATE`),
+  KEY `sales_daily_rollup_product_idx` (`PRODUCT_ID`, `SALE_DATE`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,30 @@
+-- 판매/청구 조회용 복합 인덱스 추가
+-- 매퍼의 조건이 DATE(SALE_AT), IFNULL(DELETED, 0) 대신 반개구간 범위와 단순 동등 비교로 바뀌었으므로
+-- 플래그 컬럼을 NOT NULL로 정리한 뒤 해당 조건에 맞는 인덱스를 만듭니다.
+
+-- 1) 플래그 컬럼 NULL 정리 및 NOT NULL 지정 (bill_status = 0, DELETED = 0 비교가 IFNULL과 같은 결과가 되도록)
+UPDATE `sales` SET `bill_status` = 0 WHERE `bill_status` IS NULL;
+ALTER TABLE `sales` MODIFY `bill_status` tinyint(1) NOT NULL DEFAULT '0';
+
+UPDATE `customers` SET `DELETED` = 0 WHERE `DELETED` IS NULL;
+ALTER TABLE `customers` MODIFY `DELETED` tinyint(1) NOT NULL DEFAULT '0';
+
+UPDATE `products` SET `DELETED` = 0 WHERE `DELETED` IS NULL;
+ALTER TABLE `products` MODIFY `DELETED` tinyint(1) NOT NULL DEFAULT '0';
+
+-- 2) sales: 고객/일자별 열린 주문 조회(findOpenSaleId 등)와 기간 조회(listSales)
+--    customer_id_idx는 새 복합 인덱스의 선두 컬럼과 겹치므로 제거 (FK는 복합 인덱스가 대신 지원)
+ALTER TABLE `sales`
+  ADD KEY `sales_customer_sale_at_idx` (`CUSTOMER_ID`, `SALE_AT`, `bill_status`, `DELETED`),
+  ADD KEY `sales_sale_at_idx` (`SALE_AT`),
+  DROP KEY `customer_id_idx`;
+
+-- 3) bills: 상태별/기간별/고객별 조회
+ALTER TABLE `bills`
+  ADD KEY `bills_status_idx` (`status`),
+  ADD KEY `bills_created_at_idx` (`created_at`),
+  ADD KEY `bills_customer_id_idx` (`customer_id`);
+
+-- 4) bills_sales: SALES_ID로 청구서 찾기(findBillIdBySaleId)
+ALTER TABLE `bills_sales`
+  ADD KEY `bills_sales_sales_id_idx` (`SALES_ID`);
@@ -0,0 +1,52 @@
+-- 주문 항목 유일 키 (SALE_ID, PRODUCT_ID) 적용
+-- 기존 PK (SALE_ID, PRODUCT_ID, DELETED, CUSTOMER_ID)는 같은 상품의 활성/삭제 행이 함께 남을 수 있어
+-- 항목을 고칠 때마다 중복 병합(mergeDuplicateItems)이 필요했습니다.
+-- 매퍼는 이제 INSERT ... ON DUPLICATE KEY UPDATE 한 구문으로 항목을 추가/변경하므로
+-- 기존 중복을 한 번 정리한 뒤 PK를 (SALE_ID, PRODUCT_ID)로 바꿉니다.
+-- 애플리케이션을 멈춘 상태에서 한 번 실행합니다.
+
+START TRANSACTION;
+
+-- 1) 활성 행이 여러 개인 (SALE_ID, PRODUCT_ID): 합계를 가진 활성 행 하나로 압축 (삭제 행 포함 나머지는 제거)
+CREATE TEMPORARY TABLE `sales_line_compacted` AS
+SELECT
+  `SALE_ID`,
+  `PRODUCT_ID`,
+  MIN(`CUSTOMER_ID`) AS `CUSTOMER_ID`,
+  SUM(`QUANTITY`) AS `QUANTITY`,
+  SUM(`UNIT_PRICE`) AS `UNIT_PRICE`,
+  MIN(`SALE_AT`) AS `SALE_AT`,
+  MIN(`CREATED_AT`) AS `CREATED_AT`,
+  MAX(`UPDATED_AT`) AS `UPDATED_AT`,
+  MAX(`bill_status`) AS `bill_status`
+FROM `sales`
+WHERE `DELETED` = 0
+GROUP BY `SALE_ID`, `PRODUCT_ID`
+HAVING COUNT(*) > 1;
+
+DELETE s FROM `sales` s
+JOIN `sales_line_compacted` c ON c.`SALE_ID` = s.`SALE_ID` AND c.`PRODUCT_ID` = s.`PRODUCT_ID`;
+
+INSERT INTO `sales` (`SALE_ID`, `CUSTOMER_ID`, `PRODUCT_ID`, `QUANTITY`, `UNIT_PRICE`, `SALE_AT`, `CREATED_AT`, `UPDATED_AT`, `DELETED`, `bill_status`)
+SELECT `SALE_ID`, `CUSTOMER_ID`, `PRODUCT_ID`, `QUANTITY`, `UNIT_PRICE`, `SALE_AT`, `CREATED_AT`, `UPDATED_AT`, 0, `bill_status`
+FROM `sales_line_compacted`;
+
+DROP TEMPORARY TABLE `sales_line_compacted`;
+
+-- 2) 활성 행이 있는 (SALE_ID, PRODUCT_ID)의 삭제 행 제거
+DELETE d FROM `sales` d
+JOIN `sales` a ON a.`SALE_ID` = d.`SALE_ID` AND a.`PRODUCT_ID` = d.`PRODUCT_ID` AND a.`DELETED` = 0
+WHERE d.`DELETED` = 1;
+
+-- 3) 삭제 행만 여러 개인 (SALE_ID, PRODUCT_ID): CUSTOMER_ID가 가장 작은 행만 남김
+DELETE d FROM `sales` d
+JOIN `sales` k ON k.`SALE_ID` = d.`SALE_ID` AND k.`PRODUCT_ID` = d.`PRODUCT_ID` AND k.`DELETED` = 1
+  AND k.`CUSTOMER_ID` < d.`CUSTOMER_ID`
+WHERE d.`DELETED` = 1;
+
+COMMIT;
+
+-- 4) PK 교체 (DDL은 암묵적으로 커밋되므로 정리 후 실행)
+ALTER TABLE `sales`
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (`SALE_ID`, `PRODUCT_ID`);
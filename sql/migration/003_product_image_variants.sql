@@ -0,0 +1,7 @@
+-- 상품 이미지 변환본(썸네일/중간 크기) URL 컬럼 추가
+-- 업로드 후 ProductImageProcessor가 /uploads/variants/ 아래에 변환본을 만들고 이 컬럼에 기록합니다.
+-- 기존 이미지는 적용 후 POST /api/products/image-variants/backfill 을 한 번 호출하여 변환합니다.
+
+ALTER TABLE `products`
+  ADD COLUMN `THUMBNAIL_URL` varchar(1100) DEFAULT NULL,
+  ADD COLUMN `MEDIUM_URL` varchar(1100) DEFAULT NULL;
@@ -0,0 +1,14 @@
+-- 주문 버전 테이블 추가 (주문 수정 낙관적 동시성)
+-- 두 사무원이 같은 주문을 동시에 수정하면 나중 요청이 먼저 저장된 수정을 모르고 덮어썼습니다.
+-- 주문 수정은 화면이 읽은 버전을 함께 보내고, 저장된 버전과 다르면 409와 현재 상태를 돌려받습니다.
+-- 기존 주문은 버전 0으로 채웁니다. 애플리케이션 실행 중에 적용해도 됩니다 (행이 없으면 버전 0으로 처리).
+
+CREATE TABLE IF NOT EXISTS `sale_versions` (
+  `SALE_ID` bigint NOT NULL,
+  `VERSION` bigint NOT NULL DEFAULT '0',
+  `UPDATED_AT` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`SALE_ID`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO `sale_versions` (`SALE_ID`, `VERSION`)
+SELECT DISTINCT `SALE_ID`, 0 FROM `sales`;
@@ -0,0 +1,15 @@
+-- ID 채번용 시퀀스 테이블 추가 (BlockIdAllocator)
+-- SALE_ID/BILL_ID/CUSTOMER_ID/PRODUCT_ID를 MAX + 1 조회 대신 이 테이블의 행을 잠가 블록 단위로 예약합니다.
+-- 각 행의 NEXT_VAL은 아직 예약되지 않은 다음 ID이며, 기존 데이터의 MAX + 1로 채웁니다.
+-- 이 테이블이 없으면 주문/청구서/고객/상품 등록이 실패하므로 새 버전을 배포하기 전에 적용합니다.
+
+CREATE TABLE IF NOT EXISTS `id_sequences` (
+  `SEQ_NAME` varchar(50) NOT NULL,
+  `NEXT_VAL` bigint NOT NULL,
+  PRIMARY KEY (`SEQ_NAME`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'SALES', COALESCE(MAX(`SALE_ID`), 0) + 1 FROM `sales`;
+INSERT IGNORE INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'BILLS', COALESCE(MAX(`bill_id`), 0) + 1 FROM `bills`;
+INSERT IGNORE INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'CUSTOMERS', COALESCE(MAX(`CUSTOMER_ID`), 0) + 1 FROM `customers`;
+INSERT IGNORE INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'PRODUCTS', COALESCE(MAX(`PRODUCT_ID`), 0) + 1 FROM `products`;
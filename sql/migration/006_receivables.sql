@@ -0,0 +1,42 @@
+-- 미수금 집계 테이블 추가 (ReceivableService)
+-- receivables_daily: 고객/청구일자별 미수 잔액과 청구서 수 (REMAIN_COST > 0인 청구서만)
+-- customer_receivables: 고객별 미수 총액, 미수 청구서 수, 가장 오래된 미수 청구일자
+-- 두 테이블을 만들고 기존 청구서로 채웁니다 (POST /api/receivables/rebuild 와 동일).
+-- 채우는 동안 청구서가 바뀌면 해당 고객 값이 어긋날 수 있으므로 애플리케이션을 멈춘 상태에서 적용하거나, 적용 후 rebuild를 한 번 호출합니다.
+
+CREATE TABLE IF NOT EXISTS `receivables_daily` (
+  `customer_id` int NOT NULL,
+  `bill_date` date NOT NULL,
+  `outstanding` bigint NOT NULL DEFAULT '0',
+  `bill_count` int NOT NULL DEFAULT '0',
+  PRIMARY KEY (`customer_id`, `bill_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+CREATE TABLE IF NOT EXISTS `customer_receivables` (
+  `customer_id` int NOT NULL,
+  `outstanding` bigint NOT NULL DEFAULT '0',
+  `open_bill_count` int NOT NULL DEFAULT '0',
+  `oldest_unpaid_date` date DEFAULT NULL,
+  `updated_at` datetime DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`customer_id`),
+  KEY `customer_receivables_outstanding_idx` (`outstanding`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- 다시 실행해도 같은 결과가 되도록 비운 뒤 채움
+START TRANSACTION;
+
+DELETE FROM `receivables_daily`;
+DELETE FROM `customer_receivables`;
+
+INSERT INTO `receivables_daily` (`customer_id`, `bill_date`, `outstanding`, `bill_count`)
+SELECT `customer_id`, CAST(`created_at` AS DATE), SUM(`remain_cost`), COUNT(*)
+FROM `bills`
+WHERE `remain_cost` > 0
+GROUP BY `customer_id`, CAST(`created_at` AS DATE);
+
+INSERT INTO `customer_receivables` (`customer_id`, `outstanding`, `open_bill_count`, `oldest_unpaid_date`, `updated_at`)
+SELECT `customer_id`, SUM(`outstanding`), SUM(`bill_count`), MIN(`bill_date`), NOW()
+FROM `receivables_daily`
+GROUP BY `customer_id`;
+
+COMMIT;
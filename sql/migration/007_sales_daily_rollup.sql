@@ -0,0 +1,16 @@
+-- 일별 판매 집계 테이블 추가 (SalesRollupService)
+-- (판매일자, 고객, 상품)별 수량/금액/항목 수이며, 주문 변경과 같은 트랜잭션에서 해당 (고객, 판매일자)만 다시 집계합니다.
+-- 테이블만 만들고, 기존 판매는 적용 후 POST /api/sales/rollup/backfill 을 한 번 호출하여 하루씩 채웁니다.
+-- 애플리케이션 실행 중에 적용해도 됩니다 (backfill 전의 집계 조회는 빈 결과).
+
+CREATE TABLE IF NOT EXISTS `sales_daily_rollup` (
+  `SALE_DATE` date NOT NULL,
+  `CUSTOMER_ID` bigint NOT NULL,
+  `PRODUCT_ID` bigint NOT NULL,
+  `QUANTITY` bigint NOT NULL DEFAULT '0',
+  `AMOUNT` decimal(18,2) NOT NULL DEFAULT '0.00',
+  `LINE_COUNT` int NOT NULL DEFAULT '0',
+  PRIMARY KEY (`SALE_DATE`, `CUSTOMER_ID`, `PRODUCT_ID`),
+  KEY `sales_daily_rollup_customer_idx` (`CUSTOMER_ID`, `SALE_DATE`),
+  KEY `sales_daily_rollup_product_idx` (`PRODUCT_ID`, `SALE_DATE`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -0,0 +1,24 @@
+-- 고객별 상품 주문 횟수 테이블 추가 (주문 입력 추천 상품, TopProductsStore)
+-- order_count는 해당 상품이 들어 있는 삭제되지 않은 주문(SALE_ID) 수이며, 메모리 적재의 원본입니다.
+-- sales가 있어야 하므로 001~002 이후에 적용하고, 기존 판매로 채웁니다 (POST /api/customers/top-products/rebuild 와 동일).
+-- 채우는 동안 들어온 주문은 빠질 수 있으므로 애플리케이션을 멈춘 상태에서 적용하거나, 적용 후 rebuild를 한 번 호출합니다.
+
+CREATE TABLE IF NOT EXISTS `customer_product_counts` (
+  `customer_id` bigint NOT NULL,
+  `product_id` bigint NOT NULL,
+  `order_count` int NOT NULL DEFAULT '0',
+  PRIMARY KEY (`customer_id`, `product_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- 다시 실행해도 같은 결과가 되도록 비운 뒤 채움
+START TRANSACTION;
+
+DELETE FROM `customer_product_counts`;
+
+INSERT INTO `customer_product_counts` (`customer_id`, `product_id`, `order_count`)
+SELECT `CUSTOMER_ID`, `PRODUCT_ID`, COUNT(*)
+FROM `sales`
+WHERE `DELETED` = 0
+GROUP BY `CUSTOMER_ID`, `PRODUCT_ID`;
+
+COMMIT;
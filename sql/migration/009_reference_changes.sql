@@ -0,0 +1,17 @@
+-- 기준 정보(고객/상품/메뉴) 변경 이력 테이블 추가 (ReferenceVersionService)
+-- 조회 API의 ETag와 /api/lookup/bootstrap?since= 변경분 응답이 이 이력의 CHANGE_ID를 버전으로 씁니다.
+-- CHANGE_ID는 id_sequences의 REFERENCE_CHANGES 행을 잠가 발급하므로 005 이후에 적용합니다.
+-- 기존 이력이 없으므로 모든 테이블이 버전 0에서 시작합니다.
+
+CREATE TABLE IF NOT EXISTS `reference_changes` (
+  `CHANGE_ID` bigint NOT NULL,
+  `TABLE_NAME` varchar(30) NOT NULL,
+  `ROW_KEY` varchar(255) DEFAULT NULL,
+  `CHANGED_AT` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`CHANGE_ID`),
+  KEY `reference_changes_table_idx` (`TABLE_NAME`, `CHANGE_ID`),
+  KEY `reference_changes_changed_at_idx` (`CHANGED_AT`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT IGNORE INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`)
+SELECT 'REFERENCE_CHANGES', COALESCE(MAX(`CHANGE_ID`), 0) + 1 FROM `reference_changes`;
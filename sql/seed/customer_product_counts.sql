@@ -0,0 +1,9 @@
+-- customer_product_counts 초기값 (sql/의 모든 테이블을 만든 뒤 실행, sales 필요)
+-- 기존 DB는 migration/008_customer_product_counts.sql이 테이블과 초기값을 함께 만듭니다.
+
+-- 기존 판매 기준 초기값 (POST /api/customers/top-products/rebuild 와 동일)
+INSERT INTO `customer_product_counts` (`customer_id`, `product_id`, `order_count`)
+SELECT `CUSTOMER_ID`, `PRODUCT_ID`, COUNT(*)
+FROM `sales`
+WHERE `DELETED` = 0
+GROUP BY `CUSTOMER_ID`, `PRODUCT_ID`;
@@ -0,0 +1,11 @@
+-- id_sequences 초기값 (sql/의 모든 테이블을 만든 뒤 실행)
+-- 기존 DB는 migration/005_id_sequences.sql이 테이블과 초기값을 함께 만듭니다.
+
+-- 기존 데이터 기준 초기값 (행이 없으면 애플리케이션이 첫 예약 시 동일하게 초기화)
+INSERT INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'SALES', COALESCE(MAX(`SALE_ID`), 0) + 1 FROM `sales`;
+INSERT INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'BILLS', COALESCE(MAX(`bill_id`), 0) + 1 FROM `bills`;
+INSERT INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'CUSTOMERS', COALESCE(MAX(`CUSTOMER_ID`), 0) + 1 FROM `customers`;
+INSERT INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'PRODUCTS', COALESCE(MAX(`PRODUCT_ID`), 0) + 1 FROM `products`;
+
+-- 기준 정보 변경 번호 (reference_changes.CHANGE_ID)
+INSERT INTO `id_sequences` (`SEQ_NAME`, `NEXT_VAL`) SELECT 'REFERENCE_CHANGES', COALESCE(MAX(`CHANGE_ID`), 0) + 1 FROM `reference_changes`;
@@ -0,0 +1,14 @@
+-- receivables_daily, customer_receivables 초기값 (sql/의 모든 테이블을 만든 뒤 실행, bills 필요)
+-- 기존 DB는 migration/006_receivables.sql이 테이블과 초기값을 함께 만듭니다.
+
+-- 기존 청구서 기준 초기값 (POST /api/receivables/rebuild 와 동일)
+INSERT INTO `receivables_daily` (`customer_id`, `bill_date`, `outstanding`, `bill_count`)
+SELECT `customer_id`, CAST(`created_at` AS DATE), SUM(`remain_cost`), COUNT(*)
+FROM `bills`
+WHERE `remain_cost` > 0
+GROUP BY `customer_id`, CAST(`created_at` AS DATE);
+
+INSERT INTO `customer_receivables` (`customer_id`, `outstanding`, `open_bill_count`, `oldest_unpaid_date`, `updated_at`)
+SELECT `customer_id`, SUM(`outstanding`), SUM(`bill_count`), MIN(`bill_date`), NOW()
+FROM `receivables_daily`
+GROUP BY `customer_id`;